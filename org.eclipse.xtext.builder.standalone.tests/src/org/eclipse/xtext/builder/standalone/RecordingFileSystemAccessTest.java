@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder.standalone;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.xtext.generator.IFileSystemAccess;
+import org.eclipse.xtext.generator.IFileSystemAccess2;
+import org.eclipse.xtext.generator.IGenerator;
+import org.eclipse.xtext.generator.InMemoryFileSystemAccess;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.io.ByteStreams;
+
+public class RecordingFileSystemAccessTest {
+
+	private InMemoryFileSystemAccess target;
+
+	@Before
+	public void setUp() {
+		target = new InMemoryFileSystemAccess();
+		target.generateFile("Existing.txt", "existing");
+		target.generateFile("Stale.txt", "stale");
+	}
+
+	@Test
+	public void testGeneratorReadsBackFiles() throws IOException {
+		final RecordingFileSystemAccess recording = new RecordingFileSystemAccess(target);
+		IGenerator generator = new IGenerator() {
+			@Override
+			public void doGenerate(Resource input, IFileSystemAccess fsa) {
+				IFileSystemAccess2 fsa2 = (IFileSystemAccess2) fsa;
+				fsa2.generateFile("Foo.txt", "foo");
+				assertTrue(fsa2.isFile("Foo.txt"));
+				fsa2.generateFile("Bar.txt", "bar " + fsa2.readTextFile("Foo.txt") + " " + fsa2.readTextFile("Existing.txt"));
+				fsa2.generateFile("Foo.bin", new ByteArrayInputStream(new byte[] { 1, 2 }));
+			}
+		};
+		generator.doGenerate(null, recording);
+
+		assertTrue(recording.isFile("Existing.txt"));
+		assertEquals("existing", recording.readTextFile("Existing.txt").toString());
+		assertEquals("bar foo existing", recording.readTextFile("Bar.txt").toString());
+		InputStream binary = recording.readBinaryFile("Foo.bin");
+		try {
+			assertArrayEquals(new byte[] { 1, 2 }, ByteStreams.toByteArray(binary));
+		} finally {
+			binary.close();
+		}
+		assertFalse("Files are not written before writeTo", target.isFile("Foo.txt"));
+
+		recording.writeTo(target);
+		assertEquals("foo", target.readTextFile("Foo.txt").toString());
+		assertEquals("bar foo existing", target.readTextFile("Bar.txt").toString());
+		assertTrue(target.isFile("Foo.bin"));
+	}
+
+	@Test
+	public void testDeleteFile() {
+		RecordingFileSystemAccess recording = new RecordingFileSystemAccess(target);
+		assertTrue(recording.isFile("Stale.txt"));
+		recording.deleteFile("Stale.txt");
+		assertFalse(recording.isFile("Stale.txt"));
+		assertTrue("Files are not deleted before writeTo", target.isFile("Stale.txt"));
+
+		recording.writeTo(target);
+		assertFalse(target.isFile("Stale.txt"));
+		assertTrue(target.isFile("Existing.txt"));
+	}
+
+	@Test
+	public void testRegenerateDeletedFile() {
+		RecordingFileSystemAccess recording = new RecordingFileSystemAccess(target);
+		recording.deleteFile("Stale.txt");
+		recording.generateFile("Stale.txt", "fresh");
+		assertEquals("fresh", recording.readTextFile("Stale.txt").toString());
+
+		recording.writeTo(target);
+		assertEquals("fresh", target.readTextFile("Stale.txt").toString());
+	}
+
+	@Test
+	public void testWithoutTarget() {
+		RecordingFileSystemAccess recording = new RecordingFileSystemAccess();
+		assertFalse(recording.isFile("Existing.txt"));
+		recording.generateFile("Foo.txt", "foo");
+		assertEquals("foo", recording.readTextFile("Foo.txt").toString());
+	}
+
+}
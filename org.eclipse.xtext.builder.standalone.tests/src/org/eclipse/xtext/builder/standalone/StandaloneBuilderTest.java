@@ -13,15 +13,27 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EcoreFactory;
 import org.eclipse.emf.ecore.plugin.EcorePlugin;
+import org.eclipse.xtext.common.types.JvmGenericType;
+import org.eclipse.xtext.common.types.TypesFactory;
+import org.eclipse.xtext.common.types.descriptions.JvmTypesResourceDescriptionStrategy;
 import org.eclipse.xtext.generator.IFileSystemAccess;
 import org.eclipse.xtext.generator.OutputConfiguration;
 import org.eclipse.xtext.generator.OutputConfiguration.SourceMapping;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.EObjectDescription;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.AbstractResourceDescription;
 import org.eclipse.xtext.testing.InjectWith;
 import org.eclipse.xtext.testing.XtextRunner;
 import org.eclipse.xtext.util.Files;
@@ -31,6 +43,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.inject.Inject;
 
@@ -63,6 +76,12 @@ public class StandaloneBuilderTest {
 		}
 	}
 
+	@Test
+	public void testBatchCompilationResourceSets() {
+		assertEquals(Boolean.TRUE, testBuilder.createResourceSet().getLoadOptions().get(StandaloneBuilder.BATCH_COMPILATION));
+		assertEquals(Boolean.TRUE, testBuilder.createWorkerResourceSet(null, null, null).getLoadOptions().get(StandaloneBuilder.BATCH_COMPILATION));
+	}
+
 	@Test
 	public void testDifferentOutputFolders() {
 		initBuilder(new TestLanguageConfiguration(true));
@@ -164,6 +183,26 @@ public class StandaloneBuilderTest {
 				uri.toString().endsWith("test-data/model.in.eclipse.project.jar!/"));
 	}
 
+	@Test
+	public void testClassPathCache() {
+		initBuilder(new TestLanguageConfiguration(false));
+		testBuilder.setSourceDirs(ImmutableList.of("test-data/standalone.with.reference/model"));
+		testBuilder.setClassPathEntries(ImmutableList.of("test-data/standalone.with.reference/target/classes/",
+				"test-data/model.in.eclipse.project.jar"));
+		testBuilder.setTempDir(TMP_DIR);
+		testBuilder.setCacheClassPath(true);
+
+		assertTrue("Builder launch returned false", testBuilder.launch());
+		assertTrue("Class path cache was not written", new File(TMP_DIR, "class-path-cache.bin").exists());
+
+		EcorePlugin.getPlatformResourceMap().remove("model.in.eclipse.project");
+		assertTrue("Builder launch with cached class path returned false", testBuilder.launch());
+		URI uri = EcorePlugin.getPlatformResourceMap().get("model.in.eclipse.project");
+		assertNotNull("No platform mapping found for 'model.in.eclipse.project'", uri);
+		assertTrue("Platform mapping points to jared project",
+				uri.toString().endsWith("test-data/model.in.eclipse.project.jar!/"));
+	}
+
 	@Test
 	public void testDuplicateSourceEntries() {
 		TestLanguageConfiguration config = new TestLanguageConfiguration(false);
@@ -207,6 +246,264 @@ public class StandaloneBuilderTest {
 
 	}
 
+	@Test
+	public void testParallelBuild() {
+		initBuilder(new TestLanguageConfiguration(true));
+		testBuilder.setNumberOfThreads(2);
+		assertTrue(testBuilder.launch());
+		assertEquals(2, testBuilder.getValidateCalled());
+		assertEquals(1, testBuilder.getGenerateCalled());
+
+		File generatedFile = getFile("src-gen/Foo.txt");
+		assertTrue(generatedFile.exists());
+		generatedFile = getFile("src2-gen/Bar.txt");
+		assertTrue(generatedFile.exists());
+
+		File unexpectedFile = getFile("src-gen/Bar.txt");
+		assertFalse(unexpectedFile.exists());
+		unexpectedFile = getFile("src2-gen/Foo.txt");
+		assertFalse(unexpectedFile.exists());
+	}
+
+	@Test
+	public void testWriteIfChanged() {
+		TMP_DIR.mkdirs();
+		initBuilder(new TestLanguageConfiguration(true));
+		testBuilder.setTempDir(TMP_DIR);
+		testBuilder.setWriteIfChanged(true);
+		assertTrue(testBuilder.launch());
+		assertTrue(new File(TMP_DIR, "generated-file-hashes.bin").exists());
+		int writtenFiles = testBuilder.getGeneratedFileHashes().getWrittenFiles();
+		assertTrue("Files were written", writtenFiles > 0);
+		assertEquals(0, testBuilder.getGeneratedFileHashes().getSkippedFiles());
+
+		assertTrue(testBuilder.launch());
+		assertEquals("Unchanged files were written", 0, testBuilder.getGeneratedFileHashes().getWrittenFiles());
+		assertEquals(writtenFiles, testBuilder.getGeneratedFileHashes().getSkippedFiles());
+
+		File generatedFile = getFile("src-gen/Foo.txt");
+		assertTrue(generatedFile.delete());
+		assertTrue(testBuilder.launch());
+		assertEquals("Deleted file was not written", 1, testBuilder.getGeneratedFileHashes().getWrittenFiles());
+		assertTrue(generatedFile.exists());
+	}
+
+	@Test
+	public void testConfigurationHashIgnoresOutputDirectories() throws IOException {
+		TMP_DIR.mkdirs();
+		File javaDir = getFile("java-src");
+		javaDir.mkdirs();
+		try {
+			initBuilder(new TestLanguageConfiguration(true));
+			testBuilder.setTempDir(TMP_DIR);
+			testBuilder.setJavaSourceDirs(ImmutableList.of(javaDir.getAbsolutePath(), getFile("src-gen").getAbsolutePath()));
+			testBuilder.setClassPathEntries(ImmutableList.of(new File(TMP_DIR, "classes").getAbsolutePath()));
+			String hash = testBuilder.computeConfigurationHash();
+			String stubHash = testBuilder.computeStubConfigurationHash();
+
+			getFile("src-gen").mkdirs();
+			Files.writeStringIntoFile(getFile("src-gen/Foo.java").getPath(), "class Foo {}");
+			new File(TMP_DIR, "classes").mkdirs();
+			Files.writeStringIntoFile(new File(TMP_DIR, "classes/Foo.class").getPath(), "");
+			assertEquals("Output directories were hashed", hash, testBuilder.computeConfigurationHash());
+			assertEquals("Output directories were hashed", stubHash, testBuilder.computeStubConfigurationHash());
+
+			Files.writeStringIntoFile(new File(javaDir, "Bar.java").getPath(), "class Bar {}");
+			assertFalse(hash.equals(testBuilder.computeConfigurationHash()));
+			assertFalse(stubHash.equals(testBuilder.computeStubConfigurationHash()));
+		} finally {
+			deleteFolder("java-src");
+		}
+	}
+
+	@Test
+	public void testParallelGeneration() {
+		initBuilder(new TestLanguageConfiguration(true));
+		testBuilder.setNumberOfThreads(2);
+		testBuilder.setParallelGeneration(true);
+		assertTrue(testBuilder.launch());
+		assertEquals(2, testBuilder.getValidateCalled());
+		assertEquals("Generator was executed by the worker threads", 0, testBuilder.getGenerateCalled());
+
+		File generatedFile = getFile("src-gen/Foo.txt");
+		assertTrue(generatedFile.exists());
+		generatedFile = getFile("src2-gen/Bar.txt");
+		assertTrue(generatedFile.exists());
+
+		File unexpectedFile = getFile("src-gen/Bar.txt");
+		assertFalse(unexpectedFile.exists());
+		unexpectedFile = getFile("src2-gen/Foo.txt");
+		assertFalse(unexpectedFile.exists());
+
+		// the generator reads back the files of the previous build
+		assertTrue(testBuilder.launch());
+		assertTrue(getFile("src-gen/Foo.txt").exists());
+		assertTrue(getFile("src2-gen/Bar.txt").exists());
+	}
+
+	@Test
+	public void testParallelValidateMultipleResources() {
+		TestLanguageConfiguration config = new TestLanguageConfiguration(false);
+		initBuilder(config, "src", "src-error");
+		testBuilder.setNumberOfThreads(2);
+		testBuilder.setMockGeneration(true);
+
+		assertFalse("Build should return false, but returned -success-", testBuilder.launch());
+		assertEquals("Build should validate all resources", 2, testBuilder.getValidateCalled());
+		assertEquals("Build should fail before generation", 0, testBuilder.getGenerateCalled());
+
+		initBuilder(config, "src-error", "src");
+		testBuilder.setFailOnValidationError(false);
+		assertFalse("Build should fail, but returned -success-", testBuilder.launch());
+		assertEquals("Validation was executed", 2, testBuilder.getValidateCalled());
+		assertEquals("Generator was executed in spite of validation errors", 1, testBuilder.getGenerateCalled());
+	}
+
+	@Test
+	public void testIncrementalBuild() throws IOException {
+		File srcDir = new File(TMP_DIR, "incremental");
+		srcDir.mkdirs();
+		File a = new File(srcDir, "A.buildertestlanguage");
+		File b = new File(srcDir, "B.buildertestlanguage");
+		File c = new File(srcDir, "C.buildertestlanguage");
+		Files.writeStringIntoFile(a.getPath(), "object A references B");
+		Files.writeStringIntoFile(b.getPath(), "object B");
+		Files.writeStringIntoFile(c.getPath(), "object C");
+		initBuilder(new TestLanguageConfiguration(false));
+		testBuilder.setSourceDirs(ImmutableList.of(srcDir.getAbsolutePath()));
+		testBuilder.setTempDir(TMP_DIR);
+		testBuilder.setIncremental(true);
+
+		assertTrue(testBuilder.launch());
+		assertEquals("Initial build should validate all resources", 3, testBuilder.getValidateCalled());
+		assertTrue(new File(TMP_DIR, "build-state.bin").exists());
+
+		testBuilder.resetCallStatistic();
+		assertTrue(testBuilder.launch());
+		assertEquals("Nothing has changed", 0, testBuilder.getValidateCalled());
+		assertEquals("Nothing has changed", 0, testBuilder.getGenerateCalled());
+
+		Files.writeStringIntoFile(b.getPath(), "object B otherRefs C");
+		testBuilder.resetCallStatistic();
+		assertTrue(testBuilder.launch());
+		assertEquals("Only the changed resource should be validated", 1, testBuilder.getValidateCalled());
+
+		Files.writeStringIntoFile(b.getPath(), "object B2 otherRefs C");
+		testBuilder.resetCallStatistic();
+		assertFalse("The reference from A to B cannot be resolved", testBuilder.launch());
+		assertEquals("The changed and the affected resource should be validated", 2, testBuilder.getValidateCalled());
+	}
+
+	@Test
+	public void testStubCache() throws IOException {
+		File srcDir = new File(TMP_DIR, "stubcache");
+		srcDir.mkdirs();
+		File a = new File(srcDir, "A.buildertestlanguage");
+		File b = new File(srcDir, "B.buildertestlanguage");
+		Files.writeStringIntoFile(a.getPath(), "object A");
+		Files.writeStringIntoFile(b.getPath(), "object B");
+		TestLanguageConfiguration config = new TestLanguageConfiguration(false);
+		config.setJavaSupport(true);
+		initBuilder(config);
+		testBuilder.setSourceDirs(ImmutableList.of(srcDir.getAbsolutePath()));
+		testBuilder.setTempDir(TMP_DIR);
+		testBuilder.setCacheStubs(true);
+
+		assertTrue(testBuilder.launch());
+		assertTrue(new File(TMP_DIR, "stub-cache.bin").exists());
+		File classA = new File(TMP_DIR, "classes/A.class");
+		File classB = new File(TMP_DIR, "classes/B.class");
+		assertTrue("Stub of A was not compiled", classA.exists());
+		assertTrue("Stub of B was not compiled", classB.exists());
+		long oldTimeStamp = 10000L;
+		assertTrue(classA.setLastModified(oldTimeStamp));
+
+		Files.writeStringIntoFile(b.getPath(), "object C");
+		assertTrue(testBuilder.launch());
+		assertFalse("Stale stub of B was not deleted", classB.exists());
+		assertTrue("Stub of C was not compiled", new File(TMP_DIR, "classes/C.class").exists());
+		assertEquals("Unchanged stub of A was compiled again", oldTimeStamp, classA.lastModified());
+	}
+
+	@Test
+	public void testStubCacheDiscardedOnFailedCompilation() throws IOException {
+		File srcDir = new File(TMP_DIR, "stubcache");
+		srcDir.mkdirs();
+		Files.writeStringIntoFile(new File(srcDir, "A.buildertestlanguage").getPath(), "object A");
+		File javaDir = getFile("java-src");
+		javaDir.mkdirs();
+		File javaFile = new File(javaDir, "Broken.java");
+		try {
+			TestLanguageConfiguration config = new TestLanguageConfiguration(false);
+			config.setJavaSupport(true);
+			initBuilder(config);
+			testBuilder.setSourceDirs(ImmutableList.of(srcDir.getAbsolutePath()));
+			testBuilder.setJavaSourceDirs(ImmutableList.of(javaDir.getAbsolutePath()));
+			testBuilder.setTempDir(TMP_DIR);
+			testBuilder.setCacheStubs(true);
+			File cacheFile = new File(TMP_DIR, "stub-cache.bin");
+
+			testBuilder.launch();
+			assertTrue(cacheFile.exists());
+
+			Files.writeStringIntoFile(javaFile.getPath(), "class Broken {");
+			testBuilder.launch();
+			assertFalse("Stub cache of a failed compilation was written", cacheFile.exists());
+
+			Files.writeStringIntoFile(javaFile.getPath(), "class Broken {}");
+			testBuilder.launch();
+			assertTrue(cacheFile.exists());
+		} finally {
+			deleteFolder("java-src");
+		}
+	}
+
+	@Test
+	public void testSignatureHash() {
+		StandaloneBuilder builder = new StandaloneBuilder();
+		String hash = builder.computeSignatureHash(createDescription("foo.Bar", "signature"));
+		assertEquals(hash, builder.computeSignatureHash(createDescription("foo.Bar", "signature")));
+		assertFalse("Changed signature was ignored",
+				hash.equals(builder.computeSignatureHash(createDescription("foo.Bar", "other signature"))));
+		assertFalse("Renamed type was ignored",
+				hash.equals(builder.computeSignatureHash(createDescription("foo.Baz", "signature"))));
+
+		IEObjectDescription element = EObjectDescription.create(QualifiedName.create("foo", "Element"),
+				EcoreFactory.eINSTANCE.createEClass());
+		assertEquals("Elements that are not Java types were hashed", hash,
+				builder.computeSignatureHash(createDescription("foo.Bar", "signature", element)));
+	}
+
+	private IResourceDescription createDescription(String typeName, String signatureHash,
+			IEObjectDescription... otherElements) {
+		JvmGenericType type = TypesFactory.eINSTANCE.createJvmGenericType();
+		Map<String, String> userData = ImmutableMap.of(JvmTypesResourceDescriptionStrategy.SIGNATURE_HASH_KEY, signatureHash);
+		final List<IEObjectDescription> exported = new ArrayList<IEObjectDescription>();
+		exported.add(EObjectDescription.create(QualifiedName.create(typeName.split("\\.")), type, userData));
+		exported.addAll(Arrays.asList(otherElements));
+		return new AbstractResourceDescription() {
+			@Override
+			protected List<IEObjectDescription> computeExportedObjects() {
+				return exported;
+			}
+
+			@Override
+			public Iterable<QualifiedName> getImportedNames() {
+				return Collections.emptyList();
+			}
+
+			@Override
+			public Iterable<IReferenceDescription> getReferenceDescriptions() {
+				return Collections.emptyList();
+			}
+
+			@Override
+			public URI getURI() {
+				return URI.createURI("test.buildertestlanguage");
+			}
+		};
+	}
+
 	private File getFile(String projectRelativePath) {
 		return new File(PROJECT_DIR, projectRelativePath);
 	}
@@ -7,23 +7,29 @@
  *******************************************************************************/
 package org.eclipse.xtext.builder.standalone;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.xtext.builder.tests.builderTestLanguage.BuilderTestLanguagePackage;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.validation.Issue;
 
 /**
  * @author dhuebner - Initial contribution and API
  */
 public class TestableStandaloneBuilder extends StandaloneBuilder {
-	private int validateCalled = 0;
-	private int generateCalled = 0;
+	private final AtomicInteger validateCalled = new AtomicInteger();
+	private final AtomicInteger generateCalled = new AtomicInteger();
 	private boolean mockGeneration = false;
 
 	@Override
-	protected boolean validate(Resource resource) {
-		boolean validated = super.validate(resource);
-		validateCalled++;
-		return validated;
+	protected List<Issue> collectIssues(Resource resource) {
+		List<Issue> issues = super.collectIssues(resource);
+		validateCalled.incrementAndGet();
+		return issues;
 	}
 
 	public void resetTestSetup() {
@@ -35,7 +41,24 @@ public class TestableStandaloneBuilder extends StandaloneBuilder {
 		if (!mockGeneration) {
 			super.generate(sourceResources);
 		}
-		generateCalled++;
+		generateCalled.incrementAndGet();
+	}
+
+	/**
+	 * The test language does not export Java types. Its elements are compiled as stubs instead.
+	 */
+	@Override
+	protected String computeSignatureHash(IResourceDescription description) {
+		return getTopLevelTypeNames(description).toString();
+	}
+
+	@Override
+	protected List<String> getTopLevelTypeNames(IResourceDescription description) {
+		List<String> result = new ArrayList<String>();
+		for (IEObjectDescription element : description.getExportedObjectsByType(BuilderTestLanguagePackage.Literals.ELEMENT)) {
+			result.add(element.getQualifiedName().toString());
+		}
+		return result;
 	}
 
 	public void setMockGeneration(boolean mockGeneration) {
@@ -43,16 +66,16 @@ public class TestableStandaloneBuilder extends StandaloneBuilder {
 	}
 
 	public void resetCallStatistic() {
-		validateCalled = 0;
-		generateCalled = 0;
+		validateCalled.set(0);
+		generateCalled.set(0);
 	}
 
 	public int getValidateCalled() {
-		return validateCalled;
+		return validateCalled.get();
 	}
 
 	public int getGenerateCalled() {
-		return generateCalled;
+		return generateCalled.get();
 	}
 
 }
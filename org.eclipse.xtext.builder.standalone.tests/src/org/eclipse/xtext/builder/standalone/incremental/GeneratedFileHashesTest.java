@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder.standalone.incremental;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+
+public class GeneratedFileHashesTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File file;
+
+	private File traceFile;
+
+	@Before
+	public void setUp() throws IOException {
+		file = createFile("Foo.java");
+		traceFile = createFile(".Foo.java._trace");
+	}
+
+	@Test
+	public void testUnchanged() {
+		GeneratedFileHashes hashes = new GeneratedFileHashes("");
+		hashes.written(file, traceFile, "hash");
+		assertTrue(hashes.isUnchanged(file, traceFile, "hash"));
+		assertFalse(hashes.isUnchanged(file, traceFile, "other"));
+		assertEquals(1, hashes.getWrittenFiles());
+		assertEquals(1, hashes.getSkippedFiles());
+	}
+
+	@Test
+	public void testFileModified() {
+		GeneratedFileHashes hashes = new GeneratedFileHashes("");
+		hashes.written(file, traceFile, "hash");
+		assertTrue(file.setLastModified(file.lastModified() - 10000));
+		assertFalse(hashes.isUnchanged(file, traceFile, "hash"));
+	}
+
+	@Test
+	public void testTraceFileModified() {
+		GeneratedFileHashes hashes = new GeneratedFileHashes("");
+		hashes.written(file, traceFile, "hash");
+		assertTrue(traceFile.setLastModified(traceFile.lastModified() - 10000));
+		assertFalse(hashes.isUnchanged(file, traceFile, "hash"));
+	}
+
+	@Test
+	public void testTraceFileDeleted() {
+		GeneratedFileHashes hashes = new GeneratedFileHashes("");
+		hashes.written(file, traceFile, "hash");
+		assertTrue(traceFile.delete());
+		assertFalse(hashes.isUnchanged(file, traceFile, "hash"));
+	}
+
+	@Test
+	public void testWithoutTraceFile() {
+		GeneratedFileHashes hashes = new GeneratedFileHashes("");
+		assertTrue(traceFile.delete());
+		hashes.written(file, traceFile, "hash");
+		assertTrue(hashes.isUnchanged(file, traceFile, "hash"));
+		assertTrue(hashes.isUnchanged(file, null, "hash"));
+	}
+
+	@Test
+	public void testReadWrite() throws IOException {
+		File hashesFile = new File(temporaryFolder.getRoot(), "hashes.bin");
+		GeneratedFileHashes hashes = new GeneratedFileHashes("config");
+		hashes.written(file, traceFile, "hash");
+		hashes.write(hashesFile);
+
+		assertTrue(GeneratedFileHashes.read(hashesFile, "config").isUnchanged(file, traceFile, "hash"));
+		assertFalse(GeneratedFileHashes.read(hashesFile, "other config").isUnchanged(file, traceFile, "hash"));
+		assertTrue(traceFile.setLastModified(traceFile.lastModified() - 10000));
+		assertFalse(GeneratedFileHashes.read(hashesFile, "config").isUnchanged(file, traceFile, "hash"));
+	}
+
+	@Test
+	public void testDropFilesOfPreviousBuilds() throws IOException {
+		File hashesFile = new File(temporaryFolder.getRoot(), "hashes.bin");
+		File otherFile = createFile("Bar.java");
+		GeneratedFileHashes hashes = new GeneratedFileHashes("");
+		hashes.written(file, traceFile, "hash");
+		hashes.written(otherFile, null, "other");
+		hashes.write(hashesFile);
+
+		hashes = GeneratedFileHashes.read(hashesFile, "");
+		hashes.resetStatistics();
+		assertTrue(hashes.isUnchanged(file, traceFile, "hash"));
+		hashes.write(hashesFile);
+
+		hashes = GeneratedFileHashes.read(hashesFile, "");
+		assertTrue(hashes.isUnchanged(file, traceFile, "hash"));
+		assertFalse("File of a previous build is kept", hashes.isUnchanged(otherFile, null, "other"));
+	}
+
+	private File createFile(String name) throws IOException {
+		File result = new File(temporaryFolder.getRoot(), name);
+		Files.write(name, result, Charsets.UTF_8);
+		return result;
+	}
+
+}
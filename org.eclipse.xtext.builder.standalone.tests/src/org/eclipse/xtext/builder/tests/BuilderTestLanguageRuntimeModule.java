@@ -7,6 +7,7 @@
  *******************************************************************************/
 package org.eclipse.xtext.builder.tests;
 
+import org.eclipse.xtext.common.types.descriptions.IStubGenerator;
 import org.eclipse.xtext.generator.AbstractFileSystemAccess2;
 import org.eclipse.xtext.generator.IGenerator;
 import org.eclipse.xtext.generator.JavaIoFileSystemAccess;
@@ -58,4 +59,8 @@ public class BuilderTestLanguageRuntimeModule extends org.eclipse.xtext.builder.
 		return JavaIoFileSystemAccess.class;
 	}
 	
+	public Class<? extends IStubGenerator> bindIStubGenerator() {
+		return BuilderTestStubGenerator.class;
+	}
+	
 }
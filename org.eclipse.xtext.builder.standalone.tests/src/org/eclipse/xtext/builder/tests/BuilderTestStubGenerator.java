@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder.tests;
+
+import org.eclipse.xtext.builder.tests.builderTestLanguage.BuilderTestLanguagePackage;
+import org.eclipse.xtext.common.types.descriptions.IStubGenerator;
+import org.eclipse.xtext.generator.IFileSystemAccess;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+
+/**
+ * Generates an empty Java class in the default package for each exported element.
+ */
+public class BuilderTestStubGenerator implements IStubGenerator {
+
+	@Override
+	public void doGenerateStubs(IFileSystemAccess access, IResourceDescription description) {
+		for (IEObjectDescription element : description.getExportedObjectsByType(BuilderTestLanguagePackage.Literals.ELEMENT)) {
+			String name = element.getQualifiedName().toString();
+			if (!name.contains(".")) {
+				access.generateFile(name + ".java", "public class " + name + " {}");
+			}
+		}
+	}
+
+}
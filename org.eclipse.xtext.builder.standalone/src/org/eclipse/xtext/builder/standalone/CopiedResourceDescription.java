@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder.standalone;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.EObjectDescription;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.AbstractResourceDescription;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+
+/**
+ * A resource description that holds proxified copies of the exported objects of another description. It does not
+ * keep the original resource alive and may safely be shared between threads and resource sets.
+ *
+ * Imported names and reference descriptions are not copied since computing them requires a fully linked resource.
+ *
+ * @since 2.15
+ */
+public class CopiedResourceDescription extends AbstractResourceDescription {
+
+	private final URI uri;
+
+	private final List<IEObjectDescription> exported;
+
+	public CopiedResourceDescription(IResourceDescription original) {
+		this.uri = original.getURI();
+		ImmutableList.Builder<IEObjectDescription> builder = ImmutableList.builder();
+		for (IEObjectDescription description : original.getExportedObjects()) {
+			IEObjectDescription copy = copy(description);
+			if (copy != null) {
+				builder.add(copy);
+			}
+		}
+		this.exported = builder.build();
+		// initialize the lookup eagerly, the description is read concurrently afterwards
+		getExportedObjects();
+	}
+
+	protected IEObjectDescription copy(IEObjectDescription original) {
+		EObject proxy = original.getEObjectOrProxy();
+		if (proxy == null) {
+			return null;
+		}
+		if (proxy.eIsProxy()) {
+			return original;
+		}
+		InternalEObject result = (InternalEObject) EcoreUtil.create(original.getEClass());
+		result.eSetProxyURI(original.getEObjectURI());
+		Map<String, String> userData = null;
+		for (String key : original.getUserDataKeys()) {
+			if (userData == null) {
+				userData = Maps.newHashMapWithExpectedSize(2);
+			}
+			userData.put(key, original.getUserData(key));
+		}
+		return EObjectDescription.create(original.getName(), result, userData);
+	}
+
+	@Override
+	protected List<IEObjectDescription> computeExportedObjects() {
+		return exported;
+	}
+
+	@Override
+	public Iterable<QualifiedName> getImportedNames() {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public Iterable<IReferenceDescription> getReferenceDescriptions() {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public URI getURI() {
+		return uri;
+	}
+
+}
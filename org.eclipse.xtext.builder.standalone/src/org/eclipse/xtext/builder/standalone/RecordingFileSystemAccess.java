@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder.standalone;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.generator.IFileSystemAccess2;
+import org.eclipse.xtext.generator.InMemoryFileSystemAccess;
+import org.eclipse.xtext.util.Pair;
+import org.eclipse.xtext.util.RuntimeIOException;
+import org.eclipse.xtext.util.Triple;
+import org.eclipse.xtext.util.Tuples;
+
+import com.google.common.io.ByteStreams;
+
+/**
+ * Records the files that a generator produces or deletes in a worker thread of the {@link StandaloneBuilder}. The
+ * files are written afterwards by the file system access of the language, in the order in which they were generated.
+ * Text contents are kept as they are, so trace information is still available when they are written.
+ *
+ * Files that were generated or deleted before are visible to the generator. All other files are read from the target
+ * file system access, i.e. they reflect the state of the output folders before the generated files are written.
+ *
+ * @since 2.15
+ */
+public class RecordingFileSystemAccess extends InMemoryFileSystemAccess {
+
+	/**
+	 * The recorded operations in the order in which they were performed. The contents of a deleted file are
+	 * <code>null</code>.
+	 */
+	private final List<Triple<String, String, Object>> generatedFiles = new ArrayList<Triple<String, String, Object>>();
+
+	private final Set<Pair<String, String>> deletedFiles = new HashSet<Pair<String, String>>();
+
+	private final IFileSystemAccess2 target;
+
+	public RecordingFileSystemAccess() {
+		this(null);
+	}
+
+	/**
+	 * @param target
+	 *            the file system access that is used to read files that were not generated by this file system access.
+	 *            It must support concurrent reads. May be <code>null</code>.
+	 */
+	public RecordingFileSystemAccess(IFileSystemAccess2 target) {
+		this.target = target;
+	}
+
+	@Override
+	public void generateFile(String fileName, String outputConfigurationName, CharSequence contents) {
+		super.generateFile(fileName, outputConfigurationName, contents);
+		deletedFiles.remove(Tuples.create(fileName, outputConfigurationName));
+		generatedFiles.add(Tuples.<String, String, Object>create(fileName, outputConfigurationName, contents));
+	}
+
+	@Override
+	public void generateFile(String fileName, String outputConfigurationName, InputStream content) {
+		byte[] bytes;
+		try {
+			try {
+				bytes = ByteStreams.toByteArray(content);
+			} finally {
+				content.close();
+			}
+		} catch (IOException e) {
+			throw new RuntimeIOException(e);
+		}
+		super.generateFile(fileName, outputConfigurationName, new ByteArrayInputStream(bytes));
+		deletedFiles.remove(Tuples.create(fileName, outputConfigurationName));
+		generatedFiles.add(Tuples.<String, String, Object>create(fileName, outputConfigurationName, bytes));
+	}
+
+	@Override
+	public void deleteFile(String fileName, String outputConfigurationName) {
+		super.deleteFile(fileName, outputConfigurationName);
+		deletedFiles.add(Tuples.create(fileName, outputConfigurationName));
+		generatedFiles.add(Tuples.<String, String, Object>create(fileName, outputConfigurationName, null));
+	}
+
+	@Override
+	public boolean isFile(String path, String outputConfigurationName) {
+		if (super.isFile(path, outputConfigurationName)) {
+			return true;
+		}
+		return isReadFromTarget(path, outputConfigurationName) && target.isFile(path, outputConfigurationName);
+	}
+
+	@Override
+	public CharSequence readTextFile(String fileName, String outputCfgName) {
+		if (!super.isFile(fileName, outputCfgName) && isReadFromTarget(fileName, outputCfgName)) {
+			return target.readTextFile(fileName, outputCfgName);
+		}
+		return super.readTextFile(fileName, outputCfgName);
+	}
+
+	@Override
+	public InputStream readBinaryFile(String fileName, String outputCfgName) {
+		if (!super.isFile(fileName, outputCfgName) && isReadFromTarget(fileName, outputCfgName)) {
+			return target.readBinaryFile(fileName, outputCfgName);
+		}
+		return super.readBinaryFile(fileName, outputCfgName);
+	}
+
+	@Override
+	public URI getURI(String path, String outputConfiguration) {
+		if (target != null) {
+			return target.getURI(path, outputConfiguration);
+		}
+		return super.getURI(path, outputConfiguration);
+	}
+
+	protected boolean isReadFromTarget(String fileName, String outputConfigurationName) {
+		return target != null && !deletedFiles.contains(Tuples.create(fileName, outputConfigurationName));
+	}
+
+	/**
+	 * Writes and deletes all recorded files with the given file system access.
+	 */
+	public void writeTo(IFileSystemAccess2 target) {
+		for (Triple<String, String, Object> file : generatedFiles) {
+			Object contents = file.getThird();
+			if (contents == null) {
+				target.deleteFile(file.getFirst(), file.getSecond());
+			} else if (contents instanceof CharSequence) {
+				target.generateFile(file.getFirst(), file.getSecond(), (CharSequence) contents);
+			} else {
+				target.generateFile(file.getFirst(), file.getSecond(), new ByteArrayInputStream((byte[]) contents));
+			}
+		}
+	}
+
+}
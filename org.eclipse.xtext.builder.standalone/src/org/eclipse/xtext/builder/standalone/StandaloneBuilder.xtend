@@ -1,5 +1,9 @@
 package org.eclipse.xtext.builder.standalone
 
+import com.google.common.base.Charsets
+import com.google.common.hash.Hasher
+import com.google.common.hash.Hashing
+import com.google.common.io.ByteStreams
 import com.google.common.io.Files
 import com.google.inject.Inject
 import com.google.inject.Provider
@@ -9,6 +13,11 @@ import java.net.URLClassLoader
 import java.util.Collection
 import java.util.List
 import java.util.Map
+import java.util.Set
+import java.util.concurrent.Callable
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
 import java.util.jar.JarFile
 import java.util.jar.Manifest
 import java.util.regex.Pattern
@@ -20,28 +29,52 @@ import org.eclipse.emf.ecore.resource.Resource
 import org.eclipse.emf.ecore.resource.ResourceSet
 import org.eclipse.xtend.lib.annotations.Accessors
 import org.eclipse.xtext.EcoreUtil2
+import org.eclipse.xtext.builder.standalone.incremental.BuildState
+import org.eclipse.xtext.builder.standalone.incremental.ClassPathCache
+import org.eclipse.xtext.builder.standalone.incremental.GeneratedFileHashes
+import org.eclipse.xtext.builder.standalone.incremental.StubCache
 import org.eclipse.xtext.builder.standalone.compiler.IJavaCompiler
 import org.eclipse.xtext.builder.standalone.compiler.IJavaCompiler.CompilationResult
 import org.eclipse.xtext.common.types.access.impl.ClasspathTypeProvider
+import org.eclipse.xtext.common.types.TypesPackage
 import org.eclipse.xtext.common.types.access.impl.IndexedJvmTypeAccess
+import org.eclipse.xtext.common.types.descriptions.JvmTypesResourceDescriptionStrategy
 import org.eclipse.xtext.generator.AbstractFileSystemAccess
 import org.eclipse.xtext.generator.IFileSystemAccess
 import org.eclipse.xtext.generator.JavaIoFileSystemAccess
 import org.eclipse.xtext.mwe.NameBasedFilter
 import org.eclipse.xtext.mwe.PathTraverser
 import org.eclipse.xtext.parser.IEncodingProvider
+import org.eclipse.xtext.resource.IResourceDescription
+import org.eclipse.xtext.resource.IResourceDescriptions
 import org.eclipse.xtext.resource.XtextResourceSet
 import org.eclipse.xtext.resource.clustering.DisabledClusteringPolicy
 import org.eclipse.xtext.resource.clustering.DynamicResourceClusteringPolicy
+import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionDelta
+import org.eclipse.xtext.resource.impl.ResourceDescriptionChangeEvent
 import org.eclipse.xtext.resource.impl.ResourceDescriptionsData
 import org.eclipse.xtext.resource.persistence.StorageAwareResource
 import org.eclipse.xtext.util.CancelIndicator
 import org.eclipse.xtext.util.UriUtil
 import org.eclipse.xtext.validation.CheckMode
+import org.eclipse.xtext.validation.Issue
 import org.eclipse.xtext.generator.GeneratorContext
 
 class StandaloneBuilder {
+	/**
+	 * The load option that marks the resource sets of the builder as being used by a batch compiler. Languages may
+	 * use it to skip work that is only needed in an editor, e.g. Xbase does not track feature scopes. The
+	 * {@link IResourceDescription.Event.Listener listeners} that are attached to these resource sets are notified
+	 * about all changes of the index, so Java resources share a name environment cache.
+	 *
+	 * @since 2.15
+	 */
+	public static final String BATCH_COMPILATION = "org.eclipse.xtext.BATCH_COMPILATION"
 	static final Logger LOG = Logger.getLogger(StandaloneBuilder);
+	static final String BUILD_STATE_FILE = "build-state.bin"
+	static final String CLASS_PATH_CACHE_FILE = "class-path-cache.bin"
+	static final String STUB_CACHE_FILE = "stub-cache.bin"
+	static final String GENERATED_FILE_HASHES_FILE = "generated-file-hashes.bin"
 
 	/**  Map key is a file extension provided by Language FileExtensionProvider   */
 	@Accessors Map<String, LanguageAccess> languages
@@ -62,6 +95,72 @@ class StandaloneBuilder {
 	@Accessors boolean debugLog
 	@Accessors boolean writeStorageResources
 	@Accessors ClusteringConfig clusteringConfig = null
+	/**
+	 * The number of threads that are used to fill the index and to validate the source resources.<br>
+	 * A value greater than <code>1</code> enables the parallel mode. Each worker thread uses its own resource set,
+	 * the generator is still executed in the order of the source resources unless {@link #parallelGeneration} is
+	 * enabled.<br>
+	 * The parallel mode is not available if clustering is configured.
+	 * <br>Default is <code>1</code>
+	 *
+	 * @since 2.15
+	 */
+	@Accessors int numberOfThreads = 1
+	/**
+	 * If parallelGeneration is set to <code>true</code> and the parallel mode is enabled, the generator is executed
+	 * in the worker threads, too. The generated files are kept in memory and written in the order of the source
+	 * resources afterwards, so the output does not depend on the scheduling of the worker threads.<br>
+	 * The generators of the languages must not share any mutable state between invocations. A generator sees the
+	 * files it generated or deleted itself, but not the files that are generated for other source resources in the
+	 * same build. All other files are read from the output folders as they were before the build.
+	 * <br>Default is <code>false</code>
+	 *
+	 * @since 2.15
+	 */
+	@Accessors boolean parallelGeneration
+	/**
+	 * If incremental is set to <code>true</code>, the content hashes and the index of the processed resources are
+	 * persisted in the {@link #tempDir}. Subsequent builds only validate and generate the resources that have
+	 * changed or that are affected by a change.<br>
+	 * Any change of the class path or of the Java sources leads to a full build.<br>
+	 * Note that the {@link #tempDir} has to be the same for subsequent builds.
+	 * <br>Default is <code>false</code>
+	 *
+	 * @since 2.15
+	 */
+	@Accessors boolean incremental
+	/**
+	 * If cacheClassPath is set to <code>true</code>, the model files and the bundle names found in the archives on
+	 * the class path are cached in the {@link #tempDir}. Archives whose size and time stamp did not change since
+	 * the last build are not scanned again.<br>
+	 * Note that the {@link #tempDir} has to be the same for subsequent builds.
+	 * <br>Default is <code>false</code>
+	 *
+	 * @since 2.15
+	 */
+	@Accessors boolean cacheClassPath
+	/**
+	 * If cacheStubs is set to <code>true</code>, the compiled Java stubs are kept in the {@link #tempDir} together
+	 * with the signature hashes of the types they were generated for. Subsequent builds only generate and compile the
+	 * stubs of the resources whose Java signatures changed.<br>
+	 * Any change of the class path or of the Java sources leads to a recompilation of all stubs.<br>
+	 * Note that the {@link #tempDir} has to be the same for subsequent builds.
+	 * <br>Default is <code>false</code>
+	 *
+	 * @since 2.15
+	 */
+	@Accessors boolean cacheStubs
+	/**
+	 * If writeIfChanged is set to <code>true</code>, the content hashes of the generated files and their trace
+	 * files are kept in the {@link #tempDir}. A generated file is not written again if its content did not change
+	 * and it was not modified since the last build, so its time stamp is preserved for downstream tools.<br>
+	 * The file system access of the languages is replaced by a {@link WriteIfChangedFileSystemAccess}.<br>
+	 * Note that the {@link #tempDir} has to be the same for subsequent builds.
+	 * <br>Default is <code>false</code>
+	 *
+	 * @since 2.15
+	 */
+	@Accessors boolean writeIfChanged
 
 	@Inject IndexedJvmTypeAccess jvmTypeAccess
 	@Inject Provider<XtextResourceSet> resourceSetProvider
@@ -70,6 +169,12 @@ class StandaloneBuilder {
 	@Inject IEncodingProvider.Runtime encodingProvider
 	@Inject IJavaCompiler compiler
 
+	BuildState previousBuildState
+	BuildState buildState
+	Map<URI, String> contentHashes
+	ClassPathCache classPathCache
+	GeneratedFileHashes generatedFileHashes
+
 	def void setTempDir(String pathAsString) {
 		if (pathAsString !== null) {
 			tempDir = new File(pathAsString)
@@ -82,6 +187,7 @@ class StandaloneBuilder {
 	 */
 	def boolean launch() {
 		val needsJava = languages.values.exists[linksAgainstJava]
+		generatedFileHashes?.resetStatistics
 		if (baseDir === null) {
 			baseDir = System.getProperty('user.dir')
 			LOG.warn("Property baseDir not set. Using '" + baseDir + "'")
@@ -90,7 +196,7 @@ class StandaloneBuilder {
 			LOG.info("Using common types.")
 		}
 
-		val resourceSet = resourceSetProvider.get
+		val resourceSet = createResourceSet
 
 		if (encoding !== null) {
 			forceDebugLog("Setting encoding.")
@@ -108,7 +214,7 @@ class StandaloneBuilder {
 				"Investigating " + rootsToTravers.length + " of " + classPathEntries.length + " class path entries.");
 		}
 		val sourceResourceURIs = collectResources(sourceDirs, resourceSet)
-		val allResourcesURIs = sourceResourceURIs + collectResources(rootsToTravers, resourceSet)
+		val allResourcesURIs = sourceResourceURIs + collectClassPathResources(rootsToTravers, resourceSet)
 		forceDebugLog("Finished collecting source models. Took: " + (System.currentTimeMillis - startedAt) + " ms.")
 
 		val allClassPathEntries = (sourceDirs + classPathEntries)
@@ -126,64 +232,97 @@ class StandaloneBuilder {
 				]
 			} else
 				new DisabledClusteringPolicy
+		val parallel = isParallel
 
 		// Fill index
 		var ResourceDescriptionsData index = new ResourceDescriptionsData(newArrayList());
-		var allResourceIterator = allResourcesURIs.iterator
-		while (allResourceIterator.hasNext) {
-			var List<Resource> resources = newArrayList()
-			var int clusterIndex = 0
-			var continue = true
-			while (allResourceIterator.hasNext && continue) {
-				val uri = allResourceIterator.next
-				val resource = resourceSet.getResource(uri, true)
-				resources.add(resource)
-				fillIndex(uri, resource, index)
-				clusterIndex++
-				if (!strategy.continueProcessing(resourceSet, null, clusterIndex)) {
-					continue = false
+		var urisToIndex = allResourcesURIs
+		if (incremental) {
+			urisToIndex = prepareBuildState(allResourcesURIs, resourceSet, index)
+		}
+		if (parallel) {
+			LOG.info("Filling index using " + numberOfThreads + " threads.")
+			fillIndexInParallel(urisToIndex.toList, index, if (needsJava) allClassPathEntries)
+		} else {
+			var allResourceIterator = urisToIndex.iterator
+			while (allResourceIterator.hasNext) {
+				var List<Resource> resources = newArrayList()
+				var int clusterIndex = 0
+				var continue = true
+				while (allResourceIterator.hasNext && continue) {
+					val uri = allResourceIterator.next
+					val resource = resourceSet.getResource(uri, true)
+					resources.add(resource)
+					fillIndex(uri, resource, index)
+					clusterIndex++
+					if (!strategy.continueProcessing(resourceSet, null, clusterIndex)) {
+						continue = false
+					}
 				}
+				if (!continue)
+					resourceSet.clearResourceSet
 			}
-			if (!continue)
-				resourceSet.clearResourceSet
 		}
 		installIndex(resourceSet, index)
+		var urisToBuild = sourceResourceURIs
+		if (incremental) {
+			urisToBuild = collectURIsToBuild(sourceResourceURIs, urisToIndex, resourceSet, index)
+		}
 
 		// Generate Stubs
+		var Iterable<String> typeProviderRoots = null
 		if (needsJava) {
-			val stubsClasses = compileStubs(generateStubs(index, sourceResourceURIs))
+			val stubsClasses = if (cacheStubs)
+					compileStubsIncrementally(index, sourceResourceURIs)
+				else
+					compileStubs(generateStubs(index, sourceResourceURIs))
 			LOG.info("Installing type provider for stubs.")
-			installTypeProvider(allClassPathEntries + newArrayList(stubsClasses), resourceSet, jvmTypeAccess)
+			typeProviderRoots = allClassPathEntries + newArrayList(stubsClasses)
+			installTypeProvider(typeProviderRoots, resourceSet, jvmTypeAccess)
 		}
 
 		// Validate and generate
 		LOG.info("Validate and generate.")
-		val sourceResourceIterator = sourceResourceURIs.iterator
-		var hasValidationErrors = false
-		while (sourceResourceIterator.hasNext) {
-			var List<Resource> resources = newArrayList()
-			var int clusterIndex = 0
-			var continue = true
-			while (sourceResourceIterator.hasNext && continue) {
-				val uri = sourceResourceIterator.next
-				val resource = resourceSet.getResource(uri, true)
-				resources.add(resource)
-				resource.contents // full initialize
-				EcoreUtil2.resolveLazyCrossReferences(resource, CancelIndicator.NullImpl)
-				hasValidationErrors = !validate(resource) || hasValidationErrors
-				clusterIndex++
-				if (!strategy.continueProcessing(resourceSet, null, clusterIndex)) {
-					continue = false
-				}
+		try {
+			if (parallel) {
+				return validateAndGenerateInParallel(urisToBuild, index, typeProviderRoots)
 			}
-			if (failOnValidationError && hasValidationErrors) {
-				return !hasValidationErrors
+			val sourceResourceIterator = urisToBuild.iterator
+			var hasValidationErrors = false
+			while (sourceResourceIterator.hasNext) {
+				var List<Resource> resources = newArrayList()
+				var List<Resource> validResources = newArrayList()
+				var int clusterIndex = 0
+				var continue = true
+				while (sourceResourceIterator.hasNext && continue) {
+					val uri = sourceResourceIterator.next
+					val resource = resourceSet.getResource(uri, true)
+					resources.add(resource)
+					resource.contents // full initialize
+					EcoreUtil2.resolveLazyCrossReferences(resource, CancelIndicator.NullImpl)
+					if (validate(resource)) {
+						validResources.add(resource)
+					} else {
+						hasValidationErrors = true
+					}
+					clusterIndex++
+					if (!strategy.continueProcessing(resourceSet, null, clusterIndex)) {
+						continue = false
+					}
+				}
+				if (failOnValidationError && hasValidationErrors) {
+					return !hasValidationErrors
+				}
+				generate(resources)
+				validResources.forEach[updateBuildState]
+				if (!continue)
+					resourceSet.clearResourceSet
 			}
-			generate(resources)
-			if (!continue)
-				resourceSet.clearResourceSet
+			return !hasValidationErrors
+		} finally {
+			writeBuildState
+			writeGeneratedFileHashes
 		}
-		return !hasValidationErrors
 	}
 
 	def fillIndex(URI uri, Resource resource, ResourceDescriptionsData index) {
@@ -191,6 +330,395 @@ class StandaloneBuilder {
 		index.addDescription(uri, description)
 	}
 
+	/**
+	 * @since 2.15
+	 */
+	def protected boolean isParallel() {
+		if (numberOfThreads <= 1) {
+			return false
+		}
+		if (clusteringConfig !== null) {
+			LOG.warn("Clustering is configured. Parallel mode is disabled.")
+			return false
+		}
+		return true
+	}
+
+	/**
+	 * Computes the resource descriptions in worker local resource sets. The descriptions are copied, so
+	 * the worker resource sets can be discarded afterwards. They are added to the index in the order of
+	 * the given URIs.
+	 *
+	 * @since 2.15
+	 */
+	def protected void fillIndexInParallel(List<URI> uris, ResourceDescriptionsData index,
+		Iterable<String> classPathRoots) {
+		val descriptions = processInParallel(uris, [|createWorkerResourceSet(classPathRoots, null, null)]) [ resourceSet, uri |
+			val resource = resourceSet.getResource(uri, true)
+			val description = languageAccess(uri).resourceDescriptionManager.getResourceDescription(resource)
+			new CopiedResourceDescription(description)
+		]
+		for (description : descriptions) {
+			index.addDescription(description.URI, description)
+		}
+	}
+
+	/**
+	 * Validates the source resources in worker local resource sets. The issues are handled and the
+	 * resources are generated afterwards in the order of the given URIs, so the result does not depend on
+	 * the scheduling of the worker threads. If {@link #parallelGeneration} is enabled, the workers generate
+	 * into memory and only the files are written in the order of the given URIs.
+	 *
+	 * @since 2.15
+	 */
+	def protected boolean validateAndGenerateInParallel(List<URI> sourceResourceURIs, ResourceDescriptionsData index,
+		Iterable<String> classPathRoots) {
+		val generateInWorkers = parallelGeneration
+		if (generateInWorkers) {
+			// the file system accesses are created lazily and must not be created concurrently
+			languages.values.forEach[fileSystemAccess]
+		}
+		val Map<URI, RecordingFileSystemAccess> generatedFiles = new ConcurrentHashMap
+		val validated = processInParallel(sourceResourceURIs, [|createWorkerResourceSet(classPathRoots, jvmTypeAccess, index)]) [ resourceSet, uri |
+			val resource = resourceSet.getResource(uri, true)
+			resource.contents // full initialize
+			EcoreUtil2.resolveLazyCrossReferences(resource, CancelIndicator.NullImpl)
+			val issues = collectIssues(resource)
+			if (generateInWorkers) {
+				generatedFiles.put(uri, generateInMemory(resource))
+			}
+			resource -> issues
+		]
+		var hasValidationErrors = false
+		val List<Resource> validResources = newArrayList()
+		for (it : validated) {
+			if (issueHandler.handleIssue(value)) {
+				validResources.add(key)
+			} else {
+				hasValidationErrors = true
+			}
+		}
+		if (failOnValidationError && hasValidationErrors) {
+			return !hasValidationErrors
+		}
+		if (generateInWorkers) {
+			writeGenerated(validated.map[key].toList, generatedFiles)
+		} else {
+			generate(validated.map[key].toList)
+		}
+		validResources.forEach[updateBuildState]
+		return !hasValidationErrors
+	}
+
+	/**
+	 * Applies the given function to each of the URIs using {@link #numberOfThreads} worker threads. Each worker
+	 * thread works on its own resource set. The results are returned in the order of the given URIs.
+	 *
+	 * @since 2.15
+	 */
+	def protected <T> List<T> processInParallel(List<URI> uris, ()=>XtextResourceSet resourceSetFactory,
+		(XtextResourceSet, URI)=>T function) {
+		val executor = Executors.newFixedThreadPool(numberOfThreads)
+		try {
+			val workerResourceSets = ThreadLocal.withInitial[resourceSetFactory.apply]
+			val futures = uris.map [ uri |
+				val Callable<T> task = [|function.apply(workerResourceSets.get, uri)]
+				executor.submit(task)
+			].toList
+			return futures.map [ future |
+				try {
+					future.get
+				} catch (ExecutionException e) {
+					throw e.cause
+				}
+			].toList
+		} finally {
+			executor.shutdownNow
+		}
+	}
+
+	/**
+	 * Creates a resource set that is marked with the load option {@link #BATCH_COMPILATION}. Xbase languages do
+	 * not track the feature scopes of its resources, since they are only needed by content assist.
+	 * 
+	 * @since 2.15
+	 */
+	def protected XtextResourceSet createResourceSet() {
+		val result = resourceSetProvider.get
+		result.loadOptions.put(BATCH_COMPILATION, Boolean.TRUE)
+		return result
+	}
+
+	/**
+	 * @since 2.15
+	 */
+	def protected XtextResourceSet createWorkerResourceSet(Iterable<String> classPathRoots,
+		IndexedJvmTypeAccess typeAccess, ResourceDescriptionsData index) {
+		val workerResourceSet = createResourceSet
+		if (classPathRoots !== null) {
+			installTypeProvider(classPathRoots, workerResourceSet, typeAccess)
+		}
+		if (index !== null) {
+			installIndex(workerResourceSet, index)
+		}
+		return workerResourceSet
+	}
+
+	/**
+	 * Reads the state of the previous build and computes the content hashes of the given resources. The
+	 * descriptions of the unchanged resources are taken from the previous state and added to the index.
+	 *
+	 * @return the URIs of the resources that have to be indexed
+	 *
+	 * @since 2.15
+	 */
+	def protected Iterable<URI> prepareBuildState(Iterable<URI> allResourcesURIs, ResourceSet resourceSet,
+		ResourceDescriptionsData index) {
+		val configurationHash = computeConfigurationHash
+		previousBuildState = BuildState.read(new File(tempDir, BUILD_STATE_FILE), configurationHash)
+		buildState = new BuildState(configurationHash)
+		contentHashes = newHashMap
+		val List<URI> changedURIs = newArrayList
+		for (uri : allResourcesURIs) {
+			val contentHash = computeContentHash(uri, resourceSet)
+			contentHashes.put(uri, contentHash)
+			if (previousBuildState !== null && contentHash == previousBuildState.getContentHash(uri)) {
+				buildState.copyFrom(previousBuildState, uri)
+				index.addDescription(uri, previousBuildState.getResourceDescription(uri))
+			} else {
+				changedURIs.add(uri)
+			}
+		}
+		if (previousBuildState === null) {
+			LOG.info("No state of a previous build found. Performing a full build.")
+		} else {
+			LOG.info(changedURIs.size + " of " + contentHashes.size + " resources changed since the last build.")
+		}
+		return changedURIs
+	}
+
+	/**
+	 * Collects the source resources that have to be validated and generated. These are the changed resources
+	 * and the resources that are affected by the changed or deleted ones. The affected resources are indexed
+	 * again, and the resources that are affected by their deltas are collected, too.
+	 *
+	 * @since 2.15
+	 */
+	def protected List<URI> collectURIsToBuild(List<URI> sourceResourceURIs, Iterable<URI> changedURIs,
+		ResourceSet resourceSet, ResourceDescriptionsData index) {
+		if (previousBuildState === null) {
+			return sourceResourceURIs
+		}
+		val sourceURIs = sourceResourceURIs.toSet
+		val Set<URI> toBuild = newHashSet
+		var List<IResourceDescription.Delta> deltas = newArrayList
+		for (uri : changedURIs) {
+			val newDescription = index.getResourceDescription(uri)
+			deltas.add(new DefaultResourceDescriptionDelta(previousBuildState.getResourceDescription(uri), newDescription))
+			if (sourceURIs.contains(uri)) {
+				toBuild.add(uri)
+			} else {
+				buildState.put(uri, contentHashes.get(uri), new CopiedResourceDescription(newDescription))
+			}
+		}
+		for (uri : previousBuildState.URIs) {
+			if (!contentHashes.containsKey(uri)) {
+				deltas.add(new DefaultResourceDescriptionDelta(previousBuildState.getResourceDescription(uri), null))
+			}
+		}
+		val List<IResourceDescription.Delta> allDeltas = newArrayList
+		while (!deltas.empty) {
+			allDeltas += deltas
+			val changedDeltas = deltas.filter[haveEObjectDescriptionsChanged].toList
+			deltas = newArrayList
+			if (!changedDeltas.empty) {
+				for (uri : sourceResourceURIs) {
+					if (!toBuild.contains(uri) && isAffected(changedDeltas, uri, index)) {
+						toBuild.add(uri)
+						buildState.remove(uri)
+						val resource = resourceSet.getResource(uri, true)
+						val description = languageAccess(uri).resourceDescriptionManager.getResourceDescription(resource)
+						index.addDescription(uri, new CopiedResourceDescription(description))
+						deltas.add(new DefaultResourceDescriptionDelta(previousBuildState.getResourceDescription(uri),
+							index.getResourceDescription(uri)))
+					}
+				}
+			}
+		}
+		notifyIndexListeners(resourceSet, allDeltas)
+		LOG.info(toBuild.size + " of " + sourceURIs.size + " source resources have to be built.")
+		return sourceResourceURIs.filter[toBuild.contains(it)].toList
+	}
+
+	/**
+	 * Notifies the {@link IResourceDescription.Event.Listener listeners} that are attached to the given resource set
+	 * about the changes of the index, e.g. the caches that were filled while resources were loaded before the index
+	 * was updated.
+	 * 
+	 * @since 2.15
+	 */
+	def protected void notifyIndexListeners(ResourceSet resourceSet, List<IResourceDescription.Delta> deltas) {
+		if (deltas.empty) {
+			return
+		}
+		val event = new ResourceDescriptionChangeEvent(deltas)
+		for (listener : resourceSet.eAdapters.filter(IResourceDescription.Event.Listener).toList) {
+			listener.descriptionsChanged(event)
+		}
+	}
+
+	/**
+	 * @since 2.15
+	 */
+	def protected boolean isAffected(Collection<IResourceDescription.Delta> deltas, URI uri,
+		IResourceDescriptions index) {
+		val candidate = previousBuildState.getResourceDescription(uri)
+		return languageAccess(uri).resourceDescriptionManager.isAffected(deltas, candidate, index)
+	}
+
+	/**
+	 * Records a successfully validated and generated resource in the state of the current build.
+	 *
+	 * @since 2.15
+	 */
+	def protected void updateBuildState(Resource resource) {
+		if (buildState !== null) {
+			val uri = resource.URI
+			val description = languageAccess(uri).resourceDescriptionManager.getResourceDescription(resource)
+			buildState.put(uri, contentHashes.get(uri), description)
+		}
+	}
+
+	/**
+	 * @since 2.15
+	 */
+	def protected void writeBuildState() {
+		if (buildState !== null) {
+			val file = new File(tempDir, BUILD_STATE_FILE)
+			try {
+				buildState.write(file)
+			} catch (IOException e) {
+				LOG.error("Could not write the build state to " + file.absolutePath + ".", e)
+			} finally {
+				previousBuildState = null
+				buildState = null
+				contentHashes = null
+			}
+		}
+	}
+
+	/**
+	 * Persists the content hashes of the generated files and reports the number of files that were not written.
+	 *
+	 * @since 2.15
+	 */
+	def protected void writeGeneratedFileHashes() {
+		if (generatedFileHashes !== null) {
+			val skipped = generatedFileHashes.skippedFiles
+			LOG.info(skipped + " of " + (generatedFileHashes.writtenFiles + skipped)
+				+ " generated files were unchanged and have not been written.")
+			val file = new File(tempDir, GENERATED_FILE_HASHES_FILE)
+			try {
+				generatedFileHashes.write(file)
+			} catch (IOException e) {
+				LOG.error("Could not write the hashes of the generated files to " + file.absolutePath + ".", e)
+			}
+		}
+	}
+
+	/**
+	 * @since 2.15
+	 */
+	def protected GeneratedFileHashes getGeneratedFileHashes() {
+		return generatedFileHashes
+	}
+
+	/**
+	 * @since 2.15
+	 */
+	def protected String computeContentHash(URI uri, ResourceSet resourceSet) {
+		val in = resourceSet.URIConverter.createInputStream(uri)
+		try {
+			return Hashing.sha1.hashBytes(ByteStreams.toByteArray(in)).toString
+		} finally {
+			in.close
+		}
+	}
+
+	/**
+	 * Computes a hash of everything besides the source resources that influences the build: the languages, the
+	 * source directories, the Java sources and the class path. Files are represented by their path, size and time
+	 * stamp. The {@link #getOutputDirectories() output directories} of the builder are skipped.
+	 *
+	 * @since 2.15
+	 */
+	def protected String computeConfigurationHash() {
+		val hasher = Hashing.sha1.newHasher
+		val outputDirectories = getOutputDirectories
+		hasher.putString(languages.keySet.sort.join(','), Charsets.UTF_8)
+		hasher.putString(uniqueEntries(sourceDirs).sort.join(','), Charsets.UTF_8)
+		for (javaSourceDir : uniqueEntries(javaSourceDirs).sort) {
+			putFileHashes(hasher, new File(javaSourceDir), ".java", outputDirectories)
+		}
+		for (classPathEntry : uniqueEntries(classPathEntries).sort) {
+			putFileHashes(hasher, new File(classPathEntry), ".class", outputDirectories)
+		}
+		return hasher.hash.toString
+	}
+
+	/**
+	 * Returns the normalized absolute paths of the directories that the builder writes to: the output directories
+	 * of the languages and the {@link #tempDir}. Their content changes with every build, so they are skipped when
+	 * the configuration hashes are computed.
+	 *
+	 * @since 2.15
+	 */
+	def protected Set<String> getOutputDirectories() {
+		val result = <String>newHashSet
+		for (language : languages.values) {
+			for (output : language.fileSystemAccess.outputConfigurations.values) {
+				for (directory : output.outputDirectories) {
+					result += normalizePath(new File(directory))
+				}
+			}
+		}
+		result += normalizePath(tempDir)
+		return result
+	}
+
+	def private String normalizePath(File file) {
+		return file.toPath.toAbsolutePath.normalize.toString
+	}
+
+	/**
+	 * Puts the path, size and time stamp of the given file into the hasher. The files with the given extension in a
+	 * directory are put recursively, except for the given excluded directories.
+	 */
+	def private void putFileHashes(Hasher hasher, File file, String fileExtension, Set<String> excludedDirectories) {
+		if (file.directory) {
+			if (excludedDirectories.contains(normalizePath(file))) {
+				return
+			}
+			val children = file.listFiles
+			if (children !== null) {
+				for (child : children.sortBy[name]) {
+					if (child.directory) {
+						putFileHashes(hasher, child, fileExtension, excludedDirectories)
+					} else if (child.name.endsWith(fileExtension)) {
+						putFileHash(hasher, child)
+					}
+				}
+			}
+		} else if (file.exists) {
+			putFileHash(hasher, file)
+		}
+	}
+
+	def private void putFileHash(Hasher hasher, File file) {
+		hasher.putString(file.absolutePath, Charsets.UTF_8)
+		hasher.putLong(file.length).putLong(file.lastModified)
+	}
+
 	def fileEncodingSetup(Collection<LanguageAccess> langs, String encoding) {
 		for (lang : langs) {
 			switch provider : lang.encodingProvider {
@@ -211,11 +739,21 @@ class StandaloneBuilder {
 
 	def protected compileStubs(File stubsDir) {
 		val stubsClasses = createTempDir("classes")
+		compileStubs(stubsDir, stubsClasses)
+		return stubsClasses.absolutePath
+	}
+
+	def private CompilationResult compileStubs(File stubsDir, File stubsClasses) {
 		compiler.setClassPath(classPathEntries)
 		LOG.info("Compiling stubs located in " + stubsDir.absolutePath)
 		val sourcesToCompile = uniqueEntries(javaSourceDirs + sourceDirs + newArrayList(stubsDir.absolutePath))
 		forceDebugLog("Compiler source roots: " + sourcesToCompile.join(','))
 		val result = compiler.compile(sourcesToCompile, stubsClasses)
+		logStubsCompilationResult(result)
+		return result
+	}
+
+	def private void logStubsCompilationResult(CompilationResult result) {
 		switch (result) {
 			case CompilationResult.SKIPPED:
 				LOG.info("Nothing to compile. Stubs compilation was skipped.")
@@ -224,7 +762,6 @@ class StandaloneBuilder {
 			case CompilationResult.SUCCEEDED:
 				forceDebugLog("Stubs compilation successfully finished.")
 		}
-		return stubsClasses.absolutePath
 	}
 
 	def protected uniqueEntries(Iterable<String> pathes) {
@@ -244,11 +781,171 @@ class StandaloneBuilder {
 		return stubsDir
 	}
 
+	/**
+	 * Generates and compiles the stubs of the source resources whose Java signatures changed since the last build.
+	 * The classes of the other stubs are reused from the {@link #tempDir}. All stubs are compiled if there is no
+	 * stub cache for the current class path and Java sources. The stub cache is only written if the stubs were
+	 * compiled successfully, otherwise it is deleted and all stubs are compiled again in the next build.
+	 *
+	 * @return the path of the directory that contains the compiled stubs
+	 *
+	 * @since 2.15
+	 */
+	def protected String compileStubsIncrementally(ResourceDescriptionsData data, List<URI> sourceResourceURIs) {
+		val configurationHash = computeStubConfigurationHash
+		val cacheFile = new File(tempDir, STUB_CACHE_FILE)
+		val previousCache = StubCache.read(cacheFile, configurationHash)
+		val cache = new StubCache(configurationHash)
+		val List<IResourceDescription> changed = newArrayList
+		for (uri : sourceResourceURIs.filter[languageAccess.linksAgainstJava]) {
+			val description = data.getResourceDescription(uri)
+			val signatureHash = computeSignatureHash(description)
+			cache.put(uri, signatureHash, getTopLevelTypeNames(description))
+			if (previousCache === null || signatureHash != previousCache.getSignatureHash(uri)) {
+				changed.add(description)
+			}
+		}
+		val classesDir = createTempDir("classes")
+		var result = CompilationResult.SKIPPED
+		if (previousCache === null) {
+			LOG.info("No stub cache found for the current configuration. Compiling all stubs.")
+			cleanDirectory(createTempDir("stubs"))
+			cleanDirectory(classesDir)
+			result = compileStubs(generateStubs(data, sourceResourceURIs), classesDir)
+		} else {
+			for (uri : previousCache.URIs) {
+				if (cache.getSignatureHash(uri) != previousCache.getSignatureHash(uri)) {
+					deleteStubClasses(previousCache.getTypeNames(uri), classesDir)
+				}
+			}
+			if (changed.empty) {
+				LOG.info("Java signatures unchanged since the last build. Stubs compilation was skipped.")
+			} else {
+				val stubsDir = createTempDir("stubs-delta")
+				cleanDirectory(stubsDir)
+				LOG.info("Generating " + changed.size + " changed stubs into " + stubsDir.absolutePath)
+				if (encoding !== null)
+					encodingProvider.setDefaultEncoding(encoding)
+				commonFileAccess.setOutputPath(IFileSystemAccess.DEFAULT_OUTPUT, stubsDir.absolutePath)
+				for (description : changed) {
+					description.URI.languageAccess.stubGenerator.doGenerateStubs(commonFileAccess, description)
+				}
+				compiler.setClassPath(classPathEntries + newArrayList(classesDir.absolutePath))
+				LOG.info("Compiling stubs located in " + stubsDir.absolutePath)
+				result = compiler.compile(newArrayList(stubsDir.absolutePath), classesDir)
+				logStubsCompilationResult(result)
+			}
+		}
+		if (result == CompilationResult.FAILED) {
+			LOG.info("Stubs compilation failed. The stub cache is discarded.")
+			cacheFile.delete
+		} else {
+			try {
+				cache.write(cacheFile)
+			} catch (IOException e) {
+				LOG.error("Could not write the stub cache to " + cacheFile.absolutePath + ".", e)
+			}
+		}
+		return classesDir.absolutePath
+	}
+
+	/**
+	 * Computes a hash of the Java signatures of the types that are exported by the given description. It is based
+	 * on the signature hashes computed by the {@link JvmTypesResourceDescriptionStrategy}.
+	 *
+	 * @since 2.15
+	 */
+	def protected String computeSignatureHash(IResourceDescription description) {
+		val hasher = Hashing.sha1.newHasher
+		for (exported : description.exportedObjects) {
+			if (TypesPackage.Literals.JVM_DECLARED_TYPE.isSuperTypeOf(exported.EClass)) {
+				hasher.putString(exported.EClass.name, Charsets.UTF_8)
+				hasher.putString(exported.qualifiedName.toString, Charsets.UTF_8)
+				for (key : exported.userDataKeys.sort) {
+					hasher.putString(key, Charsets.UTF_8).putString(String.valueOf(exported.getUserData(key)), Charsets.UTF_8)
+				}
+			}
+		}
+		return hasher.hash.toString
+	}
+
+	/**
+	 * Computes a hash of everything besides the source resources that influences the compiled stubs: the compiler
+	 * configuration, the Java sources and the class path. Like in {@link #computeConfigurationHash()}, files are
+	 * represented by their path, size and time stamp and the output directories of the builder are skipped.
+	 *
+	 * @since 2.15
+	 */
+	def protected String computeStubConfigurationHash() {
+		val hasher = Hashing.sha1.newHasher
+		val configuration = compiler.configuration
+		if (configuration !== null) {
+			hasher.putString(configuration.sourceLevel + '/' + configuration.targetLevel, Charsets.UTF_8)
+		}
+		val outputDirectories = getOutputDirectories
+		for (sourceDir : uniqueEntries(javaSourceDirs + sourceDirs).sort) {
+			putFileHashes(hasher, new File(sourceDir), ".java", outputDirectories)
+		}
+		for (classPathEntry : uniqueEntries(classPathEntries).sort) {
+			putFileHashes(hasher, new File(classPathEntry), ".class", outputDirectories)
+		}
+		return hasher.hash.toString
+	}
+
+	/**
+	 * Returns the qualified names of the top level types that are exported by the given description. Their class
+	 * files are deleted if the signature of the description changes.
+	 *
+	 * @since 2.15
+	 */
+	def protected List<String> getTopLevelTypeNames(IResourceDescription description) {
+		return description.exportedObjects.filter [
+			TypesPackage.Literals.JVM_DECLARED_TYPE.isSuperTypeOf(EClass) &&
+				getUserData(JvmTypesResourceDescriptionStrategy.IS_NESTED_TYPE) === null
+		].map[qualifiedName.toString].toList
+	}
+
+	/**
+	 * Deletes the class files of the given top level types and of their nested types.
+	 */
+	def private void deleteStubClasses(Iterable<String> typeNames, File classesDir) {
+		for (typeName : typeNames) {
+			val classFile = new File(classesDir, typeName.replace('.', '/') + ".class")
+			val simpleName = typeName.substring(typeName.lastIndexOf('.') + 1)
+			val classFiles = classFile.parentFile.listFiles[ File child |
+				child.name == simpleName + ".class" || child.name.startsWith(simpleName + "$") && child.name.endsWith(".class")
+			]
+			if (classFiles !== null) {
+				for (file : classFiles) {
+					file.delete
+				}
+			}
+		}
+	}
+
+	def private void cleanDirectory(File directory) {
+		val children = directory.listFiles
+		if (children !== null) {
+			for (child : children) {
+				if (child.directory) {
+					cleanDirectory(child)
+				}
+				child.delete
+			}
+		}
+	}
+
 	def protected boolean validate(Resource resource) {
+		return issueHandler.handleIssue(collectIssues(resource))
+	}
+
+	/**
+	 * @since 2.15
+	 */
+	def protected List<Issue> collectIssues(Resource resource) {
 		LOG.info("Starting validation for input: '" + resource.getURI().lastSegment() + "'");
 		val resourceValidator = languageAccess(resource.URI).getResourceValidator();
-		val validationResult = resourceValidator.validate(resource, CheckMode.ALL, null);
-		return issueHandler.handleIssue(validationResult)
+		return resourceValidator.validate(resource, CheckMode.ALL, null);
 	}
 
 	def protected generate(List<Resource> sourceResources) {
@@ -270,8 +967,55 @@ class StandaloneBuilder {
 		}
 	}
 
+	/**
+	 * Executes the generator of the given resource and records the generated and deleted files in memory. The
+	 * output configurations are the ones of the file system access of the language, which is used to read files
+	 * that were not generated by the generator itself.
+	 *
+	 * @since 2.15
+	 */
+	def protected RecordingFileSystemAccess generateInMemory(Resource resource) {
+		val access = resource.URI.languageAccess
+		val fsa = new RecordingFileSystemAccess(access.fileSystemAccess)
+		fsa.outputConfigurations = access.fileSystemAccess.outputConfigurations
+		registerCurrentSource(resource.URI, fsa)
+		val context = new GeneratorContext
+		context.cancelIndicator = CancelIndicator.NullImpl
+		access.generator.generate(resource, fsa, context)
+		return fsa
+	}
+
+	/**
+	 * Writes the files that were generated by the worker threads in the order of the given resources.
+	 *
+	 * @since 2.15
+	 */
+	def protected void writeGenerated(List<Resource> sourceResources, Map<URI, RecordingFileSystemAccess> generatedFiles) {
+		for (Resource it : sourceResources) {
+			LOG.info("Writing generated files for input: '" + getURI().lastSegment() + "'");
+			registerCurrentSource(it.URI)
+			val fileSystemAccess = URI.languageAccess.fileSystemAccess
+			if (isWriteStorageResources) {
+				switch it {
+					StorageAwareResource case resourceStorageFacade !== null: {
+						resourceStorageFacade.saveResource(it, fileSystemAccess)
+					}
+				}
+			}
+			generatedFiles.get(URI)?.writeTo(fileSystemAccess)
+		}
+	}
+
 	def protected registerCurrentSource(URI uri) {
-		val fsa = uri.languageAccess.fileSystemAccess
+		registerCurrentSource(uri, uri.languageAccess.fileSystemAccess)
+	}
+
+	/**
+	 * Sets the source folder of the given resource as the current source of the given file system access.
+	 *
+	 * @since 2.15
+	 */
+	def protected void registerCurrentSource(URI uri, AbstractFileSystemAccess fsa) {
 		val absoluteSource = sourceDirs
 			.map[UriUtil.createFolderURI(new File(it))]
 			.findFirst [UriUtil.isPrefixOf(it, uri)]
@@ -299,6 +1043,9 @@ class StandaloneBuilder {
 		var fsa = configuredFsas.get(language)
 		if (fsa === null) {
 			fsa = language.createFileSystemAccess(new File(baseDir))
+			if (writeIfChanged) {
+				fsa = fsa.createWriteIfChangedFileSystemAccess(language)
+			}
 			fsa = fsa.configureFileSystemAccess(language)
 			configuredFsas.put(language, fsa)
 		}
@@ -309,6 +1056,24 @@ class StandaloneBuilder {
 		fsa
 	}
 
+	/**
+	 * Creates a file system access with the output configurations of the given one that only writes changed files.
+	 * The hashes of the previous build are read from the {@link #tempDir} and shared by all languages.
+	 *
+	 * @since 2.15
+	 */
+	protected def JavaIoFileSystemAccess createWriteIfChangedFileSystemAccess(JavaIoFileSystemAccess fsa,
+		LanguageAccess language) {
+		if (generatedFileHashes === null) {
+			generatedFileHashes = GeneratedFileHashes.read(new File(tempDir, GENERATED_FILE_HASHES_FILE),
+				encoding ?: '')
+		}
+		val result = language.resourceServiceProvider.get(WriteIfChangedFileSystemAccess)
+		result.outputConfigurations = fsa.outputConfigurations
+		result.hashes = generatedFileHashes
+		return result
+	}
+
 	def private languageAccess(URI uri) {
 		languages.get(uri.fileExtension)
 	}
@@ -331,6 +1096,32 @@ class StandaloneBuilder {
 		return new URLClassLoader(classPathUrls)
 	}
 
+	/**
+	 * Collects the resources on the class path. If {@link #cacheClassPath} is set, archives that did not change
+	 * since the last build are not scanned again.
+	 *
+	 * @since 2.15
+	 */
+	def protected List<URI> collectClassPathResources(Iterable<String> roots, ResourceSet resourceSet) {
+		if (!cacheClassPath) {
+			return collectResources(roots, resourceSet)
+		}
+		val cacheFile = new File(tempDir, CLASS_PATH_CACHE_FILE)
+		classPathCache = ClassPathCache.read(cacheFile, languages.keySet.join("|"))
+		try {
+			val result = collectResources(roots, resourceSet)
+			LOG.info("Class path cache: " + classPathCache.hits + " hits, " + classPathCache.misses + " misses.")
+			try {
+				classPathCache.write(cacheFile)
+			} catch (IOException e) {
+				LOG.warn("Could not write the class path cache to " + cacheFile.absolutePath + ".", e)
+			}
+			return result
+		} finally {
+			classPathCache = null
+		}
+	}
+
 	def protected List<URI> collectResources(Iterable<String> roots, ResourceSet resourceSet) {
 		val extensions = languages.keySet.join("|")
 		val nameBasedFilter = new NameBasedFilter
@@ -339,8 +1130,21 @@ class StandaloneBuilder {
 		nameBasedFilter.setRegularExpression(".*\\.(?:(" + extensions + "))$");
 		val List<URI> resources = newArrayList();
 
+		val List<String> rootsToTraverse = newArrayList
+		for (root : roots) {
+			val file = new File(root)
+			val cached = if (classPathCache !== null && file.file) classPathCache.get(file)
+			if (cached !== null) {
+				resources.addAll(cached.models)
+				if (cached.bundleSymbolicName !== null && !cached.models.empty) {
+					registerBundle(cached.bundleSymbolicName, file)
+				}
+			} else {
+				rootsToTraverse.add(root)
+			}
+		}
 		val modelsFound = new PathTraverser().resolvePathes(
-			roots.toList,
+			rootsToTraverse,
 			[ input |
 				val matches = nameBasedFilter.matches(input)
 				if (matches) {
@@ -352,14 +1156,26 @@ class StandaloneBuilder {
 		)
 		modelsFound.asMap.forEach [ uri, resource |
 			val file = new File(uri)
-			if (resource !== null && !file.directory && file.name.endsWith(".jar")) {
-				registerBundle(file)
+			if (resource !== null && !file.directory) {
+				val bundleSymbolicName = if (file.name.endsWith(".jar")) registerBundle(file)
+				classPathCache?.put(file, bundleSymbolicName, resource)
 			}
 		]
+		if (classPathCache !== null) {
+			for (root : rootsToTraverse) {
+				val file = new File(root)
+				if (file.file && !modelsFound.containsKey(root)) {
+					classPathCache.put(file, null, emptyList)
+				}
+			}
+		}
 		return resources;
 	}
 
-	def protected registerBundle(File file) {
+	/**
+	 * @return the symbolic name of the bundle or <code>null</code> if the given jar is not a bundle
+	 */
+	def protected String registerBundle(File file) {
 
 		// copied from org.eclipse.emf.mwe.utils.StandaloneSetup.registerBundle(File)
 		var JarFile jarFile = null;
@@ -367,18 +1183,15 @@ class StandaloneBuilder {
 			jarFile = new JarFile(file);
 			val Manifest manifest = jarFile.getManifest();
 			if (manifest === null)
-				return;
+				return null;
 			var String name = manifest.getMainAttributes().getValue("Bundle-SymbolicName");
 			if (name !== null) {
 				val int indexOf = name.indexOf(';');
 				if (indexOf > 0)
 					name = name.substring(0, indexOf);
-				if (EcorePlugin.getPlatformResourceMap().containsKey(name))
-					return;
-				val String path = "archive:" + file.toURI() + "!/";
-				val URI uri = URI.createURI(path);
-				EcorePlugin.getPlatformResourceMap().put(name, uri);
+				registerBundle(name, file)
 			}
+			return name
 		} catch (ZipException e) {
 			forceDebugLog("Could not open Jar file " + file.getAbsolutePath() + ".");
 		} catch (Exception e) {
@@ -391,6 +1204,18 @@ class StandaloneBuilder {
 				LOG.error(jarFile, e);
 			}
 		}
+		return null
+	}
+
+	/**
+	 * @since 2.15
+	 */
+	def protected void registerBundle(String name, File file) {
+		if (EcorePlugin.getPlatformResourceMap().containsKey(name))
+			return;
+		val String path = "archive:" + file.toURI() + "!/";
+		val URI uri = URI.createURI(path);
+		EcorePlugin.getPlatformResourceMap().put(name, uri);
 	}
 
 	def getCompiler() {
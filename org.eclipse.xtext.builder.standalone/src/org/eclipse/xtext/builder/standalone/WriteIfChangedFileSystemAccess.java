@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder.standalone;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.eclipse.xtext.builder.standalone.incremental.GeneratedFileHashes;
+import org.eclipse.xtext.generator.JavaIoFileSystemAccess;
+import org.eclipse.xtext.generator.trace.ITraceRegionProvider;
+import org.eclipse.xtext.generator.trace.TraceFileNameProvider;
+import org.eclipse.xtext.generator.trace.TraceNotFoundException;
+import org.eclipse.xtext.generator.trace.TraceRegionSerializer;
+import org.eclipse.xtext.util.RuntimeIOException;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Funnels;
+import com.google.inject.Inject;
+
+/**
+ * A file system access that does not write a file if its content did not change since the previous build. The
+ * content hash of a text file covers its trace region, too, so the trace file is only written together with the file.
+ * A file is written again if its trace file was modified or deleted.
+ *
+ * @see StandaloneBuilder#isWriteIfChanged()
+ * @since 2.15
+ */
+public class WriteIfChangedFileSystemAccess extends JavaIoFileSystemAccess {
+
+	@Inject
+	private TraceRegionSerializer traceRegionSerializer;
+
+	@Inject
+	private TraceFileNameProvider traceFileNameProvider;
+
+	private GeneratedFileHashes hashes;
+
+	public void setHashes(GeneratedFileHashes hashes) {
+		this.hashes = hashes;
+	}
+
+	@Override
+	public void generateFile(String fileName, String outputConfigName, CharSequence contents) {
+		if (hashes == null) {
+			super.generateFile(fileName, outputConfigName, contents);
+			return;
+		}
+		File file = getFile(fileName, outputConfigName);
+		File traceFile = getTraceFile(fileName, outputConfigName, contents);
+		String contentHash = computeContentHash(contents);
+		if (!hashes.isUnchanged(file, traceFile, contentHash)) {
+			super.generateFile(fileName, outputConfigName, contents);
+			hashes.written(file, traceFile, contentHash);
+		}
+	}
+
+	@Override
+	public void generateFile(String fileName, String outputConfigName, InputStream content) {
+		if (hashes == null) {
+			super.generateFile(fileName, outputConfigName, content);
+			return;
+		}
+		byte[] bytes;
+		try {
+			try {
+				bytes = ByteStreams.toByteArray(content);
+			} finally {
+				content.close();
+			}
+		} catch (IOException e) {
+			throw new RuntimeIOException(e);
+		}
+		File file = getFile(fileName, outputConfigName);
+		String contentHash = Hashing.sha1().hashBytes(bytes).toString();
+		if (!hashes.isUnchanged(file, null, contentHash)) {
+			super.generateFile(fileName, outputConfigName, new ByteArrayInputStream(bytes));
+			hashes.written(file, null, contentHash);
+		}
+	}
+
+	/**
+	 * Returns the trace file that is written together with the given contents or <code>null</code> if the contents
+	 * are not traced.
+	 */
+	protected File getTraceFile(String fileName, String outputConfigName, CharSequence contents) {
+		if (contents instanceof ITraceRegionProvider) {
+			return getFile(traceFileNameProvider.getTraceFromJava(fileName), outputConfigName);
+		}
+		return null;
+	}
+
+	/**
+	 * Computes the hash of the text and of the trace region of the given contents. The hash is computed before the
+	 * contents are post processed.
+	 */
+	protected String computeContentHash(CharSequence contents) {
+		Hasher hasher = Hashing.sha1().newHasher();
+		hasher.putString(contents, Charsets.UTF_8);
+		if (contents instanceof ITraceRegionProvider) {
+			try {
+				OutputStream out = Funnels.asOutputStream(hasher);
+				traceRegionSerializer.writeTraceRegionTo(((ITraceRegionProvider) contents).getTraceRegion(), out);
+			} catch (TraceNotFoundException e) {
+				// no trace file is written either
+			} catch (IOException e) {
+				throw new RuntimeIOException(e);
+			}
+		}
+		return hasher.hash().toString();
+	}
+
+}
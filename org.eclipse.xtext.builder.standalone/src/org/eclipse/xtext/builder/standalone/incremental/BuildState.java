@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder.standalone.incremental;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.persistence.SerializableResourceDescription;
+
+import com.google.common.collect.Maps;
+
+/**
+ * The state of a standalone build that is persisted between two incremental builds. It holds the content hash and a
+ * serializable copy of the resource description for every resource that was processed successfully.
+ *
+ * The state is only valid for the configuration it was created with, e.g. the class path and the languages. The
+ * configuration is represented by a hash that is compared when the state is read.
+ *
+ * @since 2.15
+ */
+public class BuildState {
+
+	private static final Logger LOG = Logger.getLogger(BuildState.class);
+
+	private static final int VERSION = 1;
+
+	private final String configurationHash;
+
+	private final Map<URI, String> contentHashes = Maps.newHashMap();
+
+	private final Map<URI, SerializableResourceDescription> descriptions = Maps.newHashMap();
+
+	public BuildState(String configurationHash) {
+		this.configurationHash = configurationHash;
+	}
+
+	public String getConfigurationHash() {
+		return configurationHash;
+	}
+
+	public Set<URI> getURIs() {
+		return contentHashes.keySet();
+	}
+
+	public String getContentHash(URI uri) {
+		return contentHashes.get(uri);
+	}
+
+	public IResourceDescription getResourceDescription(URI uri) {
+		return descriptions.get(uri);
+	}
+
+	/**
+	 * Records the given description. It has to be fully linked, since the imported names and the reference
+	 * descriptions are copied, too.
+	 */
+	public void put(URI uri, String contentHash, IResourceDescription description) {
+		put(uri, contentHash, SerializableResourceDescription.createCopy(description));
+	}
+
+	protected void put(URI uri, String contentHash, SerializableResourceDescription description) {
+		contentHashes.put(uri, contentHash);
+		descriptions.put(uri, description);
+	}
+
+	/**
+	 * Takes over the entry for the given URI from another state.
+	 */
+	public void copyFrom(BuildState other, URI uri) {
+		put(uri, other.contentHashes.get(uri), other.descriptions.get(uri));
+	}
+
+	public void remove(URI uri) {
+		contentHashes.remove(uri);
+		descriptions.remove(uri);
+	}
+
+	public void write(File file) throws IOException {
+		ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+		try {
+			out.writeInt(VERSION);
+			out.writeUTF(configurationHash);
+			out.writeInt(contentHashes.size());
+			for (Map.Entry<URI, String> entry : contentHashes.entrySet()) {
+				out.writeUTF(entry.getKey().toString());
+				out.writeUTF(entry.getValue());
+				out.writeObject(descriptions.get(entry.getKey()));
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * @return the state that was written to the given file or <code>null</code> if there is no such file, it was
+	 *         written with a different configuration or it cannot be read.
+	 */
+	public static BuildState read(File file, String configurationHash) {
+		if (!file.isFile()) {
+			return null;
+		}
+		try {
+			ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)));
+			try {
+				if (in.readInt() != VERSION) {
+					return null;
+				}
+				if (!configurationHash.equals(in.readUTF())) {
+					LOG.info("The build configuration has changed since the last build.");
+					return null;
+				}
+				BuildState result = new BuildState(configurationHash);
+				int size = in.readInt();
+				for (int i = 0; i < size; i++) {
+					URI uri = URI.createURI(in.readUTF());
+					String contentHash = in.readUTF();
+					SerializableResourceDescription description = (SerializableResourceDescription) in.readObject();
+					result.put(uri, contentHash, description);
+				}
+				return result;
+			} finally {
+				in.close();
+			}
+		} catch (IOException | ClassNotFoundException | ClassCastException e) {
+			LOG.warn("Could not read the state of the previous build from " + file.getAbsolutePath() + ".", e);
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder.standalone.incremental;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+
+/**
+ * Caches the result of scanning archives on the class path for model files. An archive is identified by its path, its
+ * size and its time stamp. Entries of archives that have been modified are dropped automatically.
+ *
+ * The cache is only valid for the file name filter it was created with.
+ *
+ * @since 2.15
+ */
+public class ClassPathCache {
+
+	private static final Logger LOG = Logger.getLogger(ClassPathCache.class);
+
+	private static final int VERSION = 1;
+
+	public static class Entry {
+
+		private final long size;
+
+		private final long lastModified;
+
+		private final String bundleSymbolicName;
+
+		private final List<URI> models;
+
+		public Entry(long size, long lastModified, String bundleSymbolicName, Collection<URI> models) {
+			this.size = size;
+			this.lastModified = lastModified;
+			this.bundleSymbolicName = bundleSymbolicName;
+			this.models = ImmutableList.copyOf(models);
+		}
+
+		/**
+		 * @return the symbolic name of the bundle or <code>null</code> if the archive is not a bundle.
+		 */
+		public String getBundleSymbolicName() {
+			return bundleSymbolicName;
+		}
+
+		public List<URI> getModels() {
+			return models;
+		}
+
+		protected boolean isUpToDate(File archive) {
+			return size == archive.length() && lastModified == archive.lastModified();
+		}
+	}
+
+	private final String filter;
+
+	private final Map<String, Entry> entries = Maps.newHashMap();
+
+	private final Map<String, Entry> usedEntries = Maps.newHashMap();
+
+	private int hits;
+
+	private int misses;
+
+	public ClassPathCache(String filter) {
+		this.filter = filter;
+	}
+
+	/**
+	 * @return the cached entry or <code>null</code> if the archive is unknown or has changed since it was cached.
+	 */
+	public Entry get(File archive) {
+		String key = archive.getAbsolutePath();
+		Entry result = entries.get(key);
+		if (result != null && result.isUpToDate(archive)) {
+			usedEntries.put(key, result);
+			hits++;
+			return result;
+		}
+		misses++;
+		return null;
+	}
+
+	public void put(File archive, String bundleSymbolicName, Collection<URI> models) {
+		Entry entry = new Entry(archive.length(), archive.lastModified(), bundleSymbolicName, models);
+		entries.put(archive.getAbsolutePath(), entry);
+		usedEntries.put(archive.getAbsolutePath(), entry);
+	}
+
+	public int getHits() {
+		return hits;
+	}
+
+	public int getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Writes the entries of the archives that have been requested or added since this cache was read.
+	 */
+	public void write(File file) throws IOException {
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+		try {
+			out.writeInt(VERSION);
+			out.writeUTF(filter);
+			out.writeInt(usedEntries.size());
+			for (Map.Entry<String, Entry> mapEntry : usedEntries.entrySet()) {
+				Entry entry = mapEntry.getValue();
+				out.writeUTF(mapEntry.getKey());
+				out.writeLong(entry.size);
+				out.writeLong(entry.lastModified);
+				out.writeBoolean(entry.bundleSymbolicName != null);
+				if (entry.bundleSymbolicName != null) {
+					out.writeUTF(entry.bundleSymbolicName);
+				}
+				out.writeInt(entry.models.size());
+				for (URI model : entry.models) {
+					out.writeUTF(model.toString());
+				}
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * @return the cache that was written to the given file or an empty cache if there is no such file, it was
+	 *         written for another filter or it cannot be read.
+	 */
+	public static ClassPathCache read(File file, String filter) {
+		ClassPathCache result = new ClassPathCache(filter);
+		if (!file.isFile()) {
+			return result;
+		}
+		try {
+			DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+			try {
+				if (in.readInt() != VERSION || !filter.equals(in.readUTF())) {
+					return result;
+				}
+				int size = in.readInt();
+				for (int i = 0; i < size; i++) {
+					String path = in.readUTF();
+					long archiveSize = in.readLong();
+					long lastModified = in.readLong();
+					String bundleSymbolicName = in.readBoolean() ? in.readUTF() : null;
+					int modelCount = in.readInt();
+					ImmutableList.Builder<URI> models = ImmutableList.builder();
+					for (int j = 0; j < modelCount; j++) {
+						models.add(URI.createURI(in.readUTF()));
+					}
+					result.entries.put(path, new Entry(archiveSize, lastModified, bundleSymbolicName, models.build()));
+				}
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			LOG.warn("Could not read the class path cache from " + file.getAbsolutePath() + ".", e);
+			result.entries.clear();
+		}
+		return result;
+	}
+
+}
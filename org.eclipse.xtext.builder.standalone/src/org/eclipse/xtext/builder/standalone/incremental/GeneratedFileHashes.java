@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder.standalone.incremental;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * The content hashes of the files that were written by a standalone build. A file whose content hash did not change
+ * does not have to be written again, as long as it was not modified since it was written.
+ *
+ * The trace file of a generated file is checked, too. Only the files that were produced by the current build are
+ * persisted.
+ *
+ * The hashes are only valid for the configuration they were recorded with, e.g. the encoding of the generated files.
+ *
+ * @since 2.15
+ */
+public class GeneratedFileHashes {
+
+	private static final Logger LOG = Logger.getLogger(GeneratedFileHashes.class);
+
+	private static final int VERSION = 2;
+
+	private final String configurationHash;
+
+	private final Map<String, String> contentHashes = Maps.newHashMap();
+
+	private final Map<String, Long> timeStamps = Maps.newHashMap();
+
+	private final Map<String, Long> traceTimeStamps = Maps.newHashMap();
+
+	private final Set<String> producedFiles = Sets.newHashSet();
+
+	private int writtenFiles;
+
+	private int skippedFiles;
+
+	public GeneratedFileHashes(String configurationHash) {
+		this.configurationHash = configurationHash;
+	}
+
+	/**
+	 * Returns <code>true</code> if the given file was written with the given content hash before and neither the file
+	 * nor its trace file have been modified since. Unchanged files are counted as skipped.
+	 *
+	 * @param traceFile
+	 *            the trace file that is written together with the given file or <code>null</code> if there is none.
+	 */
+	public boolean isUnchanged(File file, File traceFile, String contentHash) {
+		String path = file.getAbsolutePath();
+		if (contentHash.equals(contentHashes.get(path)) && isUnchanged(file, timeStamps.get(path))
+				&& isUnchanged(traceFile, traceTimeStamps.get(path))) {
+			producedFiles.add(path);
+			skippedFiles++;
+			return true;
+		}
+		return false;
+	}
+
+	private boolean isUnchanged(File file, Long timeStamp) {
+		if (timeStamp == null) {
+			return file == null || !file.exists();
+		}
+		return file != null && file.isFile() && file.lastModified() == timeStamp.longValue();
+	}
+
+	/**
+	 * Records that the given file was written with the given content hash.
+	 *
+	 * @param traceFile
+	 *            the trace file that is written together with the given file or <code>null</code> if there is none.
+	 */
+	public void written(File file, File traceFile, String contentHash) {
+		String path = file.getAbsolutePath();
+		contentHashes.put(path, contentHash);
+		timeStamps.put(path, file.lastModified());
+		if (traceFile != null && traceFile.isFile()) {
+			traceTimeStamps.put(path, traceFile.lastModified());
+		} else {
+			traceTimeStamps.remove(path);
+		}
+		producedFiles.add(path);
+		writtenFiles++;
+	}
+
+	public int getWrittenFiles() {
+		return writtenFiles;
+	}
+
+	public int getSkippedFiles() {
+		return skippedFiles;
+	}
+
+	/**
+	 * Resets the statistics and the files that were produced by the current build. Has to be called when a build
+	 * starts.
+	 */
+	public void resetStatistics() {
+		writtenFiles = 0;
+		skippedFiles = 0;
+		producedFiles.clear();
+	}
+
+	/**
+	 * Writes the hashes of the files that were written or skipped since the statistics were reset. The hashes of all
+	 * other files are dropped, since they were not produced by the current build.
+	 */
+	public void write(File file) throws IOException {
+		contentHashes.keySet().retainAll(producedFiles);
+		timeStamps.keySet().retainAll(producedFiles);
+		traceTimeStamps.keySet().retainAll(producedFiles);
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+		try {
+			out.writeInt(VERSION);
+			out.writeUTF(configurationHash);
+			out.writeInt(contentHashes.size());
+			for (Map.Entry<String, String> entry : contentHashes.entrySet()) {
+				out.writeUTF(entry.getKey());
+				out.writeUTF(entry.getValue());
+				out.writeLong(timeStamps.get(entry.getKey()));
+				Long traceTimeStamp = traceTimeStamps.get(entry.getKey());
+				out.writeBoolean(traceTimeStamp != null);
+				if (traceTimeStamp != null) {
+					out.writeLong(traceTimeStamp);
+				}
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * @return the hashes that were written to the given file or empty hashes if there is no such file, it was
+	 *         written with a different configuration or it cannot be read.
+	 */
+	public static GeneratedFileHashes read(File file, String configurationHash) {
+		GeneratedFileHashes result = new GeneratedFileHashes(configurationHash);
+		if (!file.isFile()) {
+			return result;
+		}
+		try {
+			DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+			try {
+				if (in.readInt() != VERSION || !configurationHash.equals(in.readUTF())) {
+					return result;
+				}
+				int size = in.readInt();
+				for (int i = 0; i < size; i++) {
+					String path = in.readUTF();
+					result.contentHashes.put(path, in.readUTF());
+					result.timeStamps.put(path, in.readLong());
+					if (in.readBoolean()) {
+						result.traceTimeStamps.put(path, in.readLong());
+					}
+				}
+				return result;
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			LOG.warn("Could not read the hashes of the generated files from " + file.getAbsolutePath() + ".", e);
+			return new GeneratedFileHashes(configurationHash);
+		}
+	}
+
+}
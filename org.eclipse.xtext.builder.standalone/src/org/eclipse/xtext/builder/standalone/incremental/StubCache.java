@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder.standalone.incremental;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+
+/**
+ * Records the Java signatures of the source resources whose stubs have been compiled. A resource is represented by a
+ * hash of the signature hashes of the types it exports and by the names of its top level types, which are needed to
+ * delete the stale class files of changed or deleted resources.
+ *
+ * The cache is only valid for the configuration it was created with, e.g. the class path and the Java sources.
+ *
+ * @since 2.15
+ */
+public class StubCache {
+
+	private static final Logger LOG = Logger.getLogger(StubCache.class);
+
+	private static final int VERSION = 1;
+
+	private final String configurationHash;
+
+	private final Map<URI, String> signatureHashes = Maps.newHashMap();
+
+	private final Map<URI, List<String>> typeNames = Maps.newHashMap();
+
+	public StubCache(String configurationHash) {
+		this.configurationHash = configurationHash;
+	}
+
+	public String getConfigurationHash() {
+		return configurationHash;
+	}
+
+	public Set<URI> getURIs() {
+		return signatureHashes.keySet();
+	}
+
+	public String getSignatureHash(URI uri) {
+		return signatureHashes.get(uri);
+	}
+
+	/**
+	 * @return the qualified names of the top level types of the given resource.
+	 */
+	public List<String> getTypeNames(URI uri) {
+		List<String> result = typeNames.get(uri);
+		if (result == null) {
+			return Collections.emptyList();
+		}
+		return result;
+	}
+
+	public void put(URI uri, String signatureHash, Collection<String> topLevelTypeNames) {
+		signatureHashes.put(uri, signatureHash);
+		typeNames.put(uri, ImmutableList.copyOf(topLevelTypeNames));
+	}
+
+	public void write(File file) throws IOException {
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+		try {
+			out.writeInt(VERSION);
+			out.writeUTF(configurationHash);
+			out.writeInt(signatureHashes.size());
+			for (Map.Entry<URI, String> entry : signatureHashes.entrySet()) {
+				out.writeUTF(entry.getKey().toString());
+				out.writeUTF(entry.getValue());
+				List<String> names = getTypeNames(entry.getKey());
+				out.writeInt(names.size());
+				for (String name : names) {
+					out.writeUTF(name);
+				}
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * @return the cache that was written to the given file or <code>null</code> if there is no such file, it was
+	 *         written with a different configuration or it cannot be read.
+	 */
+	public static StubCache read(File file, String configurationHash) {
+		if (!file.isFile()) {
+			return null;
+		}
+		try {
+			DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+			try {
+				if (in.readInt() != VERSION || !configurationHash.equals(in.readUTF())) {
+					return null;
+				}
+				StubCache result = new StubCache(configurationHash);
+				int size = in.readInt();
+				for (int i = 0; i < size; i++) {
+					URI uri = URI.createURI(in.readUTF());
+					String signatureHash = in.readUTF();
+					int nameCount = in.readInt();
+					ImmutableList.Builder<String> names = ImmutableList.builder();
+					for (int j = 0; j < nameCount; j++) {
+						names.add(in.readUTF());
+					}
+					result.put(uri, signatureHash, names.build());
+				}
+				return result;
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			LOG.warn("Could not read the stub cache from " + file.getAbsolutePath() + ".", e);
+			return null;
+		}
+	}
+
+}
@@ -1,24 +1,38 @@
 package org.eclipse.xtext.builder.standalone;
 
+import com.google.common.base.Charsets;
 import com.google.common.base.Objects;
 import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Multimap;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
 import com.google.common.io.Files;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import java.io.File;
+import java.io.FileFilter;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
 import java.util.regex.Pattern;
@@ -32,11 +46,19 @@ import org.eclipse.xtend.lib.annotations.Accessors;
 import org.eclipse.xtend2.lib.StringConcatenation;
 import org.eclipse.xtext.EcoreUtil2;
 import org.eclipse.xtext.builder.standalone.ClusteringConfig;
+import org.eclipse.xtext.builder.standalone.CopiedResourceDescription;
 import org.eclipse.xtext.builder.standalone.IIssueHandler;
 import org.eclipse.xtext.builder.standalone.LanguageAccess;
+import org.eclipse.xtext.builder.standalone.compiler.CompilerConfiguration;
 import org.eclipse.xtext.builder.standalone.compiler.IJavaCompiler;
+import org.eclipse.xtext.builder.standalone.incremental.BuildState;
+import org.eclipse.xtext.builder.standalone.incremental.ClassPathCache;
+import org.eclipse.xtext.builder.standalone.incremental.GeneratedFileHashes;
+import org.eclipse.xtext.builder.standalone.incremental.StubCache;
+import org.eclipse.xtext.common.types.TypesPackage;
 import org.eclipse.xtext.common.types.access.impl.ClasspathTypeProvider;
 import org.eclipse.xtext.common.types.access.impl.IndexedJvmTypeAccess;
+import org.eclipse.xtext.common.types.descriptions.JvmTypesResourceDescriptionStrategy;
 import org.eclipse.xtext.generator.AbstractFileSystemAccess;
 import org.eclipse.xtext.generator.GeneratorContext;
 import org.eclipse.xtext.generator.IFileSystemAccess;
@@ -45,11 +67,15 @@ import org.eclipse.xtext.generator.OutputConfiguration;
 import org.eclipse.xtext.mwe.NameBasedFilter;
 import org.eclipse.xtext.mwe.PathTraverser;
 import org.eclipse.xtext.parser.IEncodingProvider;
+import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceDescriptions;
 import org.eclipse.xtext.resource.XtextResourceSet;
 import org.eclipse.xtext.resource.clustering.DisabledClusteringPolicy;
 import org.eclipse.xtext.resource.clustering.DynamicResourceClusteringPolicy;
 import org.eclipse.xtext.resource.clustering.IResourceClusteringPolicy;
+import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionDelta;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionChangeEvent;
 import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
 import org.eclipse.xtext.resource.persistence.IResourceStorageFacade;
 import org.eclipse.xtext.resource.persistence.StorageAwareResource;
@@ -61,16 +87,38 @@ import org.eclipse.xtext.validation.Issue;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Conversions;
 import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.eclipse.xtext.xbase.lib.Functions.Function0;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
+import org.eclipse.xtext.xbase.lib.Functions.Function2;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.lib.ListExtensions;
 import org.eclipse.xtext.xbase.lib.ObjectExtensions;
+import org.eclipse.xtext.xbase.lib.Pair;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 import org.eclipse.xtext.xbase.lib.Pure;
 
 @SuppressWarnings("all")
 public class StandaloneBuilder {
+  /**
+   * The load option that marks the resource sets of the builder as being used by a batch compiler. Languages may
+   * use it to skip work that is only needed in an editor, e.g. Xbase does not track feature scopes. The
+   * {@link IResourceDescription.Event.Listener listeners} that are attached to these resource sets are notified
+   * about all changes of the index, so Java resources share a name environment cache.
+   * 
+   * @since 2.15
+   */
+  public final static String BATCH_COMPILATION = "org.eclipse.xtext.BATCH_COMPILATION";
+  
   private final static Logger LOG = Logger.getLogger(StandaloneBuilder.class);
   
+  private final static String BUILD_STATE_FILE = "build-state.bin";
+  
+  private final static String CLASS_PATH_CACHE_FILE = "class-path-cache.bin";
+  
+  private final static String STUB_CACHE_FILE = "stub-cache.bin";
+  
+  private final static String GENERATED_FILE_HASHES_FILE = "generated-file-hashes.bin";
+  
   /**
    * Map key is a file extension provided by Language FileExtensionProvider
    */
@@ -116,6 +164,84 @@ public class StandaloneBuilder {
   @Accessors
   private ClusteringConfig clusteringConfig = null;
   
+  /**
+   * The number of threads that are used to fill the index and to validate the source resources.<br>
+   * A value greater than <code>1</code> enables the parallel mode. Each worker thread uses its own resource set,
+   * the generator is still executed in the order of the source resources unless {@link #parallelGeneration} is
+   * enabled.<br>
+   * The parallel mode is not available if clustering is configured.
+   * <br>Default is <code>1</code>
+   * 
+   * @since 2.15
+   */
+  @Accessors
+  private int numberOfThreads = 1;
+  
+  /**
+   * If parallelGeneration is set to <code>true</code> and the parallel mode is enabled, the generator is executed
+   * in the worker threads, too. The generated files are kept in memory and written in the order of the source
+   * resources afterwards, so the output does not depend on the scheduling of the worker threads.<br>
+   * The generators of the languages must not share any mutable state between invocations. A generator sees the
+   * files it generated or deleted itself, but not the files that are generated for other source resources in the
+   * same build. All other files are read from the output folders as they were before the build.
+   * <br>Default is <code>false</code>
+   * 
+   * @since 2.15
+   */
+  @Accessors
+  private boolean parallelGeneration;
+  
+  /**
+   * If incremental is set to <code>true</code>, the content hashes and the index of the processed resources are
+   * persisted in the {@link #tempDir}. Subsequent builds only validate and generate the resources that have
+   * changed or that are affected by a change.<br>
+   * Any change of the class path or of the Java sources leads to a full build.<br>
+   * Note that the {@link #tempDir} has to be the same for subsequent builds.
+   * <br>Default is <code>false</code>
+   * 
+   * @since 2.15
+   */
+  @Accessors
+  private boolean incremental;
+  
+  /**
+   * If cacheClassPath is set to <code>true</code>, the model files and the bundle names found in the archives on
+   * the class path are cached in the {@link #tempDir}. Archives whose size and time stamp did not change since
+   * the last build are not scanned again.<br>
+   * Note that the {@link #tempDir} has to be the same for subsequent builds.
+   * <br>Default is <code>false</code>
+   * 
+   * @since 2.15
+   */
+  @Accessors
+  private boolean cacheClassPath;
+  
+  /**
+   * If cacheStubs is set to <code>true</code>, the compiled Java stubs are kept in the {@link #tempDir} together
+   * with the signature hashes of the types they were generated for. Subsequent builds only generate and compile the
+   * stubs of the resources whose Java signatures changed.<br>
+   * Any change of the class path or of the Java sources leads to a recompilation of all stubs.<br>
+   * Note that the {@link #tempDir} has to be the same for subsequent builds.
+   * <br>Default is <code>false</code>
+   * 
+   * @since 2.15
+   */
+  @Accessors
+  private boolean cacheStubs;
+  
+  /**
+   * If writeIfChanged is set to <code>true</code>, the content hashes of the generated files and their trace
+   * files are kept in the {@link #tempDir}. A generated file is not written again if its content did not change
+   * and it was not modified since the last build, so its time stamp is preserved for downstream tools.<br>
+   * The file system access of the languages is replaced by a {@link WriteIfChangedFileSystemAccess}.<br>
+   * Note that the {@link #tempDir} has to be the same for subsequent builds.
+   * <br>Default is <code>false</code>
+   * 
+   * @since 2.15
+   */
+  @Accessors
+  private boolean writeIfChanged;
+  
   @Inject
   private IndexedJvmTypeAccess jvmTypeAccess;
   
@@ -134,6 +260,16 @@ public class StandaloneBuilder {
   @Inject
   private IJavaCompiler compiler;
   
+  private BuildState previousBuildState;
+  
+  private BuildState buildState;
+  
+  private Map<URI, String> contentHashes;
+  
+  private ClassPathCache classPathCache;
+  
+  private GeneratedFileHashes generatedFileHashes;
+  
   public void setTempDir(final String pathAsString) {
     if ((pathAsString != null)) {
       File _file = new File(pathAsString);
@@ -149,6 +285,9 @@ public class StandaloneBuilder {
       return Boolean.valueOf(it.isLinksAgainstJava());
     };
     final boolean needsJava = IterableExtensions.<LanguageAccess>exists(this.languages.values(), _function);
+    if (this.generatedFileHashes!=null) {
+      this.generatedFileHashes.resetStatistics();
+    }
     if ((this.baseDir == null)) {
       this.baseDir = System.getProperty("user.dir");
       StandaloneBuilder.LOG.warn((("Property baseDir not set. Using \'" + this.baseDir) + "\'"));
@@ -156,7 +295,7 @@ public class StandaloneBuilder {
     if (needsJava) {
       StandaloneBuilder.LOG.info("Using common types.");
     }
-    final XtextResourceSet resourceSet = this.resourceSetProvider.get();
+    final XtextResourceSet resourceSet = this.createResourceSet();
     if ((this.encoding != null)) {
       this.forceDebugLog("Setting encoding.");
       this.fileEncodingSetup(this.languages.values(), this.encoding);
@@ -181,8 +320,8 @@ public class StandaloneBuilder {
       StandaloneBuilder.LOG.info(_plus_3);
     }
     final List<URI> sourceResourceURIs = this.collectResources(this.sourceDirs, resourceSet);
-    List<URI> _collectResources = this.collectResources(rootsToTravers, resourceSet);
-    final Iterable<URI> allResourcesURIs = Iterables.<URI>concat(sourceResourceURIs, _collectResources);
+    List<URI> _collectClassPathResources = this.collectClassPathResources(rootsToTravers, resourceSet);
+    final Iterable<URI> allResourcesURIs = Iterables.<URI>concat(sourceResourceURIs, _collectClassPathResources);
     long _currentTimeMillis = System.currentTimeMillis();
     long _minus = (_currentTimeMillis - startedAt);
     String _plus_4 = ("Finished collecting source models. Took: " + Long.valueOf(_minus));
@@ -214,80 +353,645 @@ public class StandaloneBuilder {
       _xifexpression = new DisabledClusteringPolicy();
     }
     final IResourceClusteringPolicy strategy = _xifexpression;
+    final boolean parallel = this.isParallel();
     ArrayList<IResourceDescription> _newArrayList = CollectionLiterals.<IResourceDescription>newArrayList();
     ResourceDescriptionsData index = new ResourceDescriptionsData(_newArrayList);
-    Iterator<URI> allResourceIterator = allResourcesURIs.iterator();
-    while (allResourceIterator.hasNext()) {
-      {
-        List<Resource> resources = CollectionLiterals.<Resource>newArrayList();
-        int clusterIndex = 0;
-        boolean continue_ = true;
-        while ((allResourceIterator.hasNext() && continue_)) {
-          {
-            final URI uri = allResourceIterator.next();
-            final Resource resource = resourceSet.getResource(uri, true);
-            resources.add(resource);
-            this.fillIndex(uri, resource, index);
-            clusterIndex++;
-            boolean _continueProcessing = strategy.continueProcessing(resourceSet, null, clusterIndex);
-            boolean _not = (!_continueProcessing);
-            if (_not) {
-              continue_ = false;
+    Iterable<URI> urisToIndex = allResourcesURIs;
+    if (this.incremental) {
+      urisToIndex = this.prepareBuildState(allResourcesURIs, resourceSet, index);
+    }
+    if (parallel) {
+      StandaloneBuilder.LOG.info((("Filling index using " + Integer.valueOf(this.numberOfThreads)) + " threads."));
+      List<URI> _list = IterableExtensions.<URI>toList(urisToIndex);
+      Iterable<String> _xifexpression_1 = null;
+      if (needsJava) {
+        _xifexpression_1 = allClassPathEntries;
+      }
+      this.fillIndexInParallel(_list, index, _xifexpression_1);
+    } else {
+      Iterator<URI> allResourceIterator = urisToIndex.iterator();
+      while (allResourceIterator.hasNext()) {
+        {
+          List<Resource> resources = CollectionLiterals.<Resource>newArrayList();
+          int clusterIndex = 0;
+          boolean continue_ = true;
+          while ((allResourceIterator.hasNext() && continue_)) {
+            {
+              final URI uri = allResourceIterator.next();
+              final Resource resource = resourceSet.getResource(uri, true);
+              resources.add(resource);
+              this.fillIndex(uri, resource, index);
+              clusterIndex++;
+              boolean _continueProcessing = strategy.continueProcessing(resourceSet, null, clusterIndex);
+              boolean _not = (!_continueProcessing);
+              if (_not) {
+                continue_ = false;
+              }
             }
           }
-        }
-        if ((!continue_)) {
-          this.clearResourceSet(resourceSet);
+          if ((!continue_)) {
+            this.clearResourceSet(resourceSet);
+          }
         }
       }
     }
     this.installIndex(resourceSet, index);
+    List<URI> urisToBuild = sourceResourceURIs;
+    if (this.incremental) {
+      urisToBuild = this.collectURIsToBuild(sourceResourceURIs, urisToIndex, resourceSet, index);
+    }
+    Iterable<String> typeProviderRoots = null;
     if (needsJava) {
-      final String stubsClasses = this.compileStubs(this.generateStubs(index, sourceResourceURIs));
+      String _xifexpression_2 = null;
+      if (this.cacheStubs) {
+        _xifexpression_2 = this.compileStubsIncrementally(index, sourceResourceURIs);
+      } else {
+        _xifexpression_2 = this.compileStubs(this.generateStubs(index, sourceResourceURIs));
+      }
+      final String stubsClasses = _xifexpression_2;
       StandaloneBuilder.LOG.info("Installing type provider for stubs.");
       ArrayList<String> _newArrayList_1 = CollectionLiterals.<String>newArrayList(stubsClasses);
       Iterable<String> _plus_6 = Iterables.<String>concat(allClassPathEntries, _newArrayList_1);
-      this.installTypeProvider(_plus_6, resourceSet, this.jvmTypeAccess);
+      typeProviderRoots = _plus_6;
+      this.installTypeProvider(typeProviderRoots, resourceSet, this.jvmTypeAccess);
     }
     StandaloneBuilder.LOG.info("Validate and generate.");
-    final Iterator<URI> sourceResourceIterator = sourceResourceURIs.iterator();
+    try {
+      if (parallel) {
+        return this.validateAndGenerateInParallel(urisToBuild, index, typeProviderRoots);
+      }
+      final Iterator<URI> sourceResourceIterator = urisToBuild.iterator();
+      boolean hasValidationErrors = false;
+      while (sourceResourceIterator.hasNext()) {
+        {
+          List<Resource> resources = CollectionLiterals.<Resource>newArrayList();
+          List<Resource> validResources = CollectionLiterals.<Resource>newArrayList();
+          int clusterIndex = 0;
+          boolean continue_ = true;
+          while ((sourceResourceIterator.hasNext() && continue_)) {
+            {
+              final URI uri = sourceResourceIterator.next();
+              final Resource resource = resourceSet.getResource(uri, true);
+              resources.add(resource);
+              resource.getContents();
+              EcoreUtil2.resolveLazyCrossReferences(resource, CancelIndicator.NullImpl);
+              boolean _validate = this.validate(resource);
+              if (_validate) {
+                validResources.add(resource);
+              } else {
+                hasValidationErrors = true;
+              }
+              clusterIndex++;
+              boolean _continueProcessing = strategy.continueProcessing(resourceSet, null, clusterIndex);
+              boolean _not = (!_continueProcessing);
+              if (_not) {
+                continue_ = false;
+              }
+            }
+          }
+          if ((this.failOnValidationError && hasValidationErrors)) {
+            return (!hasValidationErrors);
+          }
+          this.generate(resources);
+          final Consumer<Resource> _function_3 = (Resource it) -> {
+            this.updateBuildState(it);
+          };
+          validResources.forEach(_function_3);
+          if ((!continue_)) {
+            this.clearResourceSet(resourceSet);
+          }
+        }
+      }
+      return (!hasValidationErrors);
+    } finally {
+      this.writeBuildState();
+      this.writeGeneratedFileHashes();
+    }
+  }
+  
+  public void fillIndex(final URI uri, final Resource resource, final ResourceDescriptionsData index) {
+    final IResourceDescription description = this.languageAccess(uri).getResourceDescriptionManager().getResourceDescription(resource);
+    index.addDescription(uri, description);
+  }
+  
+  /**
+   * @since 2.15
+   */
+  protected boolean isParallel() {
+    if ((this.numberOfThreads <= 1)) {
+      return false;
+    }
+    if ((this.clusteringConfig != null)) {
+      StandaloneBuilder.LOG.warn("Clustering is configured. Parallel mode is disabled.");
+      return false;
+    }
+    return true;
+  }
+  
+  /**
+   * Computes the resource descriptions in worker local resource sets. The descriptions are copied, so
+   * the worker resource sets can be discarded afterwards. They are added to the index in the order of
+   * the given URIs.
+   * 
+   * @since 2.15
+   */
+  protected void fillIndexInParallel(final List<URI> uris, final ResourceDescriptionsData index, final Iterable<String> classPathRoots) {
+    final Function0<XtextResourceSet> _function = () -> {
+      return this.createWorkerResourceSet(classPathRoots, null, null);
+    };
+    final Function2<XtextResourceSet, URI, CopiedResourceDescription> _function_1 = (XtextResourceSet resourceSet, URI uri) -> {
+      CopiedResourceDescription _xblockexpression = null;
+      {
+        final Resource resource = resourceSet.getResource(uri, true);
+        final IResourceDescription description = this.languageAccess(uri).getResourceDescriptionManager().getResourceDescription(resource);
+        _xblockexpression = new CopiedResourceDescription(description);
+      }
+      return _xblockexpression;
+    };
+    final List<CopiedResourceDescription> descriptions = this.<CopiedResourceDescription>processInParallel(uris, _function, _function_1);
+    for (final CopiedResourceDescription description : descriptions) {
+      index.addDescription(description.getURI(), description);
+    }
+  }
+  
+  /**
+   * Validates the source resources in worker local resource sets. The issues are handled and the
+   * resources are generated afterwards in the order of the given URIs, so the result does not depend on
+   * the scheduling of the worker threads. If {@link #parallelGeneration} is enabled, the workers generate
+   * into memory and only the files are written in the order of the given URIs.
+   * 
+   * @since 2.15
+   */
+  protected boolean validateAndGenerateInParallel(final List<URI> sourceResourceURIs, final ResourceDescriptionsData index, final Iterable<String> classPathRoots) {
+    final boolean generateInWorkers = this.parallelGeneration;
+    if (generateInWorkers) {
+      final Consumer<LanguageAccess> _function = (LanguageAccess it) -> {
+        this.getFileSystemAccess(it);
+      };
+      this.languages.values().forEach(_function);
+    }
+    final Map<URI, RecordingFileSystemAccess> generatedFiles = new ConcurrentHashMap<URI, RecordingFileSystemAccess>();
+    final Function0<XtextResourceSet> _function_1 = () -> {
+      return this.createWorkerResourceSet(classPathRoots, this.jvmTypeAccess, index);
+    };
+    final Function2<XtextResourceSet, URI, Pair<Resource, List<Issue>>> _function_2 = (XtextResourceSet resourceSet, URI uri) -> {
+      Pair<Resource, List<Issue>> _xblockexpression = null;
+      {
+        final Resource resource = resourceSet.getResource(uri, true);
+        resource.getContents();
+        EcoreUtil2.resolveLazyCrossReferences(resource, CancelIndicator.NullImpl);
+        final List<Issue> issues = this.collectIssues(resource);
+        if (generateInWorkers) {
+          generatedFiles.put(uri, this.generateInMemory(resource));
+        }
+        _xblockexpression = Pair.<Resource, List<Issue>>of(resource, issues);
+      }
+      return _xblockexpression;
+    };
+    final List<Pair<Resource, List<Issue>>> validated = this.<Pair<Resource, List<Issue>>>processInParallel(sourceResourceURIs, _function_1, _function_2);
     boolean hasValidationErrors = false;
-    while (sourceResourceIterator.hasNext()) {
+    final List<Resource> validResources = CollectionLiterals.<Resource>newArrayList();
+    for (final Pair<Resource, List<Issue>> it : validated) {
+      boolean _handleIssue = this.issueHandler.handleIssue(it.getValue());
+      if (_handleIssue) {
+        validResources.add(it.getKey());
+      } else {
+        hasValidationErrors = true;
+      }
+    }
+    if ((this.failOnValidationError && hasValidationErrors)) {
+      return (!hasValidationErrors);
+    }
+    if (generateInWorkers) {
+      final Function1<Pair<Resource, List<Issue>>, Resource> _function_3 = (Pair<Resource, List<Issue>> it) -> {
+        return it.getKey();
+      };
+      this.writeGenerated(IterableExtensions.<Resource>toList(ListExtensions.<Pair<Resource, List<Issue>>, Resource>map(validated, _function_3)), generatedFiles);
+    } else {
+      final Function1<Pair<Resource, List<Issue>>, Resource> _function_4 = (Pair<Resource, List<Issue>> it) -> {
+        return it.getKey();
+      };
+      this.generate(IterableExtensions.<Resource>toList(ListExtensions.<Pair<Resource, List<Issue>>, Resource>map(validated, _function_4)));
+    }
+    final Consumer<Resource> _function_5 = (Resource it) -> {
+      this.updateBuildState(it);
+    };
+    validResources.forEach(_function_5);
+    return (!hasValidationErrors);
+  }
+  
+  /**
+   * Applies the given function to each of the URIs using {@link #numberOfThreads} worker threads. Each worker
+   * thread works on its own resource set. The results are returned in the order of the given URIs.
+   * 
+   * @since 2.15
+   */
+  protected <T extends Object> List<T> processInParallel(final List<URI> uris, final Function0<? extends XtextResourceSet> resourceSetFactory, final Function2<? super XtextResourceSet, ? super URI, ? extends T> function) {
+    final ExecutorService executor = Executors.newFixedThreadPool(this.numberOfThreads);
+    try {
+      final Supplier<XtextResourceSet> _function = () -> {
+        return resourceSetFactory.apply();
+      };
+      final ThreadLocal<XtextResourceSet> workerResourceSets = ThreadLocal.<XtextResourceSet>withInitial(_function);
+      final Function1<URI, Future<T>> _function_1 = (URI uri) -> {
+        Future<T> _xblockexpression = null;
+        {
+          final Callable<T> _function_2 = () -> {
+            return function.apply(workerResourceSets.get(), uri);
+          };
+          final Callable<T> task = _function_2;
+          _xblockexpression = executor.<T>submit(task);
+        }
+        return _xblockexpression;
+      };
+      final List<Future<T>> futures = IterableExtensions.<Future<T>>toList(ListExtensions.<URI, Future<T>>map(uris, _function_1));
+      final Function1<Future<T>, T> _function_2 = (Future<T> future) -> {
+        try {
+          T _xtrycatchfinallyexpression = null;
+          try {
+            _xtrycatchfinallyexpression = future.get();
+          } catch (final Throwable _t) {
+            if (_t instanceof ExecutionException) {
+              final ExecutionException e = (ExecutionException)_t;
+              throw e.getCause();
+            } else {
+              throw Exceptions.sneakyThrow(_t);
+            }
+          }
+          return _xtrycatchfinallyexpression;
+        } catch (Throwable _e) {
+          throw Exceptions.sneakyThrow(_e);
+        }
+      };
+      return IterableExtensions.<T>toList(ListExtensions.<Future<T>, T>map(futures, _function_2));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+  
+  /**
+   * Creates a resource set that is marked with the load option {@link #BATCH_COMPILATION}. Xbase languages do
+   * not track the feature scopes of its resources, since they are only needed by content assist.
+   * 
+   * @since 2.15
+   */
+  protected XtextResourceSet createResourceSet() {
+    final XtextResourceSet result = this.resourceSetProvider.get();
+    result.getLoadOptions().put(StandaloneBuilder.BATCH_COMPILATION, Boolean.TRUE);
+    return result;
+  }
+  
+  /**
+   * @since 2.15
+   */
+  protected XtextResourceSet createWorkerResourceSet(final Iterable<String> classPathRoots, final IndexedJvmTypeAccess typeAccess, final ResourceDescriptionsData index) {
+    final XtextResourceSet workerResourceSet = this.createResourceSet();
+    if ((classPathRoots != null)) {
+      this.installTypeProvider(classPathRoots, workerResourceSet, typeAccess);
+    }
+    if ((index != null)) {
+      this.installIndex(workerResourceSet, index);
+    }
+    return workerResourceSet;
+  }
+  
+  /**
+   * Reads the state of the previous build and computes the content hashes of the given resources. The
+   * descriptions of the unchanged resources are taken from the previous state and added to the index.
+   * 
+   * @return the URIs of the resources that have to be indexed
+   * 
+   * @since 2.15
+   */
+  protected Iterable<URI> prepareBuildState(final Iterable<URI> allResourcesURIs, final ResourceSet resourceSet, final ResourceDescriptionsData index) {
+    final String configurationHash = this.computeConfigurationHash();
+    File _file = new File(this.tempDir, StandaloneBuilder.BUILD_STATE_FILE);
+    this.previousBuildState = BuildState.read(_file, configurationHash);
+    BuildState _buildState = new BuildState(configurationHash);
+    this.buildState = _buildState;
+    this.contentHashes = CollectionLiterals.<URI, String>newHashMap();
+    final List<URI> changedURIs = CollectionLiterals.<URI>newArrayList();
+    for (final URI uri : allResourcesURIs) {
       {
-        List<Resource> resources = CollectionLiterals.<Resource>newArrayList();
-        int clusterIndex = 0;
-        boolean continue_ = true;
-        while ((sourceResourceIterator.hasNext() && continue_)) {
-          {
-            final URI uri = sourceResourceIterator.next();
-            final Resource resource = resourceSet.getResource(uri, true);
-            resources.add(resource);
-            resource.getContents();
-            EcoreUtil2.resolveLazyCrossReferences(resource, CancelIndicator.NullImpl);
-            hasValidationErrors = ((!this.validate(resource)) || hasValidationErrors);
-            clusterIndex++;
-            boolean _continueProcessing = strategy.continueProcessing(resourceSet, null, clusterIndex);
-            boolean _not = (!_continueProcessing);
-            if (_not) {
-              continue_ = false;
+        final String contentHash = this.computeContentHash(uri, resourceSet);
+        this.contentHashes.put(uri, contentHash);
+        if (((this.previousBuildState != null) && Objects.equal(contentHash, this.previousBuildState.getContentHash(uri)))) {
+          this.buildState.copyFrom(this.previousBuildState, uri);
+          index.addDescription(uri, this.previousBuildState.getResourceDescription(uri));
+        } else {
+          changedURIs.add(uri);
+        }
+      }
+    }
+    if ((this.previousBuildState == null)) {
+      StandaloneBuilder.LOG.info("No state of a previous build found. Performing a full build.");
+    } else {
+      int _size = changedURIs.size();
+      String _plus = (Integer.valueOf(_size) + " of ");
+      int _size_1 = this.contentHashes.size();
+      String _plus_1 = (_plus + Integer.valueOf(_size_1));
+      String _plus_2 = (_plus_1 + " resources changed since the last build.");
+      StandaloneBuilder.LOG.info(_plus_2);
+    }
+    return changedURIs;
+  }
+  
+  /**
+   * Collects the source resources that have to be validated and generated. These are the changed resources
+   * and the resources that are affected by the changed or deleted ones. The affected resources are indexed
+   * again, and the resources that are affected by their deltas are collected, too.
+   * 
+   * @since 2.15
+   */
+  protected List<URI> collectURIsToBuild(final List<URI> sourceResourceURIs, final Iterable<URI> changedURIs, final ResourceSet resourceSet, final ResourceDescriptionsData index) {
+    if ((this.previousBuildState == null)) {
+      return sourceResourceURIs;
+    }
+    final Set<URI> sourceURIs = IterableExtensions.<URI>toSet(sourceResourceURIs);
+    final Set<URI> toBuild = CollectionLiterals.<URI>newHashSet();
+    List<IResourceDescription.Delta> deltas = CollectionLiterals.<IResourceDescription.Delta>newArrayList();
+    for (final URI uri : changedURIs) {
+      {
+        final IResourceDescription newDescription = index.getResourceDescription(uri);
+        IResourceDescription _resourceDescription = this.previousBuildState.getResourceDescription(uri);
+        DefaultResourceDescriptionDelta _defaultResourceDescriptionDelta = new DefaultResourceDescriptionDelta(_resourceDescription, newDescription);
+        deltas.add(_defaultResourceDescriptionDelta);
+        boolean _contains = sourceURIs.contains(uri);
+        if (_contains) {
+          toBuild.add(uri);
+        } else {
+          String _get = this.contentHashes.get(uri);
+          CopiedResourceDescription _copiedResourceDescription = new CopiedResourceDescription(newDescription);
+          this.buildState.put(uri, _get, _copiedResourceDescription);
+        }
+      }
+    }
+    Set<URI> _uRIs = this.previousBuildState.getURIs();
+    for (final URI uri_1 : _uRIs) {
+      boolean _containsKey = this.contentHashes.containsKey(uri_1);
+      boolean _not = (!_containsKey);
+      if (_not) {
+        IResourceDescription _resourceDescription = this.previousBuildState.getResourceDescription(uri_1);
+        DefaultResourceDescriptionDelta _defaultResourceDescriptionDelta = new DefaultResourceDescriptionDelta(_resourceDescription, null);
+        deltas.add(_defaultResourceDescriptionDelta);
+      }
+    }
+    final List<IResourceDescription.Delta> allDeltas = CollectionLiterals.<IResourceDescription.Delta>newArrayList();
+    while ((!deltas.isEmpty())) {
+      {
+        Iterables.<IResourceDescription.Delta>addAll(allDeltas, deltas);
+        final Function1<IResourceDescription.Delta, Boolean> _function = (IResourceDescription.Delta it) -> {
+          return Boolean.valueOf(it.haveEObjectDescriptionsChanged());
+        };
+        final List<IResourceDescription.Delta> changedDeltas = IterableExtensions.<IResourceDescription.Delta>toList(IterableExtensions.<IResourceDescription.Delta>filter(deltas, _function));
+        deltas = CollectionLiterals.<IResourceDescription.Delta>newArrayList();
+        boolean _isEmpty = changedDeltas.isEmpty();
+        boolean _not = (!_isEmpty);
+        if (_not) {
+          for (final URI uri_2 : sourceResourceURIs) {
+            if (((!toBuild.contains(uri_2)) && this.isAffected(changedDeltas, uri_2, index))) {
+              toBuild.add(uri_2);
+              this.buildState.remove(uri_2);
+              final Resource resource = resourceSet.getResource(uri_2, true);
+              final IResourceDescription description = this.languageAccess(uri_2).getResourceDescriptionManager().getResourceDescription(resource);
+              CopiedResourceDescription _copiedResourceDescription = new CopiedResourceDescription(description);
+              index.addDescription(uri_2, _copiedResourceDescription);
+              IResourceDescription _resourceDescription = this.previousBuildState.getResourceDescription(uri_2);
+              IResourceDescription _resourceDescription_1 = index.getResourceDescription(uri_2);
+              DefaultResourceDescriptionDelta _defaultResourceDescriptionDelta = new DefaultResourceDescriptionDelta(_resourceDescription, _resourceDescription_1);
+              deltas.add(_defaultResourceDescriptionDelta);
             }
           }
         }
-        if ((this.failOnValidationError && hasValidationErrors)) {
-          return (!hasValidationErrors);
+      }
+    }
+    this.notifyIndexListeners(resourceSet, allDeltas);
+    int _size = toBuild.size();
+    String _plus = (Integer.valueOf(_size) + " of ");
+    int _size_1 = sourceURIs.size();
+    String _plus_1 = (_plus + Integer.valueOf(_size_1));
+    String _plus_2 = (_plus_1 + " source resources have to be built.");
+    StandaloneBuilder.LOG.info(_plus_2);
+    final Function1<URI, Boolean> _function_1 = (URI it) -> {
+      return Boolean.valueOf(toBuild.contains(it));
+    };
+    return IterableExtensions.<URI>toList(IterableExtensions.<URI>filter(sourceResourceURIs, _function_1));
+  }
+  
+  /**
+   * Notifies the {@link IResourceDescription.Event.Listener listeners} that are attached to the given resource set
+   * about the changes of the index, e.g. the caches that were filled while resources were loaded before the index
+   * was updated.
+   * 
+   * @since 2.15
+   */
+  protected void notifyIndexListeners(final ResourceSet resourceSet, final List<IResourceDescription.Delta> deltas) {
+    boolean _isEmpty = deltas.isEmpty();
+    if (_isEmpty) {
+      return;
+    }
+    final ResourceDescriptionChangeEvent event = new ResourceDescriptionChangeEvent(deltas);
+    List<IResourceDescription.Event.Listener> _list = IterableExtensions.<IResourceDescription.Event.Listener>toList(Iterables.<IResourceDescription.Event.Listener>filter(resourceSet.eAdapters(), IResourceDescription.Event.Listener.class));
+    for (final IResourceDescription.Event.Listener listener : _list) {
+      listener.descriptionsChanged(event);
+    }
+  }
+  
+  /**
+   * @since 2.15
+   */
+  protected boolean isAffected(final Collection<IResourceDescription.Delta> deltas, final URI uri, final IResourceDescriptions index) {
+    final IResourceDescription candidate = this.previousBuildState.getResourceDescription(uri);
+    return this.languageAccess(uri).getResourceDescriptionManager().isAffected(deltas, candidate, index);
+  }
+  
+  /**
+   * Records a successfully validated and generated resource in the state of the current build.
+   * 
+   * @since 2.15
+   */
+  protected void updateBuildState(final Resource resource) {
+    if ((this.buildState != null)) {
+      final URI uri = resource.getURI();
+      final IResourceDescription description = this.languageAccess(uri).getResourceDescriptionManager().getResourceDescription(resource);
+      this.buildState.put(uri, this.contentHashes.get(uri), description);
+    }
+  }
+  
+  /**
+   * @since 2.15
+   */
+  protected void writeBuildState() {
+    if ((this.buildState != null)) {
+      final File file = new File(this.tempDir, StandaloneBuilder.BUILD_STATE_FILE);
+      try {
+        this.buildState.write(file);
+      } catch (final Throwable _t) {
+        if (_t instanceof IOException) {
+          final IOException e = (IOException)_t;
+          String _absolutePath = file.getAbsolutePath();
+          String _plus = ("Could not write the build state to " + _absolutePath);
+          String _plus_1 = (_plus + ".");
+          StandaloneBuilder.LOG.error(_plus_1, e);
+        } else {
+          throw Exceptions.sneakyThrow(_t);
         }
-        this.generate(resources);
-        if ((!continue_)) {
-          this.clearResourceSet(resourceSet);
+      } finally {
+        this.previousBuildState = null;
+        this.buildState = null;
+        this.contentHashes = null;
+      }
+    }
+  }
+  
+  /**
+   * Persists the content hashes of the generated files and reports the number of files that were not written.
+   * 
+   * @since 2.15
+   */
+  protected void writeGeneratedFileHashes() {
+    if ((this.generatedFileHashes != null)) {
+      final int skipped = this.generatedFileHashes.getSkippedFiles();
+      int _writtenFiles = this.generatedFileHashes.getWrittenFiles();
+      int _plus = (_writtenFiles + skipped);
+      String _plus_1 = ((Integer.valueOf(skipped) + " of ") + Integer.valueOf(_plus));
+      String _plus_2 = (_plus_1 + " generated files were unchanged and have not been written.");
+      StandaloneBuilder.LOG.info(_plus_2);
+      final File file = new File(this.tempDir, StandaloneBuilder.GENERATED_FILE_HASHES_FILE);
+      try {
+        this.generatedFileHashes.write(file);
+      } catch (final Throwable _t) {
+        if (_t instanceof IOException) {
+          final IOException e = (IOException)_t;
+          String _absolutePath = file.getAbsolutePath();
+          String _plus_3 = ("Could not write the hashes of the generated files to " + _absolutePath);
+          String _plus_4 = (_plus_3 + ".");
+          StandaloneBuilder.LOG.error(_plus_4, e);
+        } else {
+          throw Exceptions.sneakyThrow(_t);
         }
       }
     }
-    return (!hasValidationErrors);
   }
   
-  public void fillIndex(final URI uri, final Resource resource, final ResourceDescriptionsData index) {
-    final IResourceDescription description = this.languageAccess(uri).getResourceDescriptionManager().getResourceDescription(resource);
-    index.addDescription(uri, description);
+  /**
+   * @since 2.15
+   */
+  protected GeneratedFileHashes getGeneratedFileHashes() {
+    return this.generatedFileHashes;
+  }
+  
+  /**
+   * @since 2.15
+   */
+  protected String computeContentHash(final URI uri, final ResourceSet resourceSet) {
+    try {
+      final InputStream in = resourceSet.getURIConverter().createInputStream(uri);
+      try {
+        return Hashing.sha1().hashBytes(ByteStreams.toByteArray(in)).toString();
+      } finally {
+        in.close();
+      }
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  /**
+   * Computes a hash of everything besides the source resources that influences the build: the languages, the
+   * source directories, the Java sources and the class path. Files are represented by their path, size and time
+   * stamp. The {@link #getOutputDirectories() output directories} of the builder are skipped.
+   * 
+   * @since 2.15
+   */
+  protected String computeConfigurationHash() {
+    final Hasher hasher = Hashing.sha1().newHasher();
+    final Set<String> outputDirectories = this.getOutputDirectories();
+    hasher.putString(IterableExtensions.join(IterableExtensions.<String>sort(this.languages.keySet()), ","), Charsets.UTF_8);
+    hasher.putString(IterableExtensions.join(IterableExtensions.<String>sort(this.uniqueEntries(this.sourceDirs)), ","), Charsets.UTF_8);
+    List<String> _sort = IterableExtensions.<String>sort(this.uniqueEntries(this.javaSourceDirs));
+    for (final String javaSourceDir : _sort) {
+      File _file = new File(javaSourceDir);
+      this.putFileHashes(hasher, _file, ".java", outputDirectories);
+    }
+    List<String> _sort_1 = IterableExtensions.<String>sort(this.uniqueEntries(this.classPathEntries));
+    for (final String classPathEntry : _sort_1) {
+      File _file_1 = new File(classPathEntry);
+      this.putFileHashes(hasher, _file_1, ".class", outputDirectories);
+    }
+    return hasher.hash().toString();
+  }
+  
+  /**
+   * Returns the normalized absolute paths of the directories that the builder writes to: the output directories
+   * of the languages and the {@link #tempDir}. Their content changes with every build, so they are skipped when
+   * the configuration hashes are computed.
+   * 
+   * @since 2.15
+   */
+  protected Set<String> getOutputDirectories() {
+    final HashSet<String> result = CollectionLiterals.<String>newHashSet();
+    Collection<LanguageAccess> _values = this.languages.values();
+    for (final LanguageAccess language : _values) {
+      Collection<OutputConfiguration> _values_1 = this.getFileSystemAccess(language).getOutputConfigurations().values();
+      for (final OutputConfiguration output : _values_1) {
+        Set<String> _outputDirectories = output.getOutputDirectories();
+        for (final String directory : _outputDirectories) {
+          File _file = new File(directory);
+          String _normalizePath = this.normalizePath(_file);
+          result.add(_normalizePath);
+        }
+      }
+    }
+    String _normalizePath_1 = this.normalizePath(this.tempDir);
+    result.add(_normalizePath_1);
+    return result;
+  }
+  
+  private String normalizePath(final File file) {
+    return file.toPath().toAbsolutePath().normalize().toString();
+  }
+  
+  /**
+   * Puts the path, size and time stamp of the given file into the hasher. The files with the given extension in a
+   * directory are put recursively, except for the given excluded directories.
+   */
+  private void putFileHashes(final Hasher hasher, final File file, final String fileExtension, final Set<String> excludedDirectories) {
+    boolean _isDirectory = file.isDirectory();
+    if (_isDirectory) {
+      boolean _contains = excludedDirectories.contains(this.normalizePath(file));
+      if (_contains) {
+        return;
+      }
+      final File[] children = file.listFiles();
+      if ((children != null)) {
+        final Function1<File, String> _function = (File it) -> {
+          return it.getName();
+        };
+        List<File> _sortBy = IterableExtensions.<File, String>sortBy(((Iterable<File>)Conversions.doWrapArray(children)), _function);
+        for (final File child : _sortBy) {
+          boolean _isDirectory_1 = child.isDirectory();
+          if (_isDirectory_1) {
+            this.putFileHashes(hasher, child, fileExtension, excludedDirectories);
+          } else {
+            boolean _endsWith = child.getName().endsWith(fileExtension);
+            if (_endsWith) {
+              this.putFileHash(hasher, child);
+            }
+          }
+        }
+      }
+    } else {
+      boolean _exists = file.exists();
+      if (_exists) {
+        this.putFileHash(hasher, file);
+      }
+    }
+  }
+  
+  private void putFileHash(final Hasher hasher, final File file) {
+    hasher.putString(file.getAbsolutePath(), Charsets.UTF_8);
+    hasher.putLong(file.length()).putLong(file.lastModified());
   }
   
   public void fileEncodingSetup(final Collection<LanguageAccess> langs, final String encoding) {
@@ -312,6 +1016,11 @@ public class StandaloneBuilder {
   
   protected String compileStubs(final File stubsDir) {
     final File stubsClasses = this.createTempDir("classes");
+    this.compileStubs(stubsDir, stubsClasses);
+    return stubsClasses.getAbsolutePath();
+  }
+  
+  private IJavaCompiler.CompilationResult compileStubs(final File stubsDir, final File stubsClasses) {
     this.compiler.setClassPath(this.classPathEntries);
     String _absolutePath = stubsDir.getAbsolutePath();
     String _plus = ("Compiling stubs located in " + _absolutePath);
@@ -324,6 +1033,11 @@ public class StandaloneBuilder {
     String _plus_3 = ("Compiler source roots: " + _join);
     this.forceDebugLog(_plus_3);
     final IJavaCompiler.CompilationResult result = this.compiler.compile(sourcesToCompile, stubsClasses);
+    this.logStubsCompilationResult(result);
+    return result;
+  }
+  
+  private void logStubsCompilationResult(final IJavaCompiler.CompilationResult result) {
     if (result != null) {
       switch (result) {
         case SKIPPED:
@@ -339,7 +1053,6 @@ public class StandaloneBuilder {
           break;
       }
     }
-    return stubsClasses.getAbsolutePath();
   }
   
   protected Set<String> uniqueEntries(final Iterable<String> pathes) {
@@ -369,14 +1082,231 @@ public class StandaloneBuilder {
     return stubsDir;
   }
   
+  /**
+   * Generates and compiles the stubs of the source resources whose Java signatures changed since the last build.
+   * The classes of the other stubs are reused from the {@link #tempDir}. All stubs are compiled if there is no
+   * stub cache for the current class path and Java sources. The stub cache is only written if the stubs were
+   * compiled successfully, otherwise it is deleted and all stubs are compiled again in the next build.
+   * 
+   * @return the path of the directory that contains the compiled stubs
+   * 
+   * @since 2.15
+   */
+  protected String compileStubsIncrementally(final ResourceDescriptionsData data, final List<URI> sourceResourceURIs) {
+    final String configurationHash = this.computeStubConfigurationHash();
+    final File cacheFile = new File(this.tempDir, StandaloneBuilder.STUB_CACHE_FILE);
+    final StubCache previousCache = StubCache.read(cacheFile, configurationHash);
+    final StubCache cache = new StubCache(configurationHash);
+    final List<IResourceDescription> changed = CollectionLiterals.<IResourceDescription>newArrayList();
+    final Function1<URI, Boolean> _function = (URI it) -> {
+      return Boolean.valueOf(this.languageAccess(it).isLinksAgainstJava());
+    };
+    Iterable<URI> _filter = IterableExtensions.<URI>filter(sourceResourceURIs, _function);
+    for (final URI uri : _filter) {
+      {
+        final IResourceDescription description = data.getResourceDescription(uri);
+        final String signatureHash = this.computeSignatureHash(description);
+        cache.put(uri, signatureHash, this.getTopLevelTypeNames(description));
+        if (((previousCache == null) || (!Objects.equal(signatureHash, previousCache.getSignatureHash(uri))))) {
+          changed.add(description);
+        }
+      }
+    }
+    final File classesDir = this.createTempDir("classes");
+    IJavaCompiler.CompilationResult result = IJavaCompiler.CompilationResult.SKIPPED;
+    if ((previousCache == null)) {
+      StandaloneBuilder.LOG.info("No stub cache found for the current configuration. Compiling all stubs.");
+      this.cleanDirectory(this.createTempDir("stubs"));
+      this.cleanDirectory(classesDir);
+      result = this.compileStubs(this.generateStubs(data, sourceResourceURIs), classesDir);
+    } else {
+      Set<URI> _uRIs = previousCache.getURIs();
+      for (final URI uri_1 : _uRIs) {
+        String _signatureHash = cache.getSignatureHash(uri_1);
+        String _signatureHash_1 = previousCache.getSignatureHash(uri_1);
+        boolean _notEquals = (!Objects.equal(_signatureHash, _signatureHash_1));
+        if (_notEquals) {
+          this.deleteStubClasses(previousCache.getTypeNames(uri_1), classesDir);
+        }
+      }
+      boolean _isEmpty = changed.isEmpty();
+      if (_isEmpty) {
+        StandaloneBuilder.LOG.info("Java signatures unchanged since the last build. Stubs compilation was skipped.");
+      } else {
+        final File stubsDir = this.createTempDir("stubs-delta");
+        this.cleanDirectory(stubsDir);
+        int _size = changed.size();
+        String _plus = ("Generating " + Integer.valueOf(_size));
+        String _plus_1 = (_plus + " changed stubs into ");
+        String _absolutePath = stubsDir.getAbsolutePath();
+        String _plus_2 = (_plus_1 + _absolutePath);
+        StandaloneBuilder.LOG.info(_plus_2);
+        if ((this.encoding != null)) {
+          this.encodingProvider.setDefaultEncoding(this.encoding);
+        }
+        this.commonFileAccess.setOutputPath(IFileSystemAccess.DEFAULT_OUTPUT, stubsDir.getAbsolutePath());
+        for (final IResourceDescription description_1 : changed) {
+          this.languageAccess(description_1.getURI()).getStubGenerator().doGenerateStubs(this.commonFileAccess, description_1);
+        }
+        String _absolutePath_1 = classesDir.getAbsolutePath();
+        ArrayList<String> _newArrayList = CollectionLiterals.<String>newArrayList(_absolutePath_1);
+        Iterable<String> _plus_3 = Iterables.<String>concat(this.classPathEntries, _newArrayList);
+        this.compiler.setClassPath(_plus_3);
+        String _absolutePath_2 = stubsDir.getAbsolutePath();
+        String _plus_4 = ("Compiling stubs located in " + _absolutePath_2);
+        StandaloneBuilder.LOG.info(_plus_4);
+        result = this.compiler.compile(CollectionLiterals.<String>newArrayList(stubsDir.getAbsolutePath()), classesDir);
+        this.logStubsCompilationResult(result);
+      }
+    }
+    boolean _equals = Objects.equal(result, IJavaCompiler.CompilationResult.FAILED);
+    if (_equals) {
+      StandaloneBuilder.LOG.info("Stubs compilation failed. The stub cache is discarded.");
+      cacheFile.delete();
+    } else {
+      try {
+        cache.write(cacheFile);
+      } catch (final Throwable _t) {
+        if (_t instanceof IOException) {
+          final IOException e = (IOException)_t;
+          String _absolutePath_3 = cacheFile.getAbsolutePath();
+          String _plus_5 = ("Could not write the stub cache to " + _absolutePath_3);
+          String _plus_6 = (_plus_5 + ".");
+          StandaloneBuilder.LOG.error(_plus_6, e);
+        } else {
+          throw Exceptions.sneakyThrow(_t);
+        }
+      }
+    }
+    return classesDir.getAbsolutePath();
+  }
+  
+  /**
+   * Computes a hash of the Java signatures of the types that are exported by the given description. It is based
+   * on the signature hashes computed by the {@link JvmTypesResourceDescriptionStrategy}.
+   * 
+   * @since 2.15
+   */
+  protected String computeSignatureHash(final IResourceDescription description) {
+    final Hasher hasher = Hashing.sha1().newHasher();
+    Iterable<IEObjectDescription> _exportedObjects = description.getExportedObjects();
+    for (final IEObjectDescription exported : _exportedObjects) {
+      boolean _isSuperTypeOf = TypesPackage.Literals.JVM_DECLARED_TYPE.isSuperTypeOf(exported.getEClass());
+      if (_isSuperTypeOf) {
+        hasher.putString(exported.getEClass().getName(), Charsets.UTF_8);
+        hasher.putString(exported.getQualifiedName().toString(), Charsets.UTF_8);
+        List<String> _sort = IterableExtensions.<String>sort(((Iterable<String>)Conversions.doWrapArray(exported.getUserDataKeys())));
+        for (final String key : _sort) {
+          hasher.putString(key, Charsets.UTF_8).putString(String.valueOf(exported.getUserData(key)), Charsets.UTF_8);
+        }
+      }
+    }
+    return hasher.hash().toString();
+  }
+  
+  /**
+   * Computes a hash of everything besides the source resources that influences the compiled stubs: the compiler
+   * configuration, the Java sources and the class path. Like in {@link #computeConfigurationHash()}, files are
+   * represented by their path, size and time stamp and the output directories of the builder are skipped.
+   * 
+   * @since 2.15
+   */
+  protected String computeStubConfigurationHash() {
+    final Hasher hasher = Hashing.sha1().newHasher();
+    final CompilerConfiguration configuration = this.compiler.getConfiguration();
+    if ((configuration != null)) {
+      String _sourceLevel = configuration.getSourceLevel();
+      String _plus = (_sourceLevel + "/");
+      String _targetLevel = configuration.getTargetLevel();
+      String _plus_1 = (_plus + _targetLevel);
+      hasher.putString(_plus_1, Charsets.UTF_8);
+    }
+    final Set<String> outputDirectories = this.getOutputDirectories();
+    Iterable<String> _plus_2 = Iterables.<String>concat(this.javaSourceDirs, this.sourceDirs);
+    List<String> _sort = IterableExtensions.<String>sort(this.uniqueEntries(_plus_2));
+    for (final String sourceDir : _sort) {
+      File _file = new File(sourceDir);
+      this.putFileHashes(hasher, _file, ".java", outputDirectories);
+    }
+    List<String> _sort_1 = IterableExtensions.<String>sort(this.uniqueEntries(this.classPathEntries));
+    for (final String classPathEntry : _sort_1) {
+      File _file_1 = new File(classPathEntry);
+      this.putFileHashes(hasher, _file_1, ".class", outputDirectories);
+    }
+    return hasher.hash().toString();
+  }
+  
+  /**
+   * Returns the qualified names of the top level types that are exported by the given description. Their class
+   * files are deleted if the signature of the description changes.
+   * 
+   * @since 2.15
+   */
+  protected List<String> getTopLevelTypeNames(final IResourceDescription description) {
+    final Function1<IEObjectDescription, Boolean> _function = (IEObjectDescription it) -> {
+      return Boolean.valueOf((TypesPackage.Literals.JVM_DECLARED_TYPE.isSuperTypeOf(it.getEClass()) && 
+        (it.getUserData(JvmTypesResourceDescriptionStrategy.IS_NESTED_TYPE) == null)));
+    };
+    final Function1<IEObjectDescription, String> _function_1 = (IEObjectDescription it) -> {
+      return it.getQualifiedName().toString();
+    };
+    return IterableExtensions.<String>toList(IterableExtensions.<IEObjectDescription, String>map(IterableExtensions.<IEObjectDescription>filter(description.getExportedObjects(), _function), _function_1));
+  }
+  
+  /**
+   * Deletes the class files of the given top level types and of their nested types.
+   */
+  private void deleteStubClasses(final Iterable<String> typeNames, final File classesDir) {
+    for (final String typeName : typeNames) {
+      {
+        String _replace = typeName.replace(".", "/");
+        String _plus = (_replace + ".class");
+        final File classFile = new File(classesDir, _plus);
+        int _lastIndexOf = typeName.lastIndexOf(".");
+        int _plus_1 = (_lastIndexOf + 1);
+        final String simpleName = typeName.substring(_plus_1);
+        final FileFilter _function = (File child) -> {
+          return (Objects.equal(child.getName(), (simpleName + ".class")) || (child.getName().startsWith((simpleName + "$")) && child.getName().endsWith(".class")));
+        };
+        final File[] classFiles = classFile.getParentFile().listFiles(_function);
+        if ((classFiles != null)) {
+          for (final File file : classFiles) {
+            file.delete();
+          }
+        }
+      }
+    }
+  }
+  
+  private void cleanDirectory(final File directory) {
+    final File[] children = directory.listFiles();
+    if ((children != null)) {
+      for (final File child : children) {
+        {
+          boolean _isDirectory = child.isDirectory();
+          if (_isDirectory) {
+            this.cleanDirectory(child);
+          }
+          child.delete();
+        }
+      }
+    }
+  }
+  
   protected boolean validate(final Resource resource) {
+    return this.issueHandler.handleIssue(this.collectIssues(resource));
+  }
+  
+  /**
+   * @since 2.15
+   */
+  protected List<Issue> collectIssues(final Resource resource) {
     String _lastSegment = resource.getURI().lastSegment();
     String _plus = ("Starting validation for input: \'" + _lastSegment);
     String _plus_1 = (_plus + "\'");
     StandaloneBuilder.LOG.info(_plus_1);
     final IResourceValidator resourceValidator = this.languageAccess(resource.getURI()).getResourceValidator();
-    final List<Issue> validationResult = resourceValidator.validate(resource, CheckMode.ALL, null);
-    return this.issueHandler.handleIssue(validationResult);
+    return resourceValidator.validate(resource, CheckMode.ALL, null);
   }
   
   protected void generate(final List<Resource> sourceResources) {
@@ -408,8 +1338,69 @@ public class StandaloneBuilder {
     }
   }
   
+  /**
+   * Executes the generator of the given resource and records the generated and deleted files in memory. The
+   * output configurations are the ones of the file system access of the language, which is used to read files
+   * that were not generated by the generator itself.
+   * 
+   * @since 2.15
+   */
+  protected RecordingFileSystemAccess generateInMemory(final Resource resource) {
+    final LanguageAccess access = this.languageAccess(resource.getURI());
+    JavaIoFileSystemAccess _fileSystemAccess = this.getFileSystemAccess(access);
+    final RecordingFileSystemAccess fsa = new RecordingFileSystemAccess(_fileSystemAccess);
+    fsa.setOutputConfigurations(this.getFileSystemAccess(access).getOutputConfigurations());
+    this.registerCurrentSource(resource.getURI(), fsa);
+    final GeneratorContext context = new GeneratorContext();
+    context.setCancelIndicator(CancelIndicator.NullImpl);
+    access.getGenerator().generate(resource, fsa, context);
+    return fsa;
+  }
+  
+  /**
+   * Writes the files that were generated by the worker threads in the order of the given resources.
+   * 
+   * @since 2.15
+   */
+  protected void writeGenerated(final List<Resource> sourceResources, final Map<URI, RecordingFileSystemAccess> generatedFiles) {
+    for (final Resource it : sourceResources) {
+      {
+        String _lastSegment = it.getURI().lastSegment();
+        String _plus = ("Writing generated files for input: \'" + _lastSegment);
+        String _plus_1 = (_plus + "\'");
+        StandaloneBuilder.LOG.info(_plus_1);
+        this.registerCurrentSource(it.getURI());
+        final JavaIoFileSystemAccess fileSystemAccess = this.getFileSystemAccess(this.languageAccess(it.getURI()));
+        boolean _isWriteStorageResources = this.isWriteStorageResources();
+        if (_isWriteStorageResources) {
+          boolean _matched = false;
+          if (it instanceof StorageAwareResource) {
+            IResourceStorageFacade _resourceStorageFacade = ((StorageAwareResource)it).getResourceStorageFacade();
+            boolean _tripleNotEquals = (_resourceStorageFacade != null);
+            if (_tripleNotEquals) {
+              _matched=true;
+              ((StorageAwareResource)it).getResourceStorageFacade().saveResource(((StorageAwareResource)it), fileSystemAccess);
+            }
+          }
+        }
+        RecordingFileSystemAccess _get = generatedFiles.get(it.getURI());
+        if (_get!=null) {
+          _get.writeTo(fileSystemAccess);
+        }
+      }
+    }
+  }
+  
   protected void registerCurrentSource(final URI uri) {
-    final JavaIoFileSystemAccess fsa = this.getFileSystemAccess(this.languageAccess(uri));
+    this.registerCurrentSource(uri, this.getFileSystemAccess(this.languageAccess(uri)));
+  }
+  
+  /**
+   * Sets the source folder of the given resource as the current source of the given file system access.
+   * 
+   * @since 2.15
+   */
+  protected void registerCurrentSource(final URI uri, final AbstractFileSystemAccess fsa) {
     final Function1<String, URI> _function = (String it) -> {
       File _file = new File(it);
       return UriUtil.createFolderURI(_file);
@@ -455,6 +1446,9 @@ public class StandaloneBuilder {
     if ((fsa == null)) {
       File _file = new File(this.baseDir);
       fsa = language.createFileSystemAccess(_file);
+      if (this.writeIfChanged) {
+        fsa = this.createWriteIfChangedFileSystemAccess(fsa, language);
+      }
       fsa = this.configureFileSystemAccess(fsa, language);
       this.configuredFsas.put(language, fsa);
     }
@@ -465,6 +1459,29 @@ public class StandaloneBuilder {
     return fsa;
   }
   
+  /**
+   * Creates a file system access with the output configurations of the given one that only writes changed files.
+   * The hashes of the previous build are read from the {@link #tempDir} and shared by all languages.
+   * 
+   * @since 2.15
+   */
+  protected JavaIoFileSystemAccess createWriteIfChangedFileSystemAccess(final JavaIoFileSystemAccess fsa, final LanguageAccess language) {
+    if ((this.generatedFileHashes == null)) {
+      File _file = new File(this.tempDir, StandaloneBuilder.GENERATED_FILE_HASHES_FILE);
+      String _elvis = null;
+      if (this.encoding != null) {
+        _elvis = this.encoding;
+      } else {
+        _elvis = "";
+      }
+      this.generatedFileHashes = GeneratedFileHashes.read(_file, _elvis);
+    }
+    final WriteIfChangedFileSystemAccess result = language.getResourceServiceProvider().<WriteIfChangedFileSystemAccess>get(WriteIfChangedFileSystemAccess.class);
+    result.setOutputConfigurations(fsa.getOutputConfigurations());
+    result.setHashes(this.generatedFileHashes);
+    return result;
+  }
+  
   private LanguageAccess languageAccess(final URI uri) {
     return this.languages.get(uri.fileExtension());
   }
@@ -502,11 +1519,70 @@ public class StandaloneBuilder {
     return new URLClassLoader(((URL[])Conversions.unwrapArray(classPathUrls, URL.class)));
   }
   
+  /**
+   * Collects the resources on the class path. If {@link #cacheClassPath} is set, archives that did not change
+   * since the last build are not scanned again.
+   * 
+   * @since 2.15
+   */
+  protected List<URI> collectClassPathResources(final Iterable<String> roots, final ResourceSet resourceSet) {
+    if ((!this.cacheClassPath)) {
+      return this.collectResources(roots, resourceSet);
+    }
+    final File cacheFile = new File(this.tempDir, StandaloneBuilder.CLASS_PATH_CACHE_FILE);
+    this.classPathCache = ClassPathCache.read(cacheFile, IterableExtensions.join(this.languages.keySet(), "|"));
+    try {
+      final List<URI> result = this.collectResources(roots, resourceSet);
+      int _hits = this.classPathCache.getHits();
+      String _plus = ("Class path cache: " + Integer.valueOf(_hits));
+      String _plus_1 = (_plus + " hits, ");
+      int _misses = this.classPathCache.getMisses();
+      String _plus_2 = (_plus_1 + Integer.valueOf(_misses));
+      String _plus_3 = (_plus_2 + " misses.");
+      StandaloneBuilder.LOG.info(_plus_3);
+      try {
+        this.classPathCache.write(cacheFile);
+      } catch (final Throwable _t) {
+        if (_t instanceof IOException) {
+          final IOException e = (IOException)_t;
+          String _absolutePath = cacheFile.getAbsolutePath();
+          String _plus_4 = ("Could not write the class path cache to " + _absolutePath);
+          String _plus_5 = (_plus_4 + ".");
+          StandaloneBuilder.LOG.warn(_plus_5, e);
+        } else {
+          throw Exceptions.sneakyThrow(_t);
+        }
+      }
+      return result;
+    } finally {
+      this.classPathCache = null;
+    }
+  }
+  
   protected List<URI> collectResources(final Iterable<String> roots, final ResourceSet resourceSet) {
     final String extensions = IterableExtensions.join(this.languages.keySet(), "|");
     final NameBasedFilter nameBasedFilter = new NameBasedFilter();
     nameBasedFilter.setRegularExpression(((".*\\.(?:(" + extensions) + "))$"));
     final List<URI> resources = CollectionLiterals.<URI>newArrayList();
+    final List<String> rootsToTraverse = CollectionLiterals.<String>newArrayList();
+    for (final String root : roots) {
+      {
+        final File file = new File(root);
+        ClassPathCache.Entry _xifexpression = null;
+        if (((this.classPathCache != null) && file.isFile())) {
+          _xifexpression = this.classPathCache.get(file);
+        }
+        final ClassPathCache.Entry cached = _xifexpression;
+        if ((cached != null)) {
+          resources.addAll(cached.getModels());
+          if (((cached.getBundleSymbolicName() != null) && (!cached.getModels().isEmpty()))) {
+            this.registerBundle(cached.getBundleSymbolicName(), file);
+          }
+        } else {
+          rootsToTraverse.add(root);
+        }
+      }
+    }
     final Predicate<URI> _function = (URI input) -> {
       final boolean matches = nameBasedFilter.matches(input);
       if (matches) {
@@ -515,26 +1591,46 @@ public class StandaloneBuilder {
       }
       return matches;
     };
-    final Multimap<String, URI> modelsFound = new PathTraverser().resolvePathes(
-      IterableExtensions.<String>toList(roots), _function);
+    final Multimap<String, URI> modelsFound = new PathTraverser().resolvePathes(rootsToTraverse, _function);
     final BiConsumer<String, Collection<URI>> _function_1 = (String uri, Collection<URI> resource) -> {
       final File file = new File(uri);
-      if ((((resource != null) && (!file.isDirectory())) && file.getName().endsWith(".jar"))) {
-        this.registerBundle(file);
+      if (((resource != null) && (!file.isDirectory()))) {
+        String _xifexpression = null;
+        boolean _endsWith = file.getName().endsWith(".jar");
+        if (_endsWith) {
+          _xifexpression = this.registerBundle(file);
+        }
+        final String bundleSymbolicName = _xifexpression;
+        if (this.classPathCache!=null) {
+          this.classPathCache.put(file, bundleSymbolicName, resource);
+        }
       }
     };
     modelsFound.asMap().forEach(_function_1);
+    if ((this.classPathCache != null)) {
+      for (final String root_1 : rootsToTraverse) {
+        {
+          final File file = new File(root_1);
+          if ((file.isFile() && (!modelsFound.containsKey(root_1)))) {
+            this.classPathCache.put(file, null, CollectionLiterals.<URI>emptyList());
+          }
+        }
+      }
+    }
     return resources;
   }
   
-  protected void registerBundle(final File file) {
+  /**
+   * @return the symbolic name of the bundle or <code>null</code> if the given jar is not a bundle
+   */
+  protected String registerBundle(final File file) {
     JarFile jarFile = null;
     try {
       JarFile _jarFile = new JarFile(file);
       jarFile = _jarFile;
       final Manifest manifest = jarFile.getManifest();
       if ((manifest == null)) {
-        return;
+        return null;
       }
       String name = manifest.getMainAttributes().getValue("Bundle-SymbolicName");
       if ((name != null)) {
@@ -542,22 +1638,15 @@ public class StandaloneBuilder {
         if ((indexOf > 0)) {
           name = name.substring(0, indexOf);
         }
-        boolean _containsKey = EcorePlugin.getPlatformResourceMap().containsKey(name);
-        if (_containsKey) {
-          return;
-        }
-        java.net.URI _uRI = file.toURI();
-        String _plus = ("archive:" + _uRI);
-        final String path = (_plus + "!/");
-        final URI uri = URI.createURI(path);
-        EcorePlugin.getPlatformResourceMap().put(name, uri);
+        this.registerBundle(name, file);
       }
+      return name;
     } catch (final Throwable _t) {
       if (_t instanceof ZipException) {
         String _absolutePath = file.getAbsolutePath();
-        String _plus_1 = ("Could not open Jar file " + _absolutePath);
-        String _plus_2 = (_plus_1 + ".");
-        this.forceDebugLog(_plus_2);
+        String _plus = ("Could not open Jar file " + _absolutePath);
+        String _plus_1 = (_plus + ".");
+        this.forceDebugLog(_plus_1);
       } else if (_t instanceof Exception) {
         final Exception e_1 = (Exception)_t;
         StandaloneBuilder.LOG.error(file.getAbsolutePath(), e_1);
@@ -578,6 +1667,22 @@ public class StandaloneBuilder {
         }
       }
     }
+    return null;
+  }
+  
+  /**
+   * @since 2.15
+   */
+  protected void registerBundle(final String name, final File file) {
+    boolean _containsKey = EcorePlugin.getPlatformResourceMap().containsKey(name);
+    if (_containsKey) {
+      return;
+    }
+    java.net.URI _uRI = file.toURI();
+    String _plus = ("archive:" + _uRI);
+    final String path = (_plus + "!/");
+    final URI uri = URI.createURI(path);
+    EcorePlugin.getPlatformResourceMap().put(name, uri);
   }
   
   public IJavaCompiler getCompiler() {
@@ -716,4 +1821,58 @@ public class StandaloneBuilder {
   public void setClusteringConfig(final ClusteringConfig clusteringConfig) {
     this.clusteringConfig = clusteringConfig;
   }
+  
+  @Pure
+  public int getNumberOfThreads() {
+    return this.numberOfThreads;
+  }
+  
+  public void setNumberOfThreads(final int numberOfThreads) {
+    this.numberOfThreads = numberOfThreads;
+  }
+  
+  @Pure
+  public boolean isParallelGeneration() {
+    return this.parallelGeneration;
+  }
+  
+  public void setParallelGeneration(final boolean parallelGeneration) {
+    this.parallelGeneration = parallelGeneration;
+  }
+  
+  @Pure
+  public boolean isIncremental() {
+    return this.incremental;
+  }
+  
+  public void setIncremental(final boolean incremental) {
+    this.incremental = incremental;
+  }
+  
+  @Pure
+  public boolean isCacheClassPath() {
+    return this.cacheClassPath;
+  }
+  
+  public void setCacheClassPath(final boolean cacheClassPath) {
+    this.cacheClassPath = cacheClassPath;
+  }
+  
+  @Pure
+  public boolean isCacheStubs() {
+    return this.cacheStubs;
+  }
+  
+  public void setCacheStubs(final boolean cacheStubs) {
+    this.cacheStubs = cacheStubs;
+  }
+  
+  @Pure
+  public boolean isWriteIfChanged() {
+    return this.writeIfChanged;
+  }
+  
+  public void setWriteIfChanged(final boolean writeIfChanged) {
+    this.writeIfChanged = writeIfChanged;
+  }
 }
@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.common.types.access;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.eclipse.xtext.common.types.access.impl.ClasspathTypeProvider;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CachingClasspathTypeProviderFactoryTest extends Assert {
+
+	private final CachingClasspathTypeProviderFactory factory = new CachingClasspathTypeProviderFactory(getClass().getClassLoader(), null);
+
+	@Test public void testTypeFactoryIsSharedPerClassLoader() {
+		ClassLoader classLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+		ClasspathTypeProvider first = factory.createTypeProvider(createResourceSet(classLoader));
+		ClasspathTypeProvider second = factory.createTypeProvider(createResourceSet(classLoader));
+		assertSame(first.getDeclaredTypeFactory(), second.getDeclaredTypeFactory());
+		ClasspathTypeProvider other = factory.createTypeProvider(createResourceSet(new URLClassLoader(new URL[0], classLoader)));
+		assertNotSame(first.getDeclaredTypeFactory(), other.getDeclaredTypeFactory());
+	}
+
+	private XtextResourceSet createResourceSet(ClassLoader classLoader) {
+		XtextResourceSet result = new XtextResourceSet();
+		result.setClasspathURIContext(classLoader);
+		return result;
+	}
+
+}
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.common.types.access.binary.asm;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.eclipse.xtext.common.types.access.binary.BinaryClass;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.cache.CacheStats;
+
+public class SharedClassFileBytesAccessTest extends Assert {
+
+	private final ClassLoader classLoader = getClass().getClassLoader();
+
+	@Test public void testSharedPerClassLoader() {
+		assertSame(SharedClassFileBytesAccess.forClassLoader(classLoader), SharedClassFileBytesAccess.forClassLoader(classLoader));
+	}
+
+	@Test public void testStatistics() {
+		SharedClassFileBytesAccess access = new SharedClassFileBytesAccess(SharedClassFileBytesAccess.DEFAULT_MAXIMUM_BYTES);
+		BinaryClass clazz = new BinaryClass(String.class.getName(), classLoader);
+		byte[] bytes = access.getBytes(clazz);
+		assertNotNull(bytes);
+		assertSame(bytes, access.getBytes(clazz));
+		CacheStats stats = access.getStatistics();
+		assertEquals(1, stats.hitCount());
+		assertEquals(1, stats.missCount());
+		assertEquals(0, stats.evictionCount());
+	}
+
+	@Test public void testUnknownClass() {
+		SharedClassFileBytesAccess access = new SharedClassFileBytesAccess(SharedClassFileBytesAccess.DEFAULT_MAXIMUM_BYTES);
+		BinaryClass clazz = new BinaryClass("does.not.Exist", classLoader);
+		assertNull(access.getBytes(clazz));
+		assertNull(access.getBytes(clazz));
+		assertEquals(1, access.getStatistics().hitCount());
+	}
+
+	@Test public void testEviction() {
+		SharedClassFileBytesAccess access = new SharedClassFileBytesAccess(1024);
+		access.getBytes(new BinaryClass(String.class.getName(), classLoader));
+		access.getBytes(new BinaryClass(Integer.class.getName(), classLoader));
+		assertTrue(access.getStatistics().evictionCount() > 0);
+		assertTrue(access.size() < 2);
+	}
+
+	@Test public void testConfiguredMaximumBytes() {
+		System.setProperty(SharedClassFileBytesAccess.MAXIMUM_BYTES_PROPERTY, "1024");
+		try {
+			// a new class loader gets a new shared instance
+			SharedClassFileBytesAccess access = SharedClassFileBytesAccess.forClassLoader(new URLClassLoader(new URL[0], classLoader));
+			assertEquals(1024, access.getMaximumBytes());
+			access.getBytes(new BinaryClass(String.class.getName(), classLoader));
+			access.getBytes(new BinaryClass(Integer.class.getName(), classLoader));
+			assertTrue(access.getStatistics().evictionCount() > 0);
+			assertTrue(access.size() < 2);
+		} finally {
+			System.clearProperty(SharedClassFileBytesAccess.MAXIMUM_BYTES_PROPERTY);
+		}
+		SharedClassFileBytesAccess access = SharedClassFileBytesAccess.forClassLoader(new URLClassLoader(new URL[0], classLoader));
+		assertEquals(SharedClassFileBytesAccess.DEFAULT_MAXIMUM_BYTES, access.getMaximumBytes());
+		access.getBytes(new BinaryClass(String.class.getName(), classLoader));
+		access.getBytes(new BinaryClass(Integer.class.getName(), classLoader));
+		assertEquals(0, access.getStatistics().evictionCount());
+		assertEquals(2, access.size());
+	}
+
+}
@@ -8,13 +8,16 @@
 package org.eclipse.xtext.common.types.access;
 
 import org.eclipse.emf.ecore.resource.ResourceSet;
-import org.eclipse.xtext.common.types.access.binary.asm.ClassFileBytesAccess;
+import org.eclipse.xtext.common.types.access.binary.asm.SharedClassFileBytesAccess;
 import org.eclipse.xtext.common.types.access.impl.CachingClasspathTypeProvider;
 import org.eclipse.xtext.common.types.access.impl.CachingDeclaredTypeFactory;
 import org.eclipse.xtext.common.types.access.impl.ClasspathTypeProvider;
 import org.eclipse.xtext.common.types.access.impl.DeclaredTypeFactory;
 import org.eclipse.xtext.common.types.access.impl.TypeResourceServices;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
@@ -26,6 +29,22 @@ public class CachingClasspathTypeProviderFactory extends ClasspathTypeProviderFa
 
 	private CachingDeclaredTypeFactory reusedFactory;
 
+	/**
+	 * The type factories of the class loaders other than the default one. The cached types of a class loader are
+	 * thereby shared by all resource sets that use the class loader. The factories are weakly referenced, since they
+	 * refer to their class loader. A factory and its class loader are released as soon as no type provider uses
+	 * them anymore.
+	 */
+	private final LoadingCache<ClassLoader, CachingDeclaredTypeFactory> reusedFactories = CacheBuilder.newBuilder()
+			.weakKeys()
+			.weakValues()
+			.build(new CacheLoader<ClassLoader, CachingDeclaredTypeFactory>() {
+				@Override
+				public CachingDeclaredTypeFactory load(ClassLoader classLoader) {
+					return newClassReaderTypeFactory(classLoader);
+				}
+			});
+
 	@Inject
 	public CachingClasspathTypeProviderFactory(ClassLoader classLoader, TypeResourceServices services) {
 		super(classLoader, services);
@@ -33,7 +52,7 @@ public class CachingClasspathTypeProviderFactory extends ClasspathTypeProviderFa
 	}
 
 	private CachingDeclaredTypeFactory newClassReaderTypeFactory(ClassLoader classLoader) {
-		DeclaredTypeFactory factoryDelegate = new DeclaredTypeFactory(new ClassFileBytesAccess(), classLoader);
+		DeclaredTypeFactory factoryDelegate = new DeclaredTypeFactory(SharedClassFileBytesAccess.forClassLoader(classLoader), classLoader);
 		return new CachingDeclaredTypeFactory(factoryDelegate);
 	}
 	
@@ -42,7 +61,7 @@ public class CachingClasspathTypeProviderFactory extends ClasspathTypeProviderFa
 		ClassLoader classLoader = getClassLoader(resourceSet);
 		CachingDeclaredTypeFactory actualFactoryToUse = reusedFactory;
 		if (!isDefaultClassLoader(classLoader)) {
-			actualFactoryToUse = newClassReaderTypeFactory(classLoader);
+			actualFactoryToUse = reusedFactories.getUnchecked(classLoader);
 		}
 		return new CachingClasspathTypeProvider(
 				classLoader, 
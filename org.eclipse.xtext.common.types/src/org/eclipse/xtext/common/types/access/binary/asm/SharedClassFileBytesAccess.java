@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.common.types.access.binary.asm;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import org.eclipse.xtext.common.types.access.binary.BinaryClass;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.cache.Weigher;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * A {@link ClassFileBytesAccess} that may be used concurrently and shared by all type providers that use the same
+ * class loader. The cached bytes are bounded by a byte budget. If the budget is exceeded, the least recently used
+ * classes are evicted.
+ *
+ * <p>Use {@link #forClassLoader(ClassLoader)} to obtain the instance that is shared for a class loader. The byte budget
+ * of the shared instances can be configured by means of the system property {@link #MAXIMUM_BYTES_PROPERTY}.</p>
+ *
+ * @since 2.15
+ */
+public class SharedClassFileBytesAccess extends ClassFileBytesAccess {
+
+	/**
+	 * The default byte budget of a shared instance, 32 MB.
+	 */
+	public static final long DEFAULT_MAXIMUM_BYTES = 32 * 1024 * 1024;
+
+	/**
+	 * The name of the system property that overrides the byte budget of the shared instances, e.g.
+	 * <code>-Dorg.eclipse.xtext.common.types.access.binary.asm.SharedClassFileBytesAccess.maximumBytes=67108864</code>.
+	 */
+	public static final String MAXIMUM_BYTES_PROPERTY = SharedClassFileBytesAccess.class.getName() + ".maximumBytes";
+
+	/**
+	 * The estimated overhead of a cache entry in bytes, i.e. the key, the array header and the entry itself.
+	 */
+	private static final int ENTRY_OVERHEAD = 128;
+
+	private static final LoadingCache<ClassLoader, SharedClassFileBytesAccess> INSTANCES = CacheBuilder.newBuilder()
+			.weakKeys()
+			.build(new CacheLoader<ClassLoader, SharedClassFileBytesAccess>() {
+				@Override
+				public SharedClassFileBytesAccess load(ClassLoader classLoader) {
+					return new SharedClassFileBytesAccess(getConfiguredMaximumBytes());
+				}
+			});
+
+	/**
+	 * Returns the instance that is shared by all clients of the given class loader. The instance is dropped as soon as
+	 * the class loader is no longer referenced.
+	 */
+	public static SharedClassFileBytesAccess forClassLoader(ClassLoader classLoader) {
+		return INSTANCES.getUnchecked(classLoader);
+	}
+
+	/**
+	 * @return the byte budget of the shared instances that are created from now on, i.e. the value of the system
+	 *         property {@link #MAXIMUM_BYTES_PROPERTY} or {@link #DEFAULT_MAXIMUM_BYTES} if it is not set.
+	 */
+	public static long getConfiguredMaximumBytes() {
+		return Long.getLong(MAXIMUM_BYTES_PROPERTY, DEFAULT_MAXIMUM_BYTES);
+	}
+
+	private final long maximumBytes;
+
+	private final Cache<String, byte[]> sharedCache;
+
+	private final byte[] notAvailable = new byte[0];
+
+	/**
+	 * @param maximumBytes
+	 *            the number of class file bytes that may be cached at most.
+	 */
+	public SharedClassFileBytesAccess(long maximumBytes) {
+		this.maximumBytes = maximumBytes;
+		this.sharedCache = CacheBuilder.newBuilder()
+				.maximumWeight(maximumBytes)
+				.weigher(new Weigher<String, byte[]>() {
+					@Override
+					public int weigh(String className, byte[] bytes) {
+						return bytes.length + ENTRY_OVERHEAD;
+					}
+				})
+				.recordStats()
+				.build();
+	}
+
+	/**
+	 * Returns a concurrent view of the bounded cache.
+	 */
+	@Override
+	protected Map<String, byte[]> getCache() {
+		return sharedCache.asMap();
+	}
+
+	@Override
+	public byte[] getBytes(final BinaryClass clazz) {
+		try {
+			byte[] result = sharedCache.get(clazz.getName(), new Callable<byte[]>() {
+				@Override
+				public byte[] call() {
+					byte[] bytes = clazz.getBytes();
+					return bytes != null ? bytes : notAvailable;
+				}
+			});
+			return result != notAvailable ? result : null;
+		} catch (ExecutionException | UncheckedExecutionException e) {
+			return clazz.getBytes();
+		}
+	}
+
+	/**
+	 * @return the number of class file bytes that may be cached at most.
+	 */
+	public long getMaximumBytes() {
+		return maximumBytes;
+	}
+
+	/**
+	 * @return the hit, miss and eviction counts of this cache.
+	 */
+	public CacheStats getStatistics() {
+		return sharedCache.stats();
+	}
+
+	/**
+	 * @return the number of classes that are currently cached.
+	 */
+	public long size() {
+		return sharedCache.size();
+	}
+
+	public void clear() {
+		sharedCache.invalidateAll();
+	}
+
+}
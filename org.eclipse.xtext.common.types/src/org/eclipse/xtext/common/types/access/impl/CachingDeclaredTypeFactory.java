@@ -22,7 +22,9 @@ import org.eclipse.xtext.common.types.access.binary.BinaryClass;
  * 
  * The mechanism is based on the assumption that the same class loader is used during the lifetime of the type factory.
  * The cached {@link JvmDeclaredType type} is not contained in a resource / resource set and contains proxies. If a
- * client requests a type, the cached instance is EcoreUtil.copied and the copy is delivered.
+ * client requests a type, the cached instance is EcoreUtil.copied and the copy is delivered. The cached instance
+ * itself is never handed out, thus it may be shared by all resource sets that use the same class loader, e.g. by means
+ * of the {@link org.eclipse.xtext.common.types.access.CachingClasspathTypeProviderFactory}.
  * 
  * This class is mainly useful for unit tests where the number of
  * used resource sets is rather big compared to the number of loaded types,
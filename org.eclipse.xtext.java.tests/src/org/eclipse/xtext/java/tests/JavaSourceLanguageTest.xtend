@@ -18,6 +18,16 @@ import org.junit.Assert
 import org.junit.Test
 import org.junit.runner.RunWith
 import org.eclipse.xtext.common.types.JvmBooleanAnnotationValue
+import org.eclipse.xtext.java.resource.JavaConfig
+import org.eclipse.xtext.java.resource.JavaResource
+import org.eclipse.xtext.java.resource.NameEnvironmentCache
+import org.eclipse.emf.ecore.resource.Resource
+import org.eclipse.xtext.common.types.descriptions.EObjectDescriptionBasedStubGenerator
+import org.eclipse.xtext.java.resource.IndexAwareNameEnvironment
+import org.eclipse.xtext.naming.QualifiedName
+import org.eclipse.xtext.resource.IResourceDescriptions
+import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionDelta
+import org.eclipse.xtext.resource.impl.ResourceDescriptionChangeEvent
 
 @RunWith(XtextRunner)
 @InjectWith(JavaInjectorProvider)
@@ -44,6 +54,104 @@ class JavaSourceLanguageTest {
         Assert.assertSame(nestedType, referenced)
     }
     
+    @Test def void testBatchCompilation() {
+        val rs = resourceSet('MySuperClass.java' -> '''
+            public class MySuperClass {
+                interface InnerType {}
+            }
+        ''', 'MySubClass.java' -> '''
+            public class MySubClass extends MySuperClass {
+                public InnerType doStuff(InnerType some) {
+                    return some;
+                }
+            }
+        ''')
+        new JavaConfig => [
+            batchCompilation = true
+            attachToEmfObject(rs)
+        ]
+        val superResource = rs.resources.findFirst[URI.toString.endsWith('MySuperClass.java')] as JavaResource
+        val resource = rs.resources.findFirst[URI.toString.endsWith('MySubClass.java')] as JavaResource
+        Assert.assertFalse(superResource.initialized)
+        val clazz = resource.contents.head as JvmGenericType
+        Assert.assertTrue(superResource.initialized)
+        val nestedType = (superResource.contents.head as JvmGenericType).allNestedTypes.head
+        val referenced = clazz.declaredOperations.head.returnType.type
+        Assert.assertSame(nestedType, referenced)
+    }
+    
+    @Test def void testUpperCasePackageName() {
+        val rs = resourceSet('MyPackage/MyType.java' -> '''
+            package MyPackage;
+            public class MyType {
+            }
+        ''', 'MyClass.java' -> '''
+            public class MyClass {
+                public MyPackage.MyType get() {
+                    return null;
+                }
+            }
+        ''')
+        val resource = rs.resources.findFirst[URI.toString.endsWith('MyClass.java')]
+        val clazz = resource.contents.head as JvmGenericType
+        val referenced = clazz.declaredOperations.head.returnType.type
+        Assert.assertEquals('MyPackage.MyType', referenced.identifier)
+        Assert.assertFalse(referenced.eIsProxy)
+    }
+    
+    @Test def void testNameEnvironmentCacheIndexChange() {
+        val rs = resourceSet('MyType.java' -> 'package MyPackage; public class MyType {}',
+            'MyClass.java' -> 'public class MyClass {}')
+        val index = ChunkedResourceDescriptions.findInEmfObject(rs).getContainer('default')
+        val typeURI = rs.resources.findFirst[URI.toString.endsWith('MyType.java')].URI
+        val resource = rs.resources.findFirst[URI.toString.endsWith('MyClass.java')]
+        // the type is looked up by means of its description
+        rs.resources.removeIf[URI == typeURI]
+        val cache = NameEnvironmentCache.getOrCreate(rs)
+        Assert.assertTrue(nameEnvironment(resource, index, cache).isPackage(null, 'MyPackage'.toCharArray))
+        Assert.assertFalse(nameEnvironment(resource, index, cache).isPackage(null, 'OtherPackage'.toCharArray))
+        Assert.assertNotNull(nameEnvironment(resource, index, cache).findType(QualifiedName.create('MyPackage', 'MyType')))
+        
+        val changed = resourceSet('MyType.java' -> 'package OtherPackage; public class MyType {}')
+        val oldDescription = index.getResourceDescription(typeURI)
+        val newDescription = ChunkedResourceDescriptions.findInEmfObject(changed).getContainer('default').getResourceDescription(typeURI)
+        index.addDescription(typeURI, newDescription)
+        cache.descriptionsChanged(new ResourceDescriptionChangeEvent(#[new DefaultResourceDescriptionDelta(oldDescription, newDescription)]))
+        
+        val nameEnvironment = nameEnvironment(resource, index, cache)
+        Assert.assertFalse(nameEnvironment.isPackage(null, 'MyPackage'.toCharArray))
+        Assert.assertTrue(nameEnvironment.isPackage(null, 'OtherPackage'.toCharArray))
+        Assert.assertNull(nameEnvironment.findType(QualifiedName.create('MyPackage', 'MyType')))
+        Assert.assertNotNull(nameEnvironment.findType(QualifiedName.create('OtherPackage', 'MyType')))
+    }
+    
+    @Test def void testNameEnvironmentCacheDisabledByDefault() {
+        val rs = resourceSet('MyClass.java' -> 'public class MyClass { public String get() { return null; } }')
+        val clazz = rs.resources.head.contents.head as JvmGenericType
+        Assert.assertEquals('java.lang.String', clazz.declaredOperations.head.returnType.identifier)
+        Assert.assertNull(NameEnvironmentCache.findInEmfObject(rs))
+    }
+    
+    @Test def void testNameEnvironmentCacheEnabled() {
+        val rs = resourceSet('MyClass.java' -> 'public class MyClass { public String get() { return null; } }')
+        new JavaConfig => [
+            nameEnvironmentCacheEnabled = true
+            attachToEmfObject(rs)
+        ]
+        val clazz = rs.resources.head.contents.head as JvmGenericType
+        Assert.assertEquals('java.lang.String', clazz.declaredOperations.head.returnType.identifier)
+        Assert.assertNotNull(NameEnvironmentCache.findInEmfObject(rs))
+    }
+    
+    @Test def void testNameEnvironmentCacheBatchCompilation() {
+        val rs = resourceSet('MyClass.java' -> 'public class MyClass { public String get() { return null; } }')
+        // the load option of the standalone builder
+        rs.loadOptions.put('org.eclipse.xtext.BATCH_COMPILATION', true)
+        val clazz = rs.resources.head.contents.head as JvmGenericType
+        Assert.assertEquals('java.lang.String', clazz.declaredOperations.head.returnType.identifier)
+        Assert.assertNotNull(NameEnvironmentCache.findInEmfObject(rs))
+    }
+    
     @Test def void testOverridenInterfaceMethod() {
         val rs = resourceSet('MySuperClass.java' -> '''
             public interface MySuperClass {
@@ -106,6 +214,11 @@ class JavaSourceLanguageTest {
     @Inject Provider<XtextResourceSet> resourceSetProvider
     @Inject IResourceDescription.Manager resourceDesriptionManager
     @Inject IJvmTypeProvider.Factory typeProviderFactory
+    @Inject EObjectDescriptionBasedStubGenerator stubGenerator
+
+    def protected nameEnvironment(Resource resource, IResourceDescriptions index, NameEnvironmentCache cache) {
+        return new IndexAwareNameEnvironment(resource, class.classLoader, index, stubGenerator, cache)
+    }
 
     def protected resourceSet(Pair<String, String> ... files) {
         val result = resourceSetProvider.get
@@ -6,6 +6,7 @@ import com.google.inject.Provider;
 import java.io.OutputStream;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Predicate;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
@@ -20,10 +21,19 @@ import org.eclipse.xtext.common.types.JvmParameterizedTypeReference;
 import org.eclipse.xtext.common.types.JvmType;
 import org.eclipse.xtext.common.types.JvmTypeReference;
 import org.eclipse.xtext.common.types.access.IJvmTypeProvider;
+import org.eclipse.xtext.common.types.descriptions.EObjectDescriptionBasedStubGenerator;
+import org.eclipse.xtext.java.resource.IndexAwareNameEnvironment;
+import org.eclipse.xtext.java.resource.JavaConfig;
+import org.eclipse.xtext.java.resource.JavaResource;
+import org.eclipse.xtext.java.resource.NameEnvironmentCache;
 import org.eclipse.xtext.java.tests.JavaInjectorProvider;
+import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceDescriptions;
 import org.eclipse.xtext.resource.XtextResourceSet;
 import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions;
+import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionDelta;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionChangeEvent;
 import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
 import org.eclipse.xtext.testing.InjectWith;
 import org.eclipse.xtext.testing.XtextRunner;
@@ -34,7 +44,9 @@ import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.lib.ListExtensions;
+import org.eclipse.xtext.xbase.lib.ObjectExtensions;
 import org.eclipse.xtext.xbase.lib.Pair;
+import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -87,6 +99,171 @@ public class JavaSourceLanguageTest {
     Assert.assertSame(nestedType, referenced);
   }
   
+  @Test
+  public void testBatchCompilation() {
+    StringConcatenation _builder = new StringConcatenation();
+    _builder.append("public class MySuperClass {");
+    _builder.newLine();
+    _builder.append("    ");
+    _builder.append("interface InnerType {}");
+    _builder.newLine();
+    _builder.append("}");
+    _builder.newLine();
+    Pair<String, String> _mappedTo = Pair.<String, String>of("MySuperClass.java", _builder.toString());
+    StringConcatenation _builder_1 = new StringConcatenation();
+    _builder_1.append("public class MySubClass extends MySuperClass {");
+    _builder_1.newLine();
+    _builder_1.append("    ");
+    _builder_1.append("public InnerType doStuff(InnerType some) {");
+    _builder_1.newLine();
+    _builder_1.append("        ");
+    _builder_1.append("return some;");
+    _builder_1.newLine();
+    _builder_1.append("    ");
+    _builder_1.append("}");
+    _builder_1.newLine();
+    _builder_1.append("}");
+    _builder_1.newLine();
+    Pair<String, String> _mappedTo_1 = Pair.<String, String>of("MySubClass.java", _builder_1.toString());
+    final XtextResourceSet rs = this.resourceSet(_mappedTo, _mappedTo_1);
+    JavaConfig _javaConfig = new JavaConfig();
+    final Procedure1<JavaConfig> _function = (JavaConfig it) -> {
+      it.setBatchCompilation(true);
+      it.attachToEmfObject(rs);
+    };
+    ObjectExtensions.<JavaConfig>operator_doubleArrow(_javaConfig, _function);
+    final Function1<Resource, Boolean> _function_1 = (Resource it) -> {
+      return Boolean.valueOf(it.getURI().toString().endsWith("MySuperClass.java"));
+    };
+    Resource _findFirst = IterableExtensions.<Resource>findFirst(rs.getResources(), _function_1);
+    final JavaResource superResource = ((JavaResource) _findFirst);
+    final Function1<Resource, Boolean> _function_2 = (Resource it) -> {
+      return Boolean.valueOf(it.getURI().toString().endsWith("MySubClass.java"));
+    };
+    Resource _findFirst_1 = IterableExtensions.<Resource>findFirst(rs.getResources(), _function_2);
+    final JavaResource resource = ((JavaResource) _findFirst_1);
+    Assert.assertFalse(superResource.isInitialized());
+    EObject _head = IterableExtensions.<EObject>head(resource.getContents());
+    final JvmGenericType clazz = ((JvmGenericType) _head);
+    Assert.assertTrue(superResource.isInitialized());
+    EObject _head_1 = IterableExtensions.<EObject>head(superResource.getContents());
+    final JvmDeclaredType nestedType = IterableExtensions.<JvmDeclaredType>head(((JvmGenericType) _head_1).getAllNestedTypes());
+    final JvmType referenced = IterableExtensions.<JvmOperation>head(clazz.getDeclaredOperations()).getReturnType().getType();
+    Assert.assertSame(nestedType, referenced);
+  }
+  
+  @Test
+  public void testUpperCasePackageName() {
+    StringConcatenation _builder = new StringConcatenation();
+    _builder.append("package MyPackage;");
+    _builder.newLine();
+    _builder.append("public class MyType {");
+    _builder.newLine();
+    _builder.append("}");
+    _builder.newLine();
+    Pair<String, String> _mappedTo = Pair.<String, String>of("MyPackage/MyType.java", _builder.toString());
+    StringConcatenation _builder_1 = new StringConcatenation();
+    _builder_1.append("public class MyClass {");
+    _builder_1.newLine();
+    _builder_1.append("    ");
+    _builder_1.append("public MyPackage.MyType get() {");
+    _builder_1.newLine();
+    _builder_1.append("        ");
+    _builder_1.append("return null;");
+    _builder_1.newLine();
+    _builder_1.append("    ");
+    _builder_1.append("}");
+    _builder_1.newLine();
+    _builder_1.append("}");
+    _builder_1.newLine();
+    Pair<String, String> _mappedTo_1 = Pair.<String, String>of("MyClass.java", _builder_1.toString());
+    final XtextResourceSet rs = this.resourceSet(_mappedTo, _mappedTo_1);
+    final Function1<Resource, Boolean> _function = (Resource it) -> {
+      return Boolean.valueOf(it.getURI().toString().endsWith("MyClass.java"));
+    };
+    final Resource resource = IterableExtensions.<Resource>findFirst(rs.getResources(), _function);
+    EObject _head = IterableExtensions.<EObject>head(resource.getContents());
+    final JvmGenericType clazz = ((JvmGenericType) _head);
+    final JvmType referenced = IterableExtensions.<JvmOperation>head(clazz.getDeclaredOperations()).getReturnType().getType();
+    Assert.assertEquals("MyPackage.MyType", referenced.getIdentifier());
+    Assert.assertFalse(referenced.eIsProxy());
+  }
+  
+  @Test
+  public void testNameEnvironmentCacheIndexChange() {
+    Pair<String, String> _mappedTo = Pair.<String, String>of("MyType.java", "package MyPackage; public class MyType {}");
+    Pair<String, String> _mappedTo_1 = Pair.<String, String>of("MyClass.java", "public class MyClass {}");
+    final XtextResourceSet rs = this.resourceSet(_mappedTo, _mappedTo_1);
+    final ResourceDescriptionsData index = ChunkedResourceDescriptions.findInEmfObject(rs).getContainer("default");
+    final Function1<Resource, Boolean> _function = (Resource it) -> {
+      return Boolean.valueOf(it.getURI().toString().endsWith("MyType.java"));
+    };
+    final URI typeURI = IterableExtensions.<Resource>findFirst(rs.getResources(), _function).getURI();
+    final Function1<Resource, Boolean> _function_1 = (Resource it) -> {
+      return Boolean.valueOf(it.getURI().toString().endsWith("MyClass.java"));
+    };
+    final Resource resource = IterableExtensions.<Resource>findFirst(rs.getResources(), _function_1);
+    final Predicate<Resource> _function_2 = (Resource it) -> {
+      URI _uRI = it.getURI();
+      return Objects.equal(_uRI, typeURI);
+    };
+    rs.getResources().removeIf(_function_2);
+    final NameEnvironmentCache cache = NameEnvironmentCache.getOrCreate(rs);
+    Assert.assertTrue(this.nameEnvironment(resource, index, cache).isPackage(null, "MyPackage".toCharArray()));
+    Assert.assertFalse(this.nameEnvironment(resource, index, cache).isPackage(null, "OtherPackage".toCharArray()));
+    Assert.assertNotNull(this.nameEnvironment(resource, index, cache).findType(QualifiedName.create("MyPackage", "MyType")));
+    Pair<String, String> _mappedTo_2 = Pair.<String, String>of("MyType.java", "package OtherPackage; public class MyType {}");
+    final XtextResourceSet changed = this.resourceSet(_mappedTo_2);
+    final IResourceDescription oldDescription = index.getResourceDescription(typeURI);
+    final IResourceDescription newDescription = ChunkedResourceDescriptions.findInEmfObject(changed).getContainer("default").getResourceDescription(typeURI);
+    index.addDescription(typeURI, newDescription);
+    DefaultResourceDescriptionDelta _defaultResourceDescriptionDelta = new DefaultResourceDescriptionDelta(oldDescription, newDescription);
+    ResourceDescriptionChangeEvent _resourceDescriptionChangeEvent = new ResourceDescriptionChangeEvent(Collections.<IResourceDescription.Delta>unmodifiableList(CollectionLiterals.<IResourceDescription.Delta>newArrayList(_defaultResourceDescriptionDelta)));
+    cache.descriptionsChanged(_resourceDescriptionChangeEvent);
+    final IndexAwareNameEnvironment nameEnvironment = this.nameEnvironment(resource, index, cache);
+    Assert.assertFalse(nameEnvironment.isPackage(null, "MyPackage".toCharArray()));
+    Assert.assertTrue(nameEnvironment.isPackage(null, "OtherPackage".toCharArray()));
+    Assert.assertNull(nameEnvironment.findType(QualifiedName.create("MyPackage", "MyType")));
+    Assert.assertNotNull(nameEnvironment.findType(QualifiedName.create("OtherPackage", "MyType")));
+  }
+  
+  @Test
+  public void testNameEnvironmentCacheDisabledByDefault() {
+    Pair<String, String> _mappedTo = Pair.<String, String>of("MyClass.java", "public class MyClass { public String get() { return null; } }");
+    final XtextResourceSet rs = this.resourceSet(_mappedTo);
+    EObject _head = IterableExtensions.<EObject>head(IterableExtensions.<Resource>head(rs.getResources()).getContents());
+    final JvmGenericType clazz = ((JvmGenericType) _head);
+    Assert.assertEquals("java.lang.String", IterableExtensions.<JvmOperation>head(clazz.getDeclaredOperations()).getReturnType().getIdentifier());
+    Assert.assertNull(NameEnvironmentCache.findInEmfObject(rs));
+  }
+  
+  @Test
+  public void testNameEnvironmentCacheEnabled() {
+    Pair<String, String> _mappedTo = Pair.<String, String>of("MyClass.java", "public class MyClass { public String get() { return null; } }");
+    final XtextResourceSet rs = this.resourceSet(_mappedTo);
+    JavaConfig _javaConfig = new JavaConfig();
+    final Procedure1<JavaConfig> _function = (JavaConfig it) -> {
+      it.setNameEnvironmentCacheEnabled(true);
+      it.attachToEmfObject(rs);
+    };
+    ObjectExtensions.<JavaConfig>operator_doubleArrow(_javaConfig, _function);
+    EObject _head = IterableExtensions.<EObject>head(IterableExtensions.<Resource>head(rs.getResources()).getContents());
+    final JvmGenericType clazz = ((JvmGenericType) _head);
+    Assert.assertEquals("java.lang.String", IterableExtensions.<JvmOperation>head(clazz.getDeclaredOperations()).getReturnType().getIdentifier());
+    Assert.assertNotNull(NameEnvironmentCache.findInEmfObject(rs));
+  }
+  
+  @Test
+  public void testNameEnvironmentCacheBatchCompilation() {
+    Pair<String, String> _mappedTo = Pair.<String, String>of("MyClass.java", "public class MyClass { public String get() { return null; } }");
+    final XtextResourceSet rs = this.resourceSet(_mappedTo);
+    rs.getLoadOptions().put("org.eclipse.xtext.BATCH_COMPILATION", Boolean.valueOf(true));
+    EObject _head = IterableExtensions.<EObject>head(IterableExtensions.<Resource>head(rs.getResources()).getContents());
+    final JvmGenericType clazz = ((JvmGenericType) _head);
+    Assert.assertEquals("java.lang.String", IterableExtensions.<JvmOperation>head(clazz.getDeclaredOperations()).getReturnType().getIdentifier());
+    Assert.assertNotNull(NameEnvironmentCache.findInEmfObject(rs));
+  }
+  
   @Test
   public void testOverridenInterfaceMethod() {
     StringConcatenation _builder = new StringConcatenation();
@@ -221,6 +398,14 @@ public class JavaSourceLanguageTest {
   @Inject
   private IJvmTypeProvider.Factory typeProviderFactory;
   
+  @Inject
+  private EObjectDescriptionBasedStubGenerator stubGenerator;
+  
+  protected IndexAwareNameEnvironment nameEnvironment(final Resource resource, final IResourceDescriptions index, final NameEnvironmentCache cache) {
+    ClassLoader _classLoader = this.getClass().getClassLoader();
+    return new IndexAwareNameEnvironment(resource, _classLoader, index, this.stubGenerator, cache);
+  }
+  
   protected XtextResourceSet resourceSet(final Pair<String, String>... files) {
     final XtextResourceSet result = this.resourceSetProvider.get();
     this.typeProviderFactory.createTypeProvider(result);
@@ -1,26 +1,46 @@
 package org.eclipse.xtext.java.resource
 
 import java.util.ArrayList
+import java.util.List
 import java.util.Map
 import org.eclipse.jdt.internal.compiler.batch.CompilationUnit
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader
 import org.eclipse.jdt.internal.compiler.env.INameEnvironment
 import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer
-import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor
 import org.eclipse.xtext.common.types.TypesPackage
 import org.eclipse.xtext.common.types.descriptions.EObjectDescriptionBasedStubGenerator
 import org.eclipse.xtext.naming.QualifiedName
 import org.eclipse.xtext.resource.IResourceDescriptions
 import org.eclipse.emf.ecore.resource.Resource
 
-@FinalFieldsConstructor class IndexAwareNameEnvironment implements INameEnvironment {
+class IndexAwareNameEnvironment implements INameEnvironment {
 
     val Resource resource
 	val ClassLoader classLoader
 	val IResourceDescriptions resourceDescriptions
 	val EObjectDescriptionBasedStubGenerator stubGenerator
+	val NameEnvironmentCache sharedCache
 
 	Map<QualifiedName, NameEnvironmentAnswer> cache = newHashMap()
+	
+	new(Resource resource, ClassLoader classLoader, IResourceDescriptions resourceDescriptions,
+		EObjectDescriptionBasedStubGenerator stubGenerator) {
+		this(resource, classLoader, resourceDescriptions, stubGenerator, null)
+	}
+	
+	/**
+	 * @param sharedCache a cache that is shared with the name environments of the other resources of the resource set.
+	 *        May be <code>null</code>.
+	 * @since 2.15
+	 */
+	new(Resource resource, ClassLoader classLoader, IResourceDescriptions resourceDescriptions,
+		EObjectDescriptionBasedStubGenerator stubGenerator, NameEnvironmentCache sharedCache) {
+		this.resource = resource
+		this.classLoader = classLoader
+		this.resourceDescriptions = resourceDescriptions
+		this.stubGenerator = stubGenerator
+		this.sharedCache = sharedCache
+	}
     
 	override cleanup() {
 		cache.clear
@@ -40,25 +60,52 @@ import org.eclipse.emf.ecore.resource.Resource
 		if (candidate !== null) {
 			val resourceDescription = resourceDescriptions.getResourceDescription(candidate.EObjectURI.trimFragment)
 			val res = resource.resourceSet.getResource(resourceDescription.URI, false)
-			val source = if (res instanceof JavaResource) {
-			    (res as JavaResource).originalSource
-			} else {
-			    stubGenerator.getJavaStubSource(candidate, resourceDescription)
+			val origin = if (res instanceof JavaResource) res.compilationUnit else resourceDescription
+			var compilationUnit = sharedCache?.getCompilationUnit(className, origin)
+			if (compilationUnit === null) {
+				val source = if (res instanceof JavaResource) {
+				    (res as JavaResource).originalSource
+				} else {
+				    stubGenerator.getJavaStubSource(candidate, resourceDescription)
+				}
+				compilationUnit = new CompilationUnit(source.toCharArray, className.toString('/')+'.java', null)
+				sharedCache?.putCompilationUnit(className, origin, compilationUnit)
 			}
-			result = new NameEnvironmentAnswer(new CompilationUnit(source.toCharArray, className.toString('/')+'.java', null), null)
+			result = new NameEnvironmentAnswer(compilationUnit, null)
 		} else {
-			val fileName = className.toString('/') + ".class"
-			val url = classLoader.getResource(fileName)
-			if (url === null) {
+			val reader = if (sharedCache !== null) {
+				sharedCache.getClassFile(className, classLoader, [readClassFile(className)])
+			} else {
+				readClassFile(className)
+			}
+			if (reader === null) {
 				cache.put(className, null)
 				return null;
 			}
-			val reader = ClassFileReader.read(url.openStream, fileName)
 			result = new NameEnvironmentAnswer(reader, null)
 		}
 		cache.put(className, result)
 		return result
 	}
+	
+	/**
+	 * @return the class file of the given type or <code>null</code> if it is not on the class path.
+	 * @since 2.15
+	 */
+	protected def ClassFileReader readClassFile(QualifiedName className) {
+		val fileName = className.toString('/') + ".class"
+		val url = classLoader.getResource(fileName)
+		if (url === null) {
+			return null
+		}
+		val in = url.openStream
+		try {
+			// shared readers may be accessed concurrently, thus they must not initialize lazily
+			return ClassFileReader.read(in, fileName, sharedCache !== null)
+		} finally {
+			in.close
+		}
+	}
 
 	override findType(char[] typeName, char[][] packageName) {
 		val list = new ArrayList(packageName.map[String.valueOf(it)])
@@ -71,7 +118,34 @@ import org.eclipse.emf.ecore.resource.Resource
 		if (packageName === null || packageName.length == 0) {
 			return false;
 		}
-		// Mostly working hack
-		return Character.isLowerCase(packageName.head)
+		val List<String> segments = newArrayList
+		if (parentPackageName !== null) {
+			segments += parentPackageName.map[String.valueOf(it)]
+		}
+		segments += String.valueOf(packageName)
+		val name = QualifiedName.create(segments)
+		if (sharedCache !== null) {
+			return sharedCache.isPackage(name, [computeIsPackage(name)])
+		}
+		return computeIsPackage(name)
+	}
+	
+	/**
+	 * A name denotes a package if the index knows a type in this package or in one of its sub packages, or if the
+	 * class path contains a directory with this name. A name that denotes a type is not a package.
+	 * @since 2.15
+	 */
+	protected def boolean computeIsPackage(QualifiedName name) {
+		if (sharedCache !== null && sharedCache.getIndexedPackages(resourceDescriptions).contains(name)) {
+			return true
+		}
+		if (findType(name) !== null) {
+			return false
+		}
+		if (classLoader.getResource(name.toString('/') + '/') !== null) {
+			return true
+		}
+		// class loaders do not necessarily expose directories, e.g. for the packages of the JDK
+		return Character.isLowerCase(name.lastSegment.charAt(0))
 	}
 }	
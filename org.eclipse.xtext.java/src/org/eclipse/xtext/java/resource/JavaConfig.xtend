@@ -8,4 +8,16 @@ import org.eclipse.xtext.util.internal.EmfAdaptable
 class JavaConfig {
     @Accessors JavaVersion javaSourceLevel
     @Accessors JavaVersion javaTargetLevel
+    /**
+     * If set to <code>true</code>, all loaded Java resources of a resource set are compiled together as soon as
+     * the first one is fully initialized.
+     * @since 2.15
+     */
+    @Accessors boolean batchCompilation
+    /**
+     * If set to <code>true</code>, the Java resources of a resource set share a {@link NameEnvironmentCache}. The
+     * client has to notify the cache about all changes of the index.
+     * @since 2.15
+     */
+    @Accessors boolean nameEnvironmentCacheEnabled
 }
\ No newline at end of file
@@ -1,8 +1,10 @@
 package org.eclipse.xtext.java.resource
 
+import com.google.common.collect.Maps
 import com.google.inject.Inject
 import java.util.Arrays
 import java.util.List
+import java.util.Map
 import org.eclipse.emf.common.util.EList
 import org.eclipse.emf.ecore.EObject
 import org.eclipse.emf.ecore.resource.Resource
@@ -11,6 +13,7 @@ import org.eclipse.jdt.internal.compiler.CompilationResult
 import org.eclipse.jdt.internal.compiler.Compiler
 import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies
 import org.eclipse.jdt.internal.compiler.ast.TypeDeclaration
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions
 import org.eclipse.jdt.internal.compiler.parser.Parser
 import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory
@@ -31,6 +34,12 @@ import org.eclipse.xtext.util.internal.Log
 @Log
 class JavaDerivedStateComputer {
 	
+	/**
+	 * The load option of the resource sets of the standalone builder. The builder notifies the
+	 * {@link NameEnvironmentCache} about all changes of the index.
+	 */
+	static val String BATCH_COMPILATION = "org.eclipse.xtext.BATCH_COMPILATION"
+	
 	@Inject IReferableElementsUnloader unloader;
 	@Inject EObjectDescriptionBasedStubGenerator stubGenerator
 	@Inject IResourceDescriptionsProvider resourceDescriptionsProvider
@@ -111,34 +120,85 @@ class JavaDerivedStateComputer {
 		if (data === null)
 			throw new IllegalStateException("no index installed")
 		// TODO use container manager
-		val nameEnv = new IndexAwareNameEnvironment(resource, classLoader, data, stubGenerator)
+		val nameEnv = new IndexAwareNameEnvironment(resource, classLoader, data, stubGenerator,
+			getNameEnvironmentCache(resource.resourceSet))
 		val compiler = new Compiler(nameEnv, DefaultErrorHandlingPolicies.proceedWithAllProblems(), resource.compilerOptions, [
 			if (Arrays.equals(it.fileName, compilationUnit.fileName)) {
-				val map = newHashMap
-				var List<String> topLevelTypes = newArrayList
-				for (cf : it.getClassFiles()) {
-					val className = cf.compoundName.map[String.valueOf(it)].join('.')
-					map.put(className, cf.bytes)
-					if (!cf.isNestedType) {
-						topLevelTypes += className
-					}
-				}
-				val inMemClassLoader = new InMemoryClassLoader(map, classLoader)
-				for (topLevel : topLevelTypes) {
-					try {
-                        val builder = new JvmDeclaredTypeBuilder(new BinaryClass(topLevel, inMemClassLoader),
-                            new ClassFileBytesAccess(), inMemClassLoader)
-                        val type = builder.buildType
-                        resource.contents += type
-                    } catch (Throwable t) {
-                        throw new IllegalStateException("could not load type '" + topLevel + "'", t)
-                    }
-				}
+				installTypes(resource, it, classLoader)
 			}
 		], new DefaultProblemFactory())
 		compiler.compile(#[compilationUnit])
 	}
 	
+	/**
+	 * Compiles the given resources in a single run of the JDT compiler. All compilation units share one name
+	 * environment, thus a type that is referenced by several units is looked up and parsed only once. The resulting
+	 * class files are installed into the resources that declare them.
+	 * 
+	 * @since 2.15
+	 */
+	def void installFull(Iterable<? extends Resource> resources) {
+		val toCompile = resources.filter[!isInfoFile].toList
+		if (toCompile.empty)
+			return;
+		val first = toCompile.head
+		val classLoader = getClassLoader(first)
+		
+		val data = resourceDescriptionsProvider.getResourceDescriptions(first.resourceSet)
+		if (data === null)
+			throw new IllegalStateException("no index installed")
+		val Map<ICompilationUnit, Resource> unitToResource = Maps.newIdentityHashMap
+		for (resource : toCompile) {
+			unitToResource.put(getCompilationUnit(resource), resource)
+		}
+		val nameEnv = new IndexAwareNameEnvironment(first, classLoader, data, stubGenerator,
+			getNameEnvironmentCache(first.resourceSet))
+		val compiler = new Compiler(nameEnv, DefaultErrorHandlingPolicies.proceedWithAllProblems(), first.compilerOptions, [
+			val resource = unitToResource.get(it.compilationUnit)
+			if (resource !== null) {
+				installTypes(resource, it, classLoader)
+			}
+		], new DefaultProblemFactory())
+		compiler.compile(toCompile.map[getCompilationUnit(it)])
+	}
+	
+	protected def void installTypes(Resource resource, CompilationResult result, ClassLoader classLoader) {
+		val map = newHashMap
+		var List<String> topLevelTypes = newArrayList
+		for (cf : result.getClassFiles()) {
+			val className = cf.compoundName.map[String.valueOf(it)].join('.')
+			map.put(className, cf.bytes)
+			if (!cf.isNestedType) {
+				topLevelTypes += className
+			}
+		}
+		val inMemClassLoader = new InMemoryClassLoader(map, classLoader)
+		for (topLevel : topLevelTypes) {
+			try {
+				val builder = new JvmDeclaredTypeBuilder(new BinaryClass(topLevel, inMemClassLoader),
+					new ClassFileBytesAccess(), inMemClassLoader)
+				val type = builder.buildType
+				resource.contents += type
+			} catch (Throwable t) {
+				throw new IllegalStateException("could not load type '" + topLevel + "'", t)
+			}
+		}
+	}
+	
+	/**
+	 * @return the cache that is shared by the name environments of the resource set or <code>null</code> if it is
+	 *         not enabled. It is enabled by the {@link JavaConfig} of the resource set or for the resource sets of the
+	 *         standalone builder, since the cache has to be notified about the changes of the index.
+	 * @since 2.15
+	 */
+	protected def NameEnvironmentCache getNameEnvironmentCache(ResourceSet resourceSet) {
+		if (JavaConfig.findInEmfObject(resourceSet)?.isNameEnvironmentCacheEnabled
+			|| Boolean.TRUE == resourceSet.loadOptions.get(BATCH_COMPILATION)) {
+			return NameEnvironmentCache.getOrCreate(resourceSet)
+		}
+		return null
+	}
+	
 	protected def isInfoFile(Resource resource) {
 		val name = resource.URI.trimFileExtension.lastSegment
 		name == "package-info" || name == "module-info"
@@ -103,10 +103,51 @@ class JavaResource extends ResourceImpl implements IJavaSchemeUriResolver, ISync
 	}
 	
 	def installFull() {
-		initializing[
-			derivedStateComputer.installFull(this)
-			initialized = true
-		]
+		if (batchCompilation) {
+			installFullInBatch
+		} else {
+			initializing[
+				derivedStateComputer.installFull(this)
+				initialized = true
+			]
+		}
+	}
+	
+	/**
+	 * @return <code>true</code> if the {@link JavaConfig} of the resource set enables the batch compilation.
+	 * @since 2.15
+	 */
+	protected def boolean isBatchCompilation() {
+		val resourceSet = getResourceSet
+		if (resourceSet === null)
+			return false
+		return JavaConfig.findInEmfObject(resourceSet)?.isBatchCompilation
+	}
+	
+	/**
+	 * Installs the full derived state of this resource together with all other loaded Java resources of the
+	 * resource set that are not initialized yet. They are compiled in a single compiler run.
+	 * @since 2.15
+	 */
+	protected def void installFullInBatch() {
+		val batch = resourceSet.resources.filter(JavaResource).filter[
+			it === this || it.isLoaded && !it.isLoading && !it.initializing && !it.initialized
+		].toList
+		try {
+			for (resource : batch) {
+				resource.initializing = true
+				resource.eSetDeliver(false)
+			}
+			derivedStateComputer.installFull(batch)
+			for (resource : batch) {
+				resource.initialized = true
+			}
+		} finally {
+			for (resource : batch) {
+				resource.initializing = false
+				resource.eSetDeliver(true)
+			}
+		}
 	}
 	
 	private def initializing(() => void init) {
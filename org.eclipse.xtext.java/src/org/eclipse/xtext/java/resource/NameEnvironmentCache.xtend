@@ -0,0 +1,172 @@
+package org.eclipse.xtext.java.resource
+
+import java.util.Map
+import java.util.Set
+import java.util.concurrent.ConcurrentHashMap
+import org.eclipse.emf.common.notify.Notifier
+import org.eclipse.emf.common.notify.impl.AdapterImpl
+import org.eclipse.emf.ecore.resource.ResourceSet
+import org.eclipse.emf.ecore.util.EcoreUtil
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader
+import org.eclipse.xtext.common.types.TypesPackage
+import org.eclipse.xtext.naming.QualifiedName
+import org.eclipse.xtext.resource.IResourceDescription
+import org.eclipse.xtext.resource.IResourceDescriptions
+
+/**
+ * Caches the types that are looked up by the {@link IndexAwareNameEnvironment name environments} of all Java
+ * resources in a resource set: the parsed class files from the class path, the compilation units of the source and
+ * stub types and the known package names. The cache may be used concurrently.
+ *
+ * A compilation unit is stored together with the object it was created from, i.e. the resource description of a stub
+ * or the compilation unit of a Java resource. It is only reused as long as the index and the resource set still
+ * provide the identical object.
+ *
+ * The cache is attached to the resource set as an adapter. If the index is modified while it is installed in the
+ * resource set, the cache has to be notified about the changes, e.g. by means of
+ * {@link #descriptionsChanged(IResourceDescription.Event)}. That is why it is only used if it is enabled by means of
+ * {@link JavaConfig#setNameEnvironmentCacheEnabled(boolean)} or by the standalone builder.
+ *
+ * @since 2.15
+ */
+class NameEnvironmentCache extends AdapterImpl implements IResourceDescription.Event.Listener {
+
+	static val Object NOT_FOUND = new Object
+
+	val Map<QualifiedName, Object> classFiles = new ConcurrentHashMap
+	val Map<QualifiedName, Pair<Object, CompilationUnit>> compilationUnits = new ConcurrentHashMap
+	val Map<QualifiedName, Boolean> packages = new ConcurrentHashMap
+
+	volatile ClassLoader classLoader
+	volatile Pair<IResourceDescriptions, Set<QualifiedName>> indexedPackages
+
+	/**
+	 * @return the cache that is attached to the given notifier or <code>null</code> if there is none.
+	 */
+	def static NameEnvironmentCache findInEmfObject(Notifier emfObject) {
+		return EcoreUtil.getAdapter(emfObject.eAdapters, NameEnvironmentCache) as NameEnvironmentCache
+	}
+
+	/**
+	 * Returns the cache that is attached to the given resource set. A new cache is attached if there is none yet.
+	 */
+	def static NameEnvironmentCache getOrCreate(ResourceSet resourceSet) {
+		synchronized (resourceSet) {
+			var result = findInEmfObject(resourceSet)
+			if (result === null) {
+				result = new NameEnvironmentCache
+				resourceSet.eAdapters += result
+			}
+			return result
+		}
+	}
+
+	override isAdapterForType(Object type) {
+		return type === NameEnvironmentCache || type === IResourceDescription.Event.Listener
+	}
+
+	/**
+	 * @return the class file of the given type or <code>null</code> if it is not on the class path. The loader is
+	 *         only used if the type was not requested before.
+	 */
+	def ClassFileReader getClassFile(QualifiedName className, ClassLoader classLoader, ()=>ClassFileReader loader) {
+		if (this.classLoader !== classLoader) {
+			synchronized (this) {
+				if (this.classLoader !== classLoader) {
+					classFiles.clear
+					packages.clear
+					this.classLoader = classLoader
+				}
+			}
+		}
+		var result = classFiles.get(className)
+		if (result === null) {
+			result = loader.apply ?: NOT_FOUND
+			classFiles.putIfAbsent(className, result)
+		}
+		if (result === NOT_FOUND) {
+			return null
+		}
+		return result as ClassFileReader
+	}
+
+	/**
+	 * @return the compilation unit of the given type or <code>null</code> if there is none that was created from the
+	 *         given origin.
+	 */
+	def CompilationUnit getCompilationUnit(QualifiedName className, Object origin) {
+		val entry = compilationUnits.get(className)
+		if (entry !== null) {
+			if (entry.key === origin) {
+				return entry.value
+			}
+			// the unit was created from an outdated resource or description
+			compilationUnits.remove(className, entry)
+		}
+		return null
+	}
+
+	def void putCompilationUnit(QualifiedName className, Object origin, CompilationUnit compilationUnit) {
+		compilationUnits.put(className, origin -> compilationUnit)
+	}
+
+	/**
+	 * @return whether the given name denotes a package. The computation is only used if the name was not requested
+	 *         before.
+	 */
+	def boolean isPackage(QualifiedName name, ()=>boolean computation) {
+		var result = packages.get(name)
+		if (result === null) {
+			result = computation.apply
+			packages.put(name, result)
+		}
+		return result
+	}
+
+	/**
+	 * @return the names of all packages that contain a type of the given index, including their parent packages.
+	 */
+	def Set<QualifiedName> getIndexedPackages(IResourceDescriptions resourceDescriptions) {
+		val current = indexedPackages
+		if (current !== null && current.key === resourceDescriptions) {
+			return current.value
+		}
+		val Set<QualifiedName> result = newHashSet
+		for (type : resourceDescriptions.getExportedObjectsByType(TypesPackage.Literals.JVM_DECLARED_TYPE)) {
+			var packageName = type.qualifiedName.skipLast(1)
+			while (packageName.segmentCount > 0 && result.add(packageName)) {
+				packageName = packageName.skipLast(1)
+			}
+		}
+		if (current !== null) {
+			packages.clear
+		}
+		indexedPackages = resourceDescriptions -> result
+		return result
+	}
+
+	/**
+	 * Invalidates the cache for the changes of the index that are described by the given event.
+	 */
+	override descriptionsChanged(IResourceDescription.Event event) {
+		invalidate(event.deltas)
+	}
+
+	/**
+	 * Drops the compilation units of the types that are exported by the old or the new descriptions of the given
+	 * deltas, and the package information that was derived from the index.
+	 */
+	def void invalidate(Iterable<IResourceDescription.Delta> deltas) {
+		for (delta : deltas) {
+			for (description : #[delta.old, delta.^new].filterNull) {
+				for (type : description.getExportedObjectsByType(TypesPackage.Literals.JVM_DECLARED_TYPE)) {
+					compilationUnits.remove(type.qualifiedName)
+				}
+			}
+		}
+		indexedPackages = null
+		packages.clear
+	}
+
+}
@@ -1,5 +1,7 @@
 package org.eclipse.xtext.java.resource;
 
+import com.google.common.collect.Iterables;
+import java.io.InputStream;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
@@ -9,10 +11,10 @@ import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
 import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
 import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
-import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor;
 import org.eclipse.xtext.common.types.TypesPackage;
 import org.eclipse.xtext.common.types.descriptions.EObjectDescriptionBasedStubGenerator;
 import org.eclipse.xtext.java.resource.JavaResource;
+import org.eclipse.xtext.java.resource.NameEnvironmentCache;
 import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
@@ -20,11 +22,11 @@ import org.eclipse.xtext.resource.IResourceDescriptions;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Conversions;
 import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.eclipse.xtext.xbase.lib.Functions.Function0;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.lib.ListExtensions;
 
-@FinalFieldsConstructor
 @SuppressWarnings("all")
 public class IndexAwareNameEnvironment implements INameEnvironment {
   private final Resource resource;
@@ -35,8 +37,27 @@ public class IndexAwareNameEnvironment implements INameEnvironment {
   
   private final EObjectDescriptionBasedStubGenerator stubGenerator;
   
+  private final NameEnvironmentCache sharedCache;
+  
   private Map<QualifiedName, NameEnvironmentAnswer> cache = CollectionLiterals.<QualifiedName, NameEnvironmentAnswer>newHashMap();
   
+  public IndexAwareNameEnvironment(final Resource resource, final ClassLoader classLoader, final IResourceDescriptions resourceDescriptions, final EObjectDescriptionBasedStubGenerator stubGenerator) {
+    this(resource, classLoader, resourceDescriptions, stubGenerator, null);
+  }
+  
+  /**
+   * @param sharedCache a cache that is shared with the name environments of the other resources of the resource set.
+   *        May be <code>null</code>.
+   * @since 2.15
+   */
+  public IndexAwareNameEnvironment(final Resource resource, final ClassLoader classLoader, final IResourceDescriptions resourceDescriptions, final EObjectDescriptionBasedStubGenerator stubGenerator, final NameEnvironmentCache sharedCache) {
+    this.resource = resource;
+    this.classLoader = classLoader;
+    this.resourceDescriptions = resourceDescriptions;
+    this.stubGenerator = stubGenerator;
+    this.sharedCache = sharedCache;
+  }
+  
   @Override
   public void cleanup() {
     this.cache.clear();
@@ -52,43 +73,86 @@ public class IndexAwareNameEnvironment implements INameEnvironment {
   }
   
   public NameEnvironmentAnswer findType(final QualifiedName className) {
-    try {
-      boolean _containsKey = this.cache.containsKey(className);
-      if (_containsKey) {
-        return this.cache.get(className);
+    boolean _containsKey = this.cache.containsKey(className);
+    if (_containsKey) {
+      return this.cache.get(className);
+    }
+    final IEObjectDescription candidate = IterableExtensions.<IEObjectDescription>head(this.resourceDescriptions.getExportedObjects(TypesPackage.Literals.JVM_DECLARED_TYPE, className, false));
+    NameEnvironmentAnswer result = null;
+    if ((candidate != null)) {
+      final IResourceDescription resourceDescription = this.resourceDescriptions.getResourceDescription(candidate.getEObjectURI().trimFragment());
+      final Resource res = this.resource.getResourceSet().getResource(resourceDescription.getURI(), false);
+      Object _xifexpression = null;
+      if ((res instanceof JavaResource)) {
+        _xifexpression = ((JavaResource)res).getCompilationUnit();
+      } else {
+        _xifexpression = resourceDescription;
+      }
+      final Object origin = _xifexpression;
+      CompilationUnit _compilationUnit = null;
+      if (this.sharedCache!=null) {
+        _compilationUnit=this.sharedCache.getCompilationUnit(className, origin);
       }
-      final IEObjectDescription candidate = IterableExtensions.<IEObjectDescription>head(this.resourceDescriptions.getExportedObjects(TypesPackage.Literals.JVM_DECLARED_TYPE, className, false));
-      NameEnvironmentAnswer result = null;
-      if ((candidate != null)) {
-        final IResourceDescription resourceDescription = this.resourceDescriptions.getResourceDescription(candidate.getEObjectURI().trimFragment());
-        final Resource res = this.resource.getResourceSet().getResource(resourceDescription.getURI(), false);
-        String _xifexpression = null;
+      CompilationUnit compilationUnit = _compilationUnit;
+      if ((compilationUnit == null)) {
+        String _xifexpression_1 = null;
         if ((res instanceof JavaResource)) {
-          _xifexpression = ((JavaResource) res).getOriginalSource();
+          _xifexpression_1 = ((JavaResource) res).getOriginalSource();
         } else {
-          _xifexpression = this.stubGenerator.getJavaStubSource(candidate, resourceDescription);
+          _xifexpression_1 = this.stubGenerator.getJavaStubSource(candidate, resourceDescription);
         }
-        final String source = _xifexpression;
+        final String source = _xifexpression_1;
         char[] _charArray = source.toCharArray();
         String _string = className.toString("/");
         String _plus = (_string + ".java");
-        CompilationUnit _compilationUnit = new CompilationUnit(_charArray, _plus, null);
-        NameEnvironmentAnswer _nameEnvironmentAnswer = new NameEnvironmentAnswer(_compilationUnit, null);
-        result = _nameEnvironmentAnswer;
-      } else {
-        String _string_1 = className.toString("/");
-        final String fileName = (_string_1 + ".class");
-        final URL url = this.classLoader.getResource(fileName);
-        if ((url == null)) {
-          this.cache.put(className, null);
-          return null;
+        CompilationUnit _compilationUnit_1 = new CompilationUnit(_charArray, _plus, null);
+        compilationUnit = _compilationUnit_1;
+        if (this.sharedCache!=null) {
+          this.sharedCache.putCompilationUnit(className, origin, compilationUnit);
         }
-        final ClassFileReader reader = ClassFileReader.read(url.openStream(), fileName);
-        NameEnvironmentAnswer _nameEnvironmentAnswer_1 = new NameEnvironmentAnswer(reader, null);
-        result = _nameEnvironmentAnswer_1;
       }
-      this.cache.put(className, result);
-      return result;
+      NameEnvironmentAnswer _nameEnvironmentAnswer = new NameEnvironmentAnswer(compilationUnit, null);
+      result = _nameEnvironmentAnswer;
+    } else {
+      ClassFileReader _xifexpression_2 = null;
+      if ((this.sharedCache != null)) {
+        final Function0<ClassFileReader> _function = () -> {
+          return this.readClassFile(className);
+        };
+        _xifexpression_2 = this.sharedCache.getClassFile(className, this.classLoader, _function);
+      } else {
+        _xifexpression_2 = this.readClassFile(className);
+      }
+      final ClassFileReader reader = _xifexpression_2;
+      if ((reader == null)) {
+        this.cache.put(className, null);
+        return null;
+      }
+      NameEnvironmentAnswer _nameEnvironmentAnswer_1 = new NameEnvironmentAnswer(reader, null);
+      result = _nameEnvironmentAnswer_1;
+    }
+    this.cache.put(className, result);
+    return result;
+  }
+  
+  /**
+   * @return the class file of the given type or <code>null</code> if it is not on the class path.
+   * @since 2.15
+   */
+  protected ClassFileReader readClassFile(final QualifiedName className) {
+    try {
+      String _string = className.toString("/");
+      final String fileName = (_string + ".class");
+      final URL url = this.classLoader.getResource(fileName);
+      if ((url == null)) {
+        return null;
+      }
+      final InputStream in = url.openStream();
+      try {
+        return ClassFileReader.read(in, fileName, (this.sharedCache != null));
+      } finally {
+        in.close();
+      }
     } catch (Throwable _e) {
       throw Exceptions.sneakyThrow(_e);
     }
@@ -112,14 +176,47 @@ public class IndexAwareNameEnvironment implements INameEnvironment {
     if (((packageName == null) || (packageName.length == 0))) {
       return false;
     }
-    return Character.isLowerCase((IterableExtensions.<Character>head(((Iterable<Character>)Conversions.doWrapArray(packageName)))).charValue());
+    final List<String> segments = CollectionLiterals.<String>newArrayList();
+    if ((parentPackageName != null)) {
+      final Function1<char[], String> _function = (char[] it) -> {
+        return String.valueOf(it);
+      };
+      List<String> _map = ListExtensions.<char[], String>map(((List<char[]>)Conversions.doWrapArray(parentPackageName)), _function);
+      Iterables.<String>addAll(segments, _map);
+    }
+    String _valueOf = String.valueOf(packageName);
+    segments.add(_valueOf);
+    final QualifiedName name = QualifiedName.create(segments);
+    if ((this.sharedCache != null)) {
+      final Function0<Boolean> _function_1 = () -> {
+        return Boolean.valueOf(this.computeIsPackage(name));
+      };
+      return this.sharedCache.isPackage(name, _function_1);
+    }
+    return this.computeIsPackage(name);
   }
   
-  public IndexAwareNameEnvironment(final Resource resource, final ClassLoader classLoader, final IResourceDescriptions resourceDescriptions, final EObjectDescriptionBasedStubGenerator stubGenerator) {
-    super();
-    this.resource = resource;
-    this.classLoader = classLoader;
-    this.resourceDescriptions = resourceDescriptions;
-    this.stubGenerator = stubGenerator;
+  /**
+   * A name denotes a package if the index knows a type in this package or in one of its sub packages, or if the
+   * class path contains a directory with this name. A name that denotes a type is not a package.
+   * @since 2.15
+   */
+  protected boolean computeIsPackage(final QualifiedName name) {
+    if (((this.sharedCache != null) && this.sharedCache.getIndexedPackages(this.resourceDescriptions).contains(name))) {
+      return true;
+    }
+    NameEnvironmentAnswer _findType = this.findType(name);
+    boolean _tripleNotEquals = (_findType != null);
+    if (_tripleNotEquals) {
+      return false;
+    }
+    String _string = name.toString("/");
+    String _plus = (_string + "/");
+    URL _resource = this.classLoader.getResource(_plus);
+    boolean _tripleNotEquals_1 = (_resource != null);
+    if (_tripleNotEquals_1) {
+      return true;
+    }
+    return Character.isLowerCase(name.getLastSegment().charAt(0));
   }
 }
@@ -35,6 +35,22 @@ public class JavaConfig {
   @Accessors
   private JavaVersion javaTargetLevel;
   
+  /**
+   * If set to <code>true</code>, all loaded Java resources of a resource set are compiled together as soon as
+   * the first one is fully initialized.
+   * @since 2.15
+   */
+  @Accessors
+  private boolean batchCompilation;
+  
+  /**
+   * If set to <code>true</code>, the Java resources of a resource set share a {@link NameEnvironmentCache}. The
+   * client has to notify the cache about all changes of the index.
+   * @since 2.15
+   */
+  @Accessors
+  private boolean nameEnvironmentCacheEnabled;
+  
   public static JavaConfig findInEmfObject(final Notifier emfObject) {
     for (Adapter adapter : emfObject.eAdapters()) {
     	if (adapter instanceof JavaConfig.JavaConfigAdapter) {
@@ -81,4 +97,22 @@ public class JavaConfig {
   public void setJavaTargetLevel(final JavaVersion javaTargetLevel) {
     this.javaTargetLevel = javaTargetLevel;
   }
+  
+  @Pure
+  public boolean isBatchCompilation() {
+    return this.batchCompilation;
+  }
+  
+  public void setBatchCompilation(final boolean batchCompilation) {
+    this.batchCompilation = batchCompilation;
+  }
+  
+  @Pure
+  public boolean isNameEnvironmentCacheEnabled() {
+    return this.nameEnvironmentCacheEnabled;
+  }
+  
+  public void setNameEnvironmentCacheEnabled(final boolean nameEnvironmentCacheEnabled) {
+    this.nameEnvironmentCacheEnabled = nameEnvironmentCacheEnabled;
+  }
 }
@@ -1,10 +1,12 @@
 package org.eclipse.xtext.java.resource;
 
 import com.google.common.base.Objects;
+import com.google.common.collect.Maps;
 import com.google.inject.Inject;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.EObject;
@@ -38,6 +40,7 @@ import org.eclipse.xtext.java.resource.InMemoryClassLoader;
 import org.eclipse.xtext.java.resource.IndexAwareNameEnvironment;
 import org.eclipse.xtext.java.resource.JavaConfig;
 import org.eclipse.xtext.java.resource.JavaResource;
+import org.eclipse.xtext.java.resource.NameEnvironmentCache;
 import org.eclipse.xtext.parser.antlr.IReferableElementsUnloader;
 import org.eclipse.xtext.resource.IResourceDescriptions;
 import org.eclipse.xtext.resource.IResourceDescriptionsProvider;
@@ -56,6 +59,12 @@ import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 @Log
 @SuppressWarnings("all")
 public class JavaDerivedStateComputer {
+  /**
+   * The load option of the resource sets of the standalone builder. The builder notifies the
+   * {@link NameEnvironmentCache} about all changes of the index.
+   */
+  private final static String BATCH_COMPILATION = "org.eclipse.xtext.BATCH_COMPILATION";
+  
   @Inject
   private IReferableElementsUnloader unloader;
   
@@ -180,45 +189,14 @@ public class JavaDerivedStateComputer {
     if ((data == null)) {
       throw new IllegalStateException("no index installed");
     }
-    final IndexAwareNameEnvironment nameEnv = new IndexAwareNameEnvironment(resource, classLoader, data, this.stubGenerator);
+    NameEnvironmentCache _nameEnvironmentCache = this.getNameEnvironmentCache(resource.getResourceSet());
+    final IndexAwareNameEnvironment nameEnv = new IndexAwareNameEnvironment(resource, classLoader, data, this.stubGenerator, _nameEnvironmentCache);
     IErrorHandlingPolicy _proceedWithAllProblems = DefaultErrorHandlingPolicies.proceedWithAllProblems();
     CompilerOptions _compilerOptions = this.getCompilerOptions(resource);
     final ICompilerRequestor _function = (CompilationResult it) -> {
       boolean _equals = Arrays.equals(it.fileName, compilationUnit.fileName);
       if (_equals) {
-        final HashMap<String, byte[]> map = CollectionLiterals.<String, byte[]>newHashMap();
-        List<String> topLevelTypes = CollectionLiterals.<String>newArrayList();
-        ClassFile[] _classFiles = it.getClassFiles();
-        for (final ClassFile cf : _classFiles) {
-          {
-            final Function1<char[], String> _function_1 = (char[] it_1) -> {
-              return String.valueOf(it_1);
-            };
-            final String className = IterableExtensions.join(ListExtensions.<char[], String>map(((List<char[]>)Conversions.doWrapArray(cf.getCompoundName())), _function_1), ".");
-            map.put(className, cf.getBytes());
-            if ((!cf.isNestedType)) {
-              topLevelTypes.add(className);
-            }
-          }
-        }
-        final InMemoryClassLoader inMemClassLoader = new InMemoryClassLoader(map, classLoader);
-        for (final String topLevel : topLevelTypes) {
-          try {
-            BinaryClass _binaryClass = new BinaryClass(topLevel, inMemClassLoader);
-            ClassFileBytesAccess _classFileBytesAccess = new ClassFileBytesAccess();
-            final JvmDeclaredTypeBuilder builder = new JvmDeclaredTypeBuilder(_binaryClass, _classFileBytesAccess, inMemClassLoader);
-            final JvmDeclaredType type = builder.buildType();
-            EList<EObject> _contents = resource.getContents();
-            _contents.add(type);
-          } catch (final Throwable _t) {
-            if (_t instanceof Throwable) {
-              final Throwable t = (Throwable)_t;
-              throw new IllegalStateException((("could not load type \'" + topLevel) + "\'"), t);
-            } else {
-              throw Exceptions.sneakyThrow(_t);
-            }
-          }
-        }
+        this.installTypes(resource, it, classLoader);
       }
     };
     DefaultProblemFactory _defaultProblemFactory = new DefaultProblemFactory();
@@ -226,6 +204,105 @@ public class JavaDerivedStateComputer {
     compiler.compile(new ICompilationUnit[] { compilationUnit });
   }
   
+  /**
+   * Compiles the given resources in a single run of the JDT compiler. All compilation units share one name
+   * environment, thus a type that is referenced by several units is looked up and parsed only once. The resulting
+   * class files are installed into the resources that declare them.
+   * 
+   * @since 2.15
+   */
+  public void installFull(final Iterable<? extends Resource> resources) {
+    final Function1<Resource, Boolean> _function = (Resource it) -> {
+      boolean _isInfoFile = this.isInfoFile(it);
+      return Boolean.valueOf((!_isInfoFile));
+    };
+    final List<? extends Resource> toCompile = IterableExtensions.toList(IterableExtensions.filter(resources, _function));
+    boolean _isEmpty = toCompile.isEmpty();
+    if (_isEmpty) {
+      return;
+    }
+    final Resource first = IterableExtensions.head(toCompile);
+    final ClassLoader classLoader = this.getClassLoader(first);
+    final IResourceDescriptions data = this.resourceDescriptionsProvider.getResourceDescriptions(first.getResourceSet());
+    if ((data == null)) {
+      throw new IllegalStateException("no index installed");
+    }
+    final Map<ICompilationUnit, Resource> unitToResource = Maps.<ICompilationUnit, Resource>newIdentityHashMap();
+    for (final Resource resource : toCompile) {
+      unitToResource.put(this.getCompilationUnit(resource), resource);
+    }
+    NameEnvironmentCache _nameEnvironmentCache = this.getNameEnvironmentCache(first.getResourceSet());
+    final IndexAwareNameEnvironment nameEnv = new IndexAwareNameEnvironment(first, classLoader, data, this.stubGenerator, _nameEnvironmentCache);
+    IErrorHandlingPolicy _proceedWithAllProblems = DefaultErrorHandlingPolicies.proceedWithAllProblems();
+    CompilerOptions _compilerOptions = this.getCompilerOptions(first);
+    final ICompilerRequestor _function_1 = (CompilationResult it) -> {
+      final Resource resource_1 = unitToResource.get(it.compilationUnit);
+      if ((resource_1 != null)) {
+        this.installTypes(resource_1, it, classLoader);
+      }
+    };
+    DefaultProblemFactory _defaultProblemFactory = new DefaultProblemFactory();
+    final org.eclipse.jdt.internal.compiler.Compiler compiler = new org.eclipse.jdt.internal.compiler.Compiler(nameEnv, _proceedWithAllProblems, _compilerOptions, _function_1, _defaultProblemFactory);
+    final Function1<Resource, CompilationUnit> _function_2 = (Resource it) -> {
+      return this.getCompilationUnit(it);
+    };
+    compiler.compile(((ICompilationUnit[])Conversions.unwrapArray(ListExtensions.map(toCompile, _function_2), ICompilationUnit.class)));
+  }
+  
+  protected void installTypes(final Resource resource, final CompilationResult result, final ClassLoader classLoader) {
+    final HashMap<String, byte[]> map = CollectionLiterals.<String, byte[]>newHashMap();
+    List<String> topLevelTypes = CollectionLiterals.<String>newArrayList();
+    ClassFile[] _classFiles = result.getClassFiles();
+    for (final ClassFile cf : _classFiles) {
+      {
+        final Function1<char[], String> _function = (char[] it) -> {
+          return String.valueOf(it);
+        };
+        final String className = IterableExtensions.join(ListExtensions.<char[], String>map(((List<char[]>)Conversions.doWrapArray(cf.getCompoundName())), _function), ".");
+        map.put(className, cf.getBytes());
+        if ((!cf.isNestedType)) {
+          topLevelTypes.add(className);
+        }
+      }
+    }
+    final InMemoryClassLoader inMemClassLoader = new InMemoryClassLoader(map, classLoader);
+    for (final String topLevel : topLevelTypes) {
+      try {
+        BinaryClass _binaryClass = new BinaryClass(topLevel, inMemClassLoader);
+        ClassFileBytesAccess _classFileBytesAccess = new ClassFileBytesAccess();
+        final JvmDeclaredTypeBuilder builder = new JvmDeclaredTypeBuilder(_binaryClass, _classFileBytesAccess, inMemClassLoader);
+        final JvmDeclaredType type = builder.buildType();
+        EList<EObject> _contents = resource.getContents();
+        _contents.add(type);
+      } catch (final Throwable _t) {
+        if (_t instanceof Throwable) {
+          final Throwable t = (Throwable)_t;
+          throw new IllegalStateException((("could not load type \'" + topLevel) + "\'"), t);
+        } else {
+          throw Exceptions.sneakyThrow(_t);
+        }
+      }
+    }
+  }
+  
+  /**
+   * @return the cache that is shared by the name environments of the resource set or <code>null</code> if it is
+   *         not enabled. It is enabled by the {@link JavaConfig} of the resource set or for the resource sets of the
+   *         standalone builder, since the cache has to be notified about the changes of the index.
+   * @since 2.15
+   */
+  protected NameEnvironmentCache getNameEnvironmentCache(final ResourceSet resourceSet) {
+    JavaConfig _findInEmfObject = JavaConfig.findInEmfObject(resourceSet);
+    boolean _isNameEnvironmentCacheEnabled = false;
+    if (_findInEmfObject!=null) {
+      _isNameEnvironmentCacheEnabled=_findInEmfObject.isNameEnvironmentCacheEnabled();
+    }
+    if ((_isNameEnvironmentCacheEnabled || Objects.equal(Boolean.TRUE, resourceSet.getLoadOptions().get(JavaDerivedStateComputer.BATCH_COMPILATION)))) {
+      return NameEnvironmentCache.getOrCreate(resourceSet);
+    }
+    return null;
+  }
+  
   protected boolean isInfoFile(final Resource resource) {
     boolean _xblockexpression = false;
     {
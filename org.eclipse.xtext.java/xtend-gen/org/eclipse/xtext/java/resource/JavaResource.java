@@ -1,6 +1,7 @@
 package org.eclipse.xtext.java.resource;
 
 import com.google.common.base.Objects;
+import com.google.common.collect.Iterables;
 import com.google.common.io.CharStreams;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
@@ -28,12 +29,15 @@ import org.eclipse.xtext.common.types.access.impl.AbstractClassMirror;
 import org.eclipse.xtext.common.types.access.impl.AbstractJvmTypeProvider;
 import org.eclipse.xtext.common.types.access.impl.IndexedJvmTypeAccess;
 import org.eclipse.xtext.common.types.access.impl.URIHelperConstants;
+import org.eclipse.xtext.java.resource.JavaConfig;
 import org.eclipse.xtext.java.resource.JavaDerivedStateComputer;
 import org.eclipse.xtext.parser.IEncodingProvider;
 import org.eclipse.xtext.resource.IFragmentProvider;
 import org.eclipse.xtext.resource.ISynchronizable;
 import org.eclipse.xtext.util.concurrent.IUnitOfWork;
 import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.eclipse.xtext.xbase.lib.Functions.Function1;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.lib.ObjectExtensions;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure0;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
@@ -188,11 +192,64 @@ public class JavaResource extends ResourceImpl implements IJavaSchemeUriResolver
   }
   
   public void installFull() {
-    final Procedure0 _function = () -> {
-      this.derivedStateComputer.installFull(this);
-      this.initialized = true;
+    boolean _isBatchCompilation = this.isBatchCompilation();
+    if (_isBatchCompilation) {
+      this.installFullInBatch();
+    } else {
+      final Procedure0 _function = () -> {
+        this.derivedStateComputer.installFull(this);
+        this.initialized = true;
+      };
+      this.initializing(_function);
+    }
+  }
+  
+  /**
+   * @return <code>true</code> if the {@link JavaConfig} of the resource set enables the batch compilation.
+   * @since 2.15
+   */
+  protected boolean isBatchCompilation() {
+    final ResourceSet resourceSet = this.getResourceSet();
+    if ((resourceSet == null)) {
+      return false;
+    }
+    JavaConfig _findInEmfObject = JavaConfig.findInEmfObject(resourceSet);
+    boolean _isBatchCompilation = false;
+    if (_findInEmfObject!=null) {
+      _isBatchCompilation=_findInEmfObject.isBatchCompilation();
+    }
+    return _isBatchCompilation;
+  }
+  
+  /**
+   * Installs the full derived state of this resource together with all other loaded Java resources of the
+   * resource set that are not initialized yet. They are compiled in a single compiler run.
+   * @since 2.15
+   */
+  protected void installFullInBatch() {
+    final Function1<JavaResource, Boolean> _function = (JavaResource it) -> {
+      return Boolean.valueOf(((it == this) || (((it.isLoaded && (!it.isLoading)) && (!it.initializing)) && (!it.initialized))));
     };
-    this.initializing(_function);
+    final List<JavaResource> batch = IterableExtensions.<JavaResource>toList(IterableExtensions.<JavaResource>filter(Iterables.<JavaResource>filter(this.getResourceSet().getResources(), JavaResource.class), _function));
+    try {
+      for (final JavaResource resource : batch) {
+        {
+          resource.initializing = true;
+          resource.eSetDeliver(false);
+        }
+      }
+      this.derivedStateComputer.installFull(batch);
+      for (final JavaResource resource_1 : batch) {
+        resource_1.initialized = true;
+      }
+    } finally {
+      for (final JavaResource resource_2 : batch) {
+        {
+          resource_2.initializing = false;
+          resource_2.eSetDeliver(true);
+        }
+      }
+    }
   }
   
   private void initializing(final Procedure0 init) {
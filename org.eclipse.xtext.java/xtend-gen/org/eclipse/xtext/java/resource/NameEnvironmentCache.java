@@ -0,0 +1,204 @@
+package org.eclipse.xtext.java.resource;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.xtext.common.types.TypesPackage;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceDescriptions;
+import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.Functions.Function0;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.lib.Pair;
+
+/**
+ * Caches the types that are looked up by the {@link IndexAwareNameEnvironment name environments} of all Java
+ * resources in a resource set: the parsed class files from the class path, the compilation units of the source and
+ * stub types and the known package names. The cache may be used concurrently.
+ *
+ * A compilation unit is stored together with the object it was created from, i.e. the resource description of a stub
+ * or the compilation unit of a Java resource. It is only reused as long as the index and the resource set still
+ * provide the identical object.
+ *
+ * The cache is attached to the resource set as an adapter. If the index is modified while it is installed in the
+ * resource set, the cache has to be notified about the changes, e.g. by means of
+ * {@link #descriptionsChanged(IResourceDescription.Event)}. That is why it is only used if it is enabled by means of
+ * {@link JavaConfig#setNameEnvironmentCacheEnabled(boolean)} or by the standalone builder.
+ *
+ * @since 2.15
+ */
+@SuppressWarnings("all")
+public class NameEnvironmentCache extends AdapterImpl implements IResourceDescription.Event.Listener {
+  private final static Object NOT_FOUND = new Object();
+  
+  private final Map<QualifiedName, Object> classFiles = new ConcurrentHashMap<QualifiedName, Object>();
+  
+  private final Map<QualifiedName, Pair<Object, CompilationUnit>> compilationUnits = new ConcurrentHashMap<QualifiedName, Pair<Object, CompilationUnit>>();
+  
+  private final Map<QualifiedName, Boolean> packages = new ConcurrentHashMap<QualifiedName, Boolean>();
+  
+  private volatile ClassLoader classLoader;
+  
+  private volatile Pair<IResourceDescriptions, Set<QualifiedName>> indexedPackages;
+  
+  /**
+   * @return the cache that is attached to the given notifier or <code>null</code> if there is none.
+   */
+  public static NameEnvironmentCache findInEmfObject(final Notifier emfObject) {
+    Object _adapter = EcoreUtil.getAdapter(emfObject.eAdapters(), NameEnvironmentCache.class);
+    return ((NameEnvironmentCache) _adapter);
+  }
+  
+  /**
+   * Returns the cache that is attached to the given resource set. A new cache is attached if there is none yet.
+   */
+  public static NameEnvironmentCache getOrCreate(final ResourceSet resourceSet) {
+    synchronized (resourceSet) {
+      NameEnvironmentCache result = NameEnvironmentCache.findInEmfObject(resourceSet);
+      if ((result == null)) {
+        NameEnvironmentCache _nameEnvironmentCache = new NameEnvironmentCache();
+        result = _nameEnvironmentCache;
+        EList<Adapter> _eAdapters = resourceSet.eAdapters();
+        _eAdapters.add(result);
+      }
+      return result;
+    }
+  }
+  
+  @Override
+  public boolean isAdapterForType(final Object type) {
+    return ((type == NameEnvironmentCache.class) || (type == IResourceDescription.Event.Listener.class));
+  }
+  
+  /**
+   * @return the class file of the given type or <code>null</code> if it is not on the class path. The loader is
+   *         only used if the type was not requested before.
+   */
+  public ClassFileReader getClassFile(final QualifiedName className, final ClassLoader classLoader, final Function0<? extends ClassFileReader> loader) {
+    if ((this.classLoader != classLoader)) {
+      synchronized (this) {
+        if ((this.classLoader != classLoader)) {
+          this.classFiles.clear();
+          this.packages.clear();
+          this.classLoader = classLoader;
+        }
+      }
+    }
+    Object result = this.classFiles.get(className);
+    if ((result == null)) {
+      Object _elvis = null;
+      ClassFileReader _apply = loader.apply();
+      if (_apply != null) {
+        _elvis = _apply;
+      } else {
+        _elvis = NameEnvironmentCache.NOT_FOUND;
+      }
+      result = _elvis;
+      this.classFiles.putIfAbsent(className, result);
+    }
+    if ((result == NameEnvironmentCache.NOT_FOUND)) {
+      return null;
+    }
+    return ((ClassFileReader) result);
+  }
+  
+  /**
+   * @return the compilation unit of the given type or <code>null</code> if there is none that was created from the
+   *         given origin.
+   */
+  public CompilationUnit getCompilationUnit(final QualifiedName className, final Object origin) {
+    final Pair<Object, CompilationUnit> entry = this.compilationUnits.get(className);
+    if ((entry != null)) {
+      Object _key = entry.getKey();
+      boolean _tripleEquals = (_key == origin);
+      if (_tripleEquals) {
+        return entry.getValue();
+      }
+      this.compilationUnits.remove(className, entry);
+    }
+    return null;
+  }
+  
+  public void putCompilationUnit(final QualifiedName className, final Object origin, final CompilationUnit compilationUnit) {
+    Pair<Object, CompilationUnit> _mappedTo = Pair.<Object, CompilationUnit>of(origin, compilationUnit);
+    this.compilationUnits.put(className, _mappedTo);
+  }
+  
+  /**
+   * @return whether the given name denotes a package. The computation is only used if the name was not requested
+   *         before.
+   */
+  public boolean isPackage(final QualifiedName name, final Function0<? extends Boolean> computation) {
+    Boolean result = this.packages.get(name);
+    if ((result == null)) {
+      result = computation.apply();
+      this.packages.put(name, result);
+    }
+    return (result).booleanValue();
+  }
+  
+  /**
+   * @return the names of all packages that contain a type of the given index, including their parent packages.
+   */
+  public Set<QualifiedName> getIndexedPackages(final IResourceDescriptions resourceDescriptions) {
+    final Pair<IResourceDescriptions, Set<QualifiedName>> current = this.indexedPackages;
+    if (((current != null) && (current.getKey() == resourceDescriptions))) {
+      return current.getValue();
+    }
+    final Set<QualifiedName> result = CollectionLiterals.<QualifiedName>newHashSet();
+    Iterable<IEObjectDescription> _exportedObjectsByType = resourceDescriptions.getExportedObjectsByType(TypesPackage.Literals.JVM_DECLARED_TYPE);
+    for (final IEObjectDescription type : _exportedObjectsByType) {
+      {
+        QualifiedName packageName = type.getQualifiedName().skipLast(1);
+        while (((packageName.getSegmentCount() > 0) && result.add(packageName))) {
+          packageName = packageName.skipLast(1);
+        }
+      }
+    }
+    if ((current != null)) {
+      this.packages.clear();
+    }
+    Pair<IResourceDescriptions, Set<QualifiedName>> _mappedTo = Pair.<IResourceDescriptions, Set<QualifiedName>>of(resourceDescriptions, result);
+    this.indexedPackages = _mappedTo;
+    return result;
+  }
+  
+  /**
+   * Invalidates the cache for the changes of the index that are described by the given event.
+   */
+  @Override
+  public void descriptionsChanged(final IResourceDescription.Event event) {
+    this.invalidate(event.getDeltas());
+  }
+  
+  /**
+   * Drops the compilation units of the types that are exported by the old or the new descriptions of the given
+   * deltas, and the package information that was derived from the index.
+   */
+  public void invalidate(final Iterable<IResourceDescription.Delta> deltas) {
+    for (final IResourceDescription.Delta delta : deltas) {
+      IResourceDescription _old = delta.getOld();
+      IResourceDescription _new = delta.getNew();
+      Iterable<IResourceDescription> _filterNull = IterableExtensions.<IResourceDescription>filterNull(Collections.<IResourceDescription>unmodifiableList(CollectionLiterals.<IResourceDescription>newArrayList(_old, _new)));
+      for (final IResourceDescription description : _filterNull) {
+        Iterable<IEObjectDescription> _exportedObjectsByType = description.getExportedObjectsByType(TypesPackage.Literals.JVM_DECLARED_TYPE);
+        for (final IEObjectDescription type : _exportedObjectsByType) {
+          this.compilationUnits.remove(type.getQualifiedName());
+        }
+      }
+    }
+    this.indexedPackages = null;
+    this.packages.clear();
+  }
+}
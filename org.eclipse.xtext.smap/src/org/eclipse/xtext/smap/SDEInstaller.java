@@ -17,6 +17,8 @@ package org.eclipse.xtext.smap;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 //*********************************************************************
 // Installation logic (from Robert Field, JSR-045 spec lead)
@@ -24,6 +26,8 @@ public class SDEInstaller {
 
 	private static final String nameSDE = "SourceDebugExtension";
 
+	private static final byte[] nameSDEBytes = nameSDE.getBytes(StandardCharsets.US_ASCII);
+
 	private byte[] orig;
 	private byte[] sdeAttr;
 	private byte[] gen;
@@ -44,9 +48,10 @@ public class SDEInstaller {
 	}
 	
 	public byte[] getUpdatedByteCode() {
-		byte[] result = new byte[genPos];
-		System.arraycopy(gen, 0, result, 0, genPos);
-		return result;
+		if (genPos == gen.length) {
+			return gen;
+		}
+		return Arrays.copyOf(gen, genPos);
 	}
 	
 	protected void addSDE() throws UnsupportedEncodingException, IOException {
@@ -128,6 +133,8 @@ public class SDEInstaller {
 			// don't write old SDE
 			if (nameIndex == sdeIndex) {
 				sdeFound = true;
+				int len = readU4();
+				origPos += len;
 				if (verbose) {
 					System.out.println("SDE attr found");
 				}
@@ -147,9 +154,7 @@ public class SDEInstaller {
 	protected void writeAttrForSDE(int index) {
 		writeU2(index);
 		writeU4(sdeAttr.length);
-		for (int i = 0; i < sdeAttr.length; ++i) {
-			writeU1(sdeAttr[i]);
-		}
+		writeBytes(sdeAttr);
 	}
 
 	protected void randomAccessWriteU2(int pos, int val) {
@@ -188,23 +193,35 @@ public class SDEInstaller {
 	}
 
 	protected void copy(int count) {
-		for (int i = 0; i < count; ++i) {
-			gen[genPos++] = orig[origPos++];
-		}
+		System.arraycopy(orig, origPos, gen, genPos, count);
+		origPos += count;
+		genPos += count;
 	}
 
 	protected byte[] readBytes(int count) {
-		byte[] bytes = new byte[count];
-		for (int i = 0; i < count; ++i) {
-			bytes[i] = orig[origPos++];
-		}
+		byte[] bytes = Arrays.copyOfRange(orig, origPos, origPos + count);
+		origPos += count;
 		return bytes;
 	}
 
 	protected void writeBytes(byte[] bytes) {
-		for (int i = 0; i < bytes.length; ++i) {
-			gen[genPos++] = bytes[i];
+		System.arraycopy(bytes, 0, gen, genPos, bytes.length);
+		genPos += bytes.length;
+	}
+
+	/**
+	 * Compares the Utf8 constant at the current position of the original class file without decoding it.
+	 */
+	private boolean isNameSDE(int len) {
+		if (len != nameSDEBytes.length) {
+			return false;
 		}
+		for (int i = 0; i < len; ++i) {
+			if (orig[origPos + i] != nameSDEBytes[i]) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	protected int copyConstantPool(int constantPoolCount) throws UnsupportedEncodingException, IOException {
@@ -217,6 +234,8 @@ public class SDEInstaller {
 				case 7: // Class
 				case 8: // String
 				case 16 : // MethodType
+				case 19 : // Module
+				case 20 : // Package
 					if (verbose) {
 						System.out.println(i + " copying 2 bytes");
 					}
@@ -234,6 +253,7 @@ public class SDEInstaller {
 				case 3: // Integer
 				case 4: // Float
 				case 12: // NameAndType
+				case 17 : // Dynamic
 				case 18 : // InvokeDynamic
 					if (verbose) {
 						System.out.println(i + " copying 4 bytes");
@@ -251,15 +271,13 @@ public class SDEInstaller {
 				case 1: // Utf8
 					int len = readU2();
 					writeU2(len);
-					byte[] utf8 = readBytes(len);
-					String str = new String(utf8, "UTF-8");
 					if (verbose) {
-						System.out.println(i + " read class attr -- '" + str + "'");
+						System.out.println(i + " read class attr -- '" + new String(orig, origPos, len, "UTF-8") + "'");
 					}
-					if (str.equals(nameSDE)) {
+					if (isNameSDE(len)) {
 						sdeIndex = i;
 					}
-					writeBytes(utf8);
+					copy(len);
 					break;
 				default:
 					throw new IOException("unexpected tag: " + tag);
@@ -269,11 +287,8 @@ public class SDEInstaller {
 	}
 
 	protected void writeUtf8ForSDE() {
-		int len = nameSDE.length();
 		writeU1(1); // Utf8 tag
-		writeU2(len);
-		for (int i = 0; i < len; ++i) {
-			writeU1(nameSDE.charAt(i));
-		}
+		writeU2(nameSDEBytes.length);
+		writeBytes(nameSDEBytes);
 	}
 }
\ No newline at end of file
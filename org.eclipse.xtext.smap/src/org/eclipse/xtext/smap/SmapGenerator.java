@@ -105,12 +105,12 @@ public class SmapGenerator {
 		// check state and initialize buffer
 		if (outputFileName == null)
 			throw new IllegalStateException();
-		StringBuffer out = new StringBuffer();
+		StringBuilder out = new StringBuilder(256);
 
 		// start the SMAP
 		out.append("SMAP\n");
-		out.append(outputFileName + '\n');
-		out.append(defaultStratum + '\n');
+		out.append(outputFileName).append('\n');
+		out.append(defaultStratum).append('\n');
 
 		// include embedded SMAPs
 		if (doEmbedded) {
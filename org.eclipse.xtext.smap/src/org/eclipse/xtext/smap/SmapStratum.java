@@ -91,19 +91,23 @@ public class SmapStratum {
          * specified, as its necessity is sensitive to context).
          */
         public String getString() {
+            StringBuilder out = new StringBuilder();
+            appendTo(out);
+            return out.toString();
+        }
+
+        void appendTo(StringBuilder out) {
             if (inputStartLine == -1 || outputStartLine == -1)
                 throw new IllegalStateException();
-            StringBuffer out = new StringBuffer();
             out.append(inputStartLine);
             if (lineFileIDSet)
-                out.append("#" + lineFileID);
+                out.append('#').append(lineFileID);
             if (inputLineCount != 1)
-                out.append("," + inputLineCount);
-            out.append(":" + outputStartLine);
+                out.append(',').append(inputLineCount);
+            out.append(':').append(outputStartLine);
             if (outputLineIncrement != 1)
-                out.append("," + outputLineIncrement);
+                out.append(',').append(outputLineIncrement);
             out.append('\n');
-            return out.toString();
         }
 
         @Override
@@ -296,26 +300,28 @@ public class SmapStratum {
         if (fileNameList.size() == 0 || lineData.size() == 0)
             return null;
 
-        StringBuffer out = new StringBuffer();
+        StringBuilder out = new StringBuilder();
 
         // print StratumSection
-        out.append("*S " + stratumName + "\n");
+        out.append("*S ").append(stratumName).append('\n');
 
         // print FileSection
         out.append("*F\n");
         int bound = fileNameList.size();
         for (int i = 0; i < bound; i++) {
             if (filePathList.get(i) != null) {
-                out.append("+ " + i + " " + fileNameList.get(i) + "\n");
+                out.append("+ ").append(i).append(' ').append(fileNameList.get(i)).append('\n');
                 // Source paths must be relative, not absolute, so we
                 // remove the leading "/", if one exists.
                 String filePath = filePathList.get(i);
                 if (filePath.startsWith("/")) {
-                    filePath = filePath.substring(1);
+                    out.append(filePath, 1, filePath.length());
+                } else {
+                    out.append(filePath);
                 }
-                out.append(filePath + "\n");
+                out.append('\n');
             } else {
-                out.append(i + " " + fileNameList.get(i) + "\n");
+                out.append(i).append(' ').append(fileNameList.get(i)).append('\n');
             }
         }
 
@@ -324,7 +330,7 @@ public class SmapStratum {
         bound = lineData.size();
         for (int i = 0; i < bound; i++) {
             LineInfo li = lineData.get(i);
-            out.append(li.getString());
+            li.appendTo(out);
         }
 
         return out.toString();
@@ -14,6 +14,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
 import org.eclipse.xtext.LanguageInfo;
 import org.eclipse.xtext.generator.trace.AbstractTraceRegion;
 import org.eclipse.xtext.generator.trace.ITraceToBytecodeInstaller;
@@ -22,6 +23,7 @@ import org.eclipse.xtext.generator.trace.LineMappingProvider.LineMapping;
 import org.eclipse.xtext.generator.trace.SourceRelativeURI;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
 
+import com.google.common.base.Charsets;
 import com.google.inject.Inject;
 
 /**
@@ -40,6 +42,13 @@ public class TraceAsSmapInstaller implements ITraceToBytecodeInstaller {
 	
 	protected String smap;
 
+	/**
+	 * The encoded {@link #smap}. It is shared by all class files that are generated from the same Java file.
+	 */
+	private byte[] smapBytes;
+
+	private String encodedSmap;
+
 	protected String generateSmap(AbstractTraceRegion rootTraceRegion, String outputFileName) {
 		List<LineMapping> lineInfo = lineMappingProvider.getLineMapping(rootTraceRegion);
 		if (lineInfo == null || lineInfo.isEmpty())
@@ -67,7 +76,11 @@ public class TraceAsSmapInstaller implements ITraceToBytecodeInstaller {
 	public byte[] installTrace(byte[] javaClassBytecode) throws IOException {
 		if (smap == null)
 			return null;
-		byte[] updatedByteCode = new SDEInstaller(javaClassBytecode, smap.getBytes()).getUpdatedByteCode();
+		if (smap != encodedSmap) {
+			smapBytes = smap.getBytes(Charsets.UTF_8);
+			encodedSmap = smap;
+		}
+		byte[] updatedByteCode = new SDEInstaller(javaClassBytecode, smapBytes).getUpdatedByteCode();
 		return updatedByteCode;
 	}
 
@@ -80,8 +93,14 @@ public class TraceAsSmapInstaller implements ITraceToBytecodeInstaller {
 		SmapGenerator generator = new SmapGenerator();
 		generator.setOutputFileName(outputFileName);
 		Map<String, SmapStratum> strata = newHashMap();
+		// the line mappings of a Java file usually refer to a single source
+		Map<URI, String> stratumNames = newHashMap();
 		for (LineMapping lm : lineInfo) {
-			String stratumName = getStratumName(lm.source);
+			String stratumName = stratumNames.get(lm.source.getURI());
+			if (stratumName == null) {
+				stratumName = getStratumName(lm.source);
+				stratumNames.put(lm.source.getURI(), stratumName);
+			}
 			if (!"Java".equals(stratumName)) {
 				final String path = lm.source.getURI().path();
 				if (path != null) {
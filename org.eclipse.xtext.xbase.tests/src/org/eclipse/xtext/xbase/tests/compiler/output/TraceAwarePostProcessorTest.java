@@ -0,0 +1,222 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.tests.compiler.output;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.xtext.formatting.IIndentationInformation;
+import org.eclipse.xtext.formatting.ILineSeparatorInformation;
+import org.eclipse.xtext.formatting.IWhitespaceInformationProvider;
+import org.eclipse.xtext.generator.trace.AbsoluteURI;
+import org.eclipse.xtext.generator.trace.AbstractTraceRegion;
+import org.eclipse.xtext.generator.trace.ITraceURIConverter;
+import org.eclipse.xtext.generator.trace.SourceRelativeURI;
+import org.eclipse.xtext.resource.ILocationInFileProvider;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.util.ITextRegionWithLineInformation;
+import org.eclipse.xtext.util.TextRegionWithLineInformation;
+import org.eclipse.xtext.workspace.IProjectConfig;
+import org.eclipse.xtext.xbase.compiler.ImportManager;
+import org.eclipse.xtext.xbase.compiler.output.TraceAwarePostProcessor;
+import org.eclipse.xtext.xbase.compiler.output.TreeAppendable;
+import org.eclipse.xtext.xbase.jvmmodel.IJvmModelAssociations;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+
+public class TraceAwarePostProcessorTest extends Assert implements ILocationInFileProvider, IJvmModelAssociations, ITraceURIConverter {
+
+	public static class TestablePostProcessor extends TraceAwarePostProcessor {
+		@Override
+		public boolean needsReplacement(String string, String lineSeparator) {
+			return super.needsReplacement(string, lineSeparator);
+		}
+	}
+
+	private EClass content;
+	private int nextOffset;
+
+	@Before
+	public void createResource() {
+		content = EcoreFactory.eINSTANCE.createEClass();
+		Resource resource = new XtextResource(URI.createURI("platform:/resource/test"));
+		resource.getContents().add(content);
+	}
+
+	@Test
+	public void testNeedsReplacement() {
+		TestablePostProcessor postProcessor = new TestablePostProcessor();
+		assertFalse(postProcessor.needsReplacement("token", "\n"));
+		assertFalse(postProcessor.needsReplacement("token", "\r\n"));
+		assertFalse(postProcessor.needsReplacement("a\nb", "\n"));
+		assertTrue(postProcessor.needsReplacement("a\nb", "\r\n"));
+		assertTrue(postProcessor.needsReplacement("a\r\nb", "\n"));
+		assertTrue(postProcessor.needsReplacement("a\r\nb", "\r\n"));
+		assertTrue(postProcessor.needsReplacement("a\rb", "\n"));
+		assertTrue(postProcessor.needsReplacement("a\rb", "\r\n"));
+	}
+
+	@Test
+	public void testUnixToUnix() {
+		assertPostProcessed("\n", "\n");
+	}
+
+	@Test
+	public void testUnixToWindows() {
+		assertPostProcessed("\n", "\r\n");
+	}
+
+	@Test
+	public void testWindowsToUnix() {
+		assertPostProcessed("\r\n", "\n");
+	}
+
+	@Test
+	public void testWindowsToWindows() {
+		assertPostProcessed("\r\n", "\r\n");
+	}
+
+	@Test
+	public void testMacToUnix() {
+		assertPostProcessed("\r", "\n");
+	}
+
+	@Test
+	public void testMacToWindows() {
+		assertPostProcessed("\r", "\r\n");
+	}
+
+	protected void assertPostProcessed(String sourceSeparator, String targetSeparator) {
+		TreeAppendable appendable = new TreeAppendable(new ImportManager(false), this, this, this, content, "  ", sourceSeparator);
+		appendable.append("class Foo {").increaseIndentation();
+		appendable.newLine().trace(content).append("int a;");
+		appendable.newLine().trace(content).append("int b;");
+		appendable.decreaseIndentation().newLine().append("}");
+
+		CharSequence result = createPostProcessor(targetSeparator).postProcess(URI.createURI("Foo.java"), appendable);
+		String expected = "class Foo {\n  int a;\n  int b;\n}".replace("\n", targetSeparator);
+		assertEquals(expected, result.toString());
+
+		AbstractTraceRegion original = appendable.getTraceRegion();
+		AbstractTraceRegion processed = ((TreeAppendable) result).getTraceRegion();
+		assertEquals(0, processed.getMyOffset());
+		assertEquals(expected.length(), processed.getMyLength());
+		assertEquals(original.getMyLineNumber(), processed.getMyLineNumber());
+		assertEquals(original.getMyEndLineNumber(), processed.getMyEndLineNumber());
+		assertEquals(original.getMergedAssociatedLocation(), processed.getMergedAssociatedLocation());
+		List<AbstractTraceRegion> originalChildren = original.getNestedRegions();
+		List<AbstractTraceRegion> processedChildren = processed.getNestedRegions();
+		assertEquals(2, processedChildren.size());
+		assertEquals(originalChildren.size(), processedChildren.size());
+		String[] tokens = { "int a;", "int b;" };
+		for (int i = 0; i < processedChildren.size(); i++) {
+			AbstractTraceRegion originalChild = originalChildren.get(i);
+			AbstractTraceRegion processedChild = processedChildren.get(i);
+			assertEquals(expected.indexOf(tokens[i]), processedChild.getMyOffset());
+			assertEquals(tokens[i].length(), processedChild.getMyLength());
+			assertEquals(originalChild.getMyLineNumber(), processedChild.getMyLineNumber());
+			assertEquals(originalChild.getMyEndLineNumber(), processedChild.getMyEndLineNumber());
+			assertEquals(originalChild.getMergedAssociatedLocation(), processedChild.getMergedAssociatedLocation());
+			if (sourceSeparator.equals(targetSeparator)) {
+				assertEquals(originalChild.getMyOffset(), processedChild.getMyOffset());
+			}
+		}
+	}
+
+	protected TraceAwarePostProcessor createPostProcessor(final String lineSeparator) {
+		final IWhitespaceInformationProvider whitespaceInformationProvider = new IWhitespaceInformationProvider() {
+			@Override
+			public ILineSeparatorInformation getLineSeparatorInformation(URI uri) {
+				return new ILineSeparatorInformation() {
+					@Override
+					public String getLineSeparator() {
+						return lineSeparator;
+					}
+				};
+			}
+
+			@Override
+			public IIndentationInformation getIndentationInformation(URI uri) {
+				throw new UnsupportedOperationException();
+			}
+		};
+		return Guice.createInjector(new AbstractModule() {
+			@Override
+			protected void configure() {
+				bind(IWhitespaceInformationProvider.class).toInstance(whitespaceInformationProvider);
+			}
+		}).getInstance(TraceAwarePostProcessor.class);
+	}
+
+	@Override
+	public ITextRegionWithLineInformation getSignificantTextRegion(EObject obj) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public ITextRegionWithLineInformation getSignificantTextRegion(EObject owner, EStructuralFeature feature, int indexInList) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public ITextRegionWithLineInformation getFullTextRegion(EObject obj) {
+		return new TextRegionWithLineInformation(nextOffset++, 1, 1, 1);
+	}
+
+	@Override
+	public ITextRegionWithLineInformation getFullTextRegion(EObject owner, EStructuralFeature feature, int indexInList) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Set<EObject> getSourceElements(EObject jvmElement) {
+		return Collections.emptySet();
+	}
+
+	@Override
+	public Set<EObject> getJvmElements(EObject sourceElement) {
+		return Collections.emptySet();
+	}
+
+	@Override
+	public EObject getPrimarySourceElement(EObject jvmElement) {
+		return null;
+	}
+
+	@Override
+	public SourceRelativeURI getURIForTrace(IProjectConfig projectConfig, AbsoluteURI qualifiedURI) {
+		return new SourceRelativeURI(URI.createURI(qualifiedURI.getURI().path()));
+	}
+
+	@Override
+	public SourceRelativeURI getURIForTrace(Resource resource) {
+		return SourceRelativeURI.fromAbsolute(resource.getURI());
+	}
+
+	@Override
+	public EObject getPrimaryJvmElement(EObject sourceElement) {
+		return null;
+	}
+
+	@Override
+	public boolean isPrimaryJvmElement(EObject jvmElement) {
+		return false;
+	}
+
+}
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.tests.resources;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.resource.SynchronizedXtextResourceSet;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.StringInputStream;
+import org.eclipse.xtext.xbase.XBinaryOperation;
+import org.eclipse.xtext.xbase.XBlockExpression;
+import org.eclipse.xtext.xbase.XMemberFeatureCall;
+import org.eclipse.xtext.xbase.resource.BatchLinkableResource;
+import org.eclipse.xtext.xbase.testing.SynchronizedXtextResourceSetProvider;
+import org.eclipse.xtext.xbase.tests.AbstractXbaseTestCase;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class BatchLinkableResourceConcurrencyTest extends AbstractXbaseTestCase {
+
+	private static final int RESOURCES = 8;
+
+	private static final int THREADS = 8;
+
+	private static final int ITERATIONS = 200;
+
+	public static class LockFreeContentsResource extends BatchLinkableResource {
+		@Override
+		protected boolean isLockFreeContentsAccess() {
+			return true;
+		}
+	}
+
+	@Test(timeout = 60000)
+	public void testConcurrentReadersAndLinking() throws Exception {
+		SynchronizedXtextResourceSet resourceSet = get(SynchronizedXtextResourceSetProvider.class).get();
+		final List<BatchLinkableResource> resources = Lists.newArrayList();
+		for(int i = 0; i < RESOURCES; i++) {
+			BatchLinkableResource resource = new LockFreeContentsResource();
+			getInjector().injectMembers(resource);
+			resource.setURI(URI.createURI("__synthetic" + i + ".___xbase"));
+			resourceSet.getResources().add(resource);
+			resource.load(new StringInputStream("{ val list = newArrayList('" + i + "') list.head.length + " + i + " }"), null);
+			resources.add(resource);
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<?>> futures = Lists.newArrayList();
+			for(int i = 0; i < THREADS; i++) {
+				final int offset = i;
+				futures.add(executor.submit(new Callable<Void>() {
+					@Override
+					public Void call() throws Exception {
+						for(int j = 0; j < ITERATIONS; j++) {
+							BatchLinkableResource resource = resources.get((offset + j) % RESOURCES);
+							if ((offset + j) % 3 == 0) {
+								resource.resolveLazyCrossReferences(CancelIndicator.NullImpl);
+							}
+							EObject root = resource.getContents().get(0);
+							assertSame(root, resource.getEObject(resource.getURIFragment(root)));
+						}
+						return null;
+					}
+				}));
+			}
+			for(Future<?> future: futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		}
+		for(BatchLinkableResource resource: resources) {
+			assertTrue(resource.getErrors().toString(), resource.getErrors().isEmpty());
+			XBlockExpression block = (XBlockExpression) resource.getContents().get(0);
+			XBinaryOperation plus = (XBinaryOperation) block.getExpressions().get(1);
+			XMemberFeatureCall length = (XMemberFeatureCall) plus.getLeftOperand();
+			assertEquals("length", length.getFeature().getSimpleName());
+		}
+	}
+
+}
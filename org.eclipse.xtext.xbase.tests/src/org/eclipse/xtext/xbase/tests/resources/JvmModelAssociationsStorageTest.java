@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.tests.resources;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.Collections;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.xtext.common.types.JvmGenericType;
+import org.eclipse.xtext.common.types.JvmOperation;
+import org.eclipse.xtext.common.types.TypesFactory;
+import org.eclipse.xtext.xbase.XBlockExpression;
+import org.eclipse.xtext.xbase.XExpression;
+import org.eclipse.xtext.xbase.jvmmodel.JvmModelAssociator;
+import org.eclipse.xtext.xbase.resource.JvmModelAssociationsStorage;
+import org.eclipse.xtext.xbase.tests.AbstractXbaseTestCase;
+import org.junit.Test;
+
+import com.google.common.collect.Sets;
+
+public class JvmModelAssociationsStorageTest extends AbstractXbaseTestCase {
+
+	@Test public void testRoundTrip() throws Exception {
+		XBlockExpression block = (XBlockExpression) expression("{ val x = 1 x + 2 }");
+		Resource resource = block.eResource();
+		JvmGenericType type = TypesFactory.eINSTANCE.createJvmGenericType();
+		type.setSimpleName("Inferred");
+		JvmOperation operation = TypesFactory.eINSTANCE.createJvmOperation();
+		operation.setSimpleName("op");
+		type.getMembers().add(operation);
+		resource.getContents().add(type);
+
+		XExpression first = block.getExpressions().get(0);
+		XExpression second = block.getExpressions().get(1);
+		JvmModelAssociator.Adapter adapter = new JvmModelAssociator.Adapter();
+		adapter.logicalContainerMap.put(block, operation);
+		adapter.sourceToTargetMap.put(block, Sets.<EObject>newLinkedHashSet(Collections.singleton(type)));
+		adapter.sourceToTargetMap.put(first, Sets.<EObject>newLinkedHashSet(Collections.singleton(operation)));
+		adapter.targetToSourceMap.put(type, Sets.<EObject>newLinkedHashSet(Collections.singleton(block)));
+		adapter.targetToSourceMap.put(operation, Sets.<EObject>newLinkedHashSet(Collections.singleton(second)));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new JvmModelAssociationsStorage().write(resource, adapter, out);
+		BufferedInputStream in = new BufferedInputStream(new ByteArrayInputStream(out.toByteArray()));
+		assertTrue(JvmModelAssociationsStorage.isCompactFormat(in));
+
+		JvmModelAssociator.Adapter loaded = new JvmModelAssociator.Adapter();
+		new JvmModelAssociationsStorage().read(resource, loaded, in);
+		assertEquals(adapter.logicalContainerMap, loaded.logicalContainerMap);
+		assertEquals(adapter.sourceToTargetMap, loaded.sourceToTargetMap);
+		assertEquals(adapter.targetToSourceMap, loaded.targetToSourceMap);
+	}
+
+	@Test public void testMismatchingContents() throws Exception {
+		XBlockExpression block = (XBlockExpression) expression("{ val x = 1 x + 2 }");
+		Resource resource = block.eResource();
+		JvmGenericType type = TypesFactory.eINSTANCE.createJvmGenericType();
+		type.setSimpleName("Inferred");
+		resource.getContents().add(type);
+		JvmModelAssociator.Adapter adapter = new JvmModelAssociator.Adapter();
+		adapter.sourceToTargetMap.put(block, Sets.<EObject>newLinkedHashSet(Collections.singleton(type)));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new JvmModelAssociationsStorage().write(resource, adapter, out);
+		resource.getContents().remove(type);
+		try {
+			new JvmModelAssociationsStorage().read(resource, new JvmModelAssociator.Adapter(),
+					new BufferedInputStream(new ByteArrayInputStream(out.toByteArray())));
+			fail("Expected IOException");
+		} catch (IOException e) {
+			// expected
+		}
+	}
+
+	@Test public void testLegacyFormatIsDetected() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ObjectOutputStream objOut = new ObjectOutputStream(out);
+		objOut.writeObject(Collections.emptyMap());
+		objOut.flush();
+		BufferedInputStream in = new BufferedInputStream(new ByteArrayInputStream(out.toByteArray()));
+		assertFalse(JvmModelAssociationsStorage.isCompactFormat(in));
+		assertEquals(0xAC, in.read());
+	}
+
+}
@@ -17,6 +17,8 @@ import java.util.HashMap
 import java.util.Map
 import org.eclipse.emf.common.util.URI
 import org.eclipse.emf.ecore.resource.impl.ExtensibleURIConverterImpl
+import org.eclipse.xtext.common.types.JvmGenericType
+import org.eclipse.xtext.common.types.TypesFactory
 import org.eclipse.xtext.nodemodel.util.NodeModelUtils
 import org.eclipse.xtext.resource.persistence.IResourceStorageFacade
 import org.eclipse.xtext.resource.persistence.ResourceStorageFacade
@@ -26,6 +28,7 @@ import org.eclipse.xtext.testing.XtextRunner
 import org.eclipse.xtext.util.StringInputStream
 import org.eclipse.xtext.xbase.XBlockExpression
 import org.eclipse.xtext.xbase.XExpression
+import org.eclipse.xtext.xbase.jvmmodel.JvmModelAssociator
 import org.eclipse.xtext.xbase.resource.BatchLinkableResourceStorageFacade
 import org.eclipse.xtext.xbase.tests.AbstractXbaseTestCase
 import org.eclipse.xtext.xbase.tests.XbaseInjectorProvider
@@ -157,4 +160,49 @@ class ResourceStorageTest extends AbstractXbaseTestCase {
 		assertFalse(originalNodes.hasNext)
 	}
 	
+	@Test def void testWriteAndLoadAssociations() {
+		val block = expression('''{ val x = 1 x + 2 }''') as XBlockExpression
+		val original = block.eResource as StorageAwareResource
+		val operation = TypesFactory.eINSTANCE.createJvmOperation => [
+			simpleName = "op"
+		]
+		val type = TypesFactory.eINSTANCE.createJvmGenericType => [
+			simpleName = "Inferred"
+			members += operation
+		]
+		original.contents += type
+		val adapter = new JvmModelAssociator.Adapter
+		adapter.logicalContainerMap.put(block, operation)
+		adapter.sourceToTargetMap.put(block, newLinkedHashSet(type))
+		adapter.sourceToTargetMap.put(block.expressions.head, newLinkedHashSet(operation))
+		adapter.targetToSourceMap.put(type, newLinkedHashSet(block))
+		adapter.targetToSourceMap.put(operation, newLinkedHashSet(block.expressions.last))
+		original.eAdapters += adapter
+		
+		val bout = new ByteArrayOutputStream
+		(resourceStorageFacade as ResourceStorageFacade).storeNodeModel = false
+		resourceStorageFacade.createResourceStorageWritable(bout).writeResource(original)
+		
+		val in = resourceStorageFacade.createResourceStorageLoadable(new ByteArrayInputStream(bout.toByteArray))
+		val resource = original.resourceSet.createResource(URI.createURI("synthetic:/Associations.___xbase")) as StorageAwareResource
+		resource.loadFromStorage(in)
+		assertTrue(resource.isLoadedFromStorage)
+		
+		val loadedBlock = resource.contents.head as XBlockExpression
+		val loadedType = resource.contents.get(1) as JvmGenericType
+		val loadedOperation = loadedType.members.head
+		assertEquals("Inferred", loadedType.simpleName)
+		
+		val loaded = resource.eAdapters.filter(JvmModelAssociator.Adapter).head
+		assertNotNull(loaded)
+		assertEquals(1, loaded.logicalContainerMap.size)
+		assertSame(loadedOperation, loaded.logicalContainerMap.get(loadedBlock))
+		assertEquals(2, loaded.sourceToTargetMap.size)
+		assertEquals(#{loadedType}, loaded.sourceToTargetMap.get(loadedBlock))
+		assertEquals(#{loadedOperation}, loaded.sourceToTargetMap.get(loadedBlock.expressions.head))
+		assertEquals(2, loaded.targetToSourceMap.size)
+		assertEquals(#{loadedBlock}, loaded.targetToSourceMap.get(loadedType))
+		assertEquals(#{loadedBlock.expressions.last}, loaded.targetToSourceMap.get(loadedOperation))
+	}
+	
 }
\ No newline at end of file
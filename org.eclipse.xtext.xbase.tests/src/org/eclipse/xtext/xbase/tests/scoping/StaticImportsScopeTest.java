@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.tests.scoping;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.xtext.common.types.JvmDeclaredType;
+import org.eclipse.xtext.common.types.JvmFeature;
+import org.eclipse.xtext.common.types.JvmField;
+import org.eclipse.xtext.common.types.JvmGenericType;
+import org.eclipse.xtext.common.types.JvmOperation;
+import org.eclipse.xtext.common.types.JvmType;
+import org.eclipse.xtext.common.types.TypesFactory;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.scoping.IScope;
+import org.eclipse.xtext.xbase.scoping.batch.AbstractStaticImportsScope;
+import org.eclipse.xtext.xbase.scoping.batch.BucketedEObjectDescription;
+import org.eclipse.xtext.xbase.scoping.batch.IBatchScopeProvider;
+import org.eclipse.xtext.xbase.scoping.batch.IFeatureScopeSession;
+import org.eclipse.xtext.xbase.scoping.batch.StaticFeatureDescription;
+import org.eclipse.xtext.xbase.scoping.batch.TypeBucket;
+import org.eclipse.xtext.xbase.tests.AbstractXbaseTestCase;
+import org.eclipse.xtext.xbase.typesystem.override.IResolvedFeatures;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.inject.Inject;
+
+public class StaticImportsScopeTest extends AbstractXbaseTestCase {
+
+	@Inject
+	private IBatchScopeProvider batchScopeProvider;
+
+	private IFeatureScopeSession session;
+
+	private JvmGenericType type;
+
+	private TypeBucket bucket;
+
+	private int lookups;
+
+	@Before
+	public void setUp() throws Exception {
+		session = batchScopeProvider.newSession(expression("null").eResource());
+		type = TypesFactory.eINSTANCE.createJvmGenericType();
+		type.setSimpleName("Foo");
+		type.getMembers().add(createField("bar", true));
+		type.getMembers().add(createOperation("getBar", true));
+		type.getMembers().add(createField("getBaz", true));
+		type.getMembers().add(createOperation("baz", false));
+		bucket = new TypeBucket(1, Collections.singletonList(type), null);
+	}
+
+	@Test
+	public void testHit() {
+		TestableStaticImportsScope scope = new TestableStaticImportsScope(bucket);
+		List<IEObjectDescription> elements = Lists.newArrayList(scope.getElements(QualifiedName.create("bar")));
+		assertEquals(2, elements.size());
+		assertEquals("bar", ((JvmFeature) elements.get(0).getEObjectOrProxy()).getSimpleName());
+		assertEquals("getBar", ((JvmFeature) elements.get(1).getEObjectOrProxy()).getSimpleName());
+		assertEquals(2, lookups);
+
+		assertEquals(2, Lists.newArrayList(scope.getElements(QualifiedName.create("bar"))).size());
+		assertEquals("The features were looked up again", 2, lookups);
+
+		TestableStaticImportsScope otherScope = new TestableStaticImportsScope(bucket);
+		assertEquals(2, Lists.newArrayList(otherScope.getElements(QualifiedName.create("bar"))).size());
+		assertEquals("The index of the bucket was not shared", 2, lookups);
+	}
+
+	@Test
+	public void testMiss() {
+		TestableStaticImportsScope scope = new TestableStaticImportsScope(bucket);
+		assertTrue(Lists.newArrayList(scope.getElements(QualifiedName.create("unknown"))).isEmpty());
+		assertEquals(2, lookups);
+		assertTrue(Lists.newArrayList(scope.getElements(QualifiedName.create("unknown"))).isEmpty());
+		assertEquals("The missing names were looked up again", 2, lookups);
+	}
+
+	@Test
+	public void testOrder() {
+		TestableStaticImportsScope scope = new TestableStaticImportsScope(bucket);
+		// order 1 does not filter the static field, order 2 only accepts operations
+		assertTrue(Lists.newArrayList(scope.getElements(QualifiedName.create("baz"))).isEmpty());
+		List<IEObjectDescription> elements = Lists.newArrayList(scope.getElements(QualifiedName.create("getBaz")));
+		assertEquals(1, elements.size());
+		assertTrue(elements.get(0).getEObjectOrProxy() instanceof JvmField);
+	}
+
+	@Test
+	public void testBucketsDoNotShareTheIndex() {
+		new TestableStaticImportsScope(bucket).getElements(QualifiedName.create("bar"));
+		assertEquals(2, lookups);
+		TypeBucket otherBucket = new TypeBucket(2, Collections.singletonList(type), null);
+		new TestableStaticImportsScope(otherBucket).getElements(QualifiedName.create("bar"));
+		assertEquals(4, lookups);
+	}
+
+	protected JvmField createField(String name, boolean isStatic) {
+		JvmField result = TypesFactory.eINSTANCE.createJvmField();
+		result.setSimpleName(name);
+		result.setStatic(isStatic);
+		return result;
+	}
+
+	protected JvmOperation createOperation(String name, boolean isStatic) {
+		JvmOperation result = TypesFactory.eINSTANCE.createJvmOperation();
+		result.setSimpleName(name);
+		result.setStatic(isStatic);
+		return result;
+	}
+
+	/**
+	 * Accepts the requested name with order 1 and its getter name with order 2.
+	 */
+	protected class TestableStaticImportsScope extends AbstractStaticImportsScope {
+
+		private final TypeBucket bucket;
+
+		public TestableStaticImportsScope(TypeBucket bucket) {
+			super(IScope.NULLSCOPE, session, null, null);
+			this.bucket = bucket;
+		}
+
+		@Override
+		protected List<TypeBucket> getBuckets() {
+			return Collections.singletonList(bucket);
+		}
+
+		@Override
+		protected void processFeatureNames(QualifiedName name, NameAcceptor acceptor) {
+			String simpleName = name.toString();
+			acceptor.accept(simpleName, 1);
+			acceptor.accept("get" + Character.toUpperCase(simpleName.charAt(0)) + simpleName.substring(1), 2);
+		}
+
+		@Override
+		protected List<JvmFeature> findAllFeaturesByName(JvmType type, String simpleName,
+				IResolvedFeatures.Provider resolvedFeaturesProvider) {
+			lookups++;
+			return Lists.newArrayList(((JvmDeclaredType) type).findAllFeaturesByName(simpleName));
+		}
+
+		@Override
+		protected BucketedEObjectDescription createDescription(QualifiedName name, JvmFeature feature, TypeBucket bucket) {
+			return new StaticFeatureDescription(name, feature, bucket.getId(), true);
+		}
+	}
+
+}
@@ -0,0 +1,235 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.tests.smap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.xtext.smap.SDEInstaller;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * The class files are assembled by hand, since the installer only looks at the structure of the class file. The
+ * expected result is assembled in the same way.
+ */
+public class SDEInstallerTest extends Assert {
+
+	private static final String SDE = "SourceDebugExtension";
+
+	private static final byte[] SMAP = "SMAP\nFoo.java\nXtend\n*E\n".getBytes(StandardCharsets.UTF_8);
+
+	private static final byte[] OTHER_SMAP = "SMAP\nBar.java\nXtend\n*E\n".getBytes(StandardCharsets.UTF_8);
+
+	@Test
+	public void testInstall() throws IOException {
+		ClassFileBuilder original = createClass();
+		ClassFileBuilder expected = createClass();
+		expected.attribute(expected.utf8(SDE), SMAP);
+		assertArrayEquals(expected.toByteArray(), install(original.toByteArray(), SMAP));
+	}
+
+	@Test
+	public void testReplaceExistingSourceDebugExtension() throws IOException {
+		ClassFileBuilder original = createClass();
+		int sdeIndex = original.utf8(SDE);
+		original.attribute(sdeIndex, OTHER_SMAP);
+		original.attribute(original.utf8("Deprecated"), new byte[0]);
+
+		ClassFileBuilder expected = createClass();
+		expected.utf8(SDE);
+		expected.attribute(expected.utf8("Deprecated"), new byte[0]);
+		expected.attribute(sdeIndex, SMAP);
+		assertArrayEquals(expected.toByteArray(), install(original.toByteArray(), SMAP));
+	}
+
+	@Test
+	public void testInstallTwice() throws IOException {
+		byte[] original = createClass().toByteArray();
+		byte[] installedOnce = install(original, SMAP);
+		assertArrayEquals(installedOnce, install(install(original, OTHER_SMAP), SMAP));
+		assertArrayEquals(installedOnce, install(installedOnce, SMAP));
+	}
+
+	@Test
+	public void testSymbolWithoutAttribute() throws IOException {
+		ClassFileBuilder original = createClass();
+		int sdeIndex = original.utf8(SDE);
+
+		ClassFileBuilder expected = createClass();
+		expected.utf8(SDE);
+		expected.attribute(sdeIndex, SMAP);
+		assertArrayEquals(expected.toByteArray(), install(original.toByteArray(), SMAP));
+	}
+
+	@Test
+	public void testConstantPoolTags() throws IOException {
+		ClassFileBuilder original = createClass();
+		addConstants(original);
+		ClassFileBuilder expected = createClass();
+		addConstants(expected);
+		expected.attribute(expected.utf8(SDE), SMAP);
+		assertArrayEquals(expected.toByteArray(), install(original.toByteArray(), SMAP));
+	}
+
+	@Test
+	public void testDynamicConstant() throws IOException {
+		assertConstantCopied(17, 0, 1, 0, 5);
+	}
+
+	@Test
+	public void testModuleConstant() throws IOException {
+		assertConstantCopied(19, 0, 1);
+	}
+
+	@Test
+	public void testPackageConstant() throws IOException {
+		assertConstantCopied(20, 0, 1);
+	}
+
+	@Test(expected = IOException.class)
+	public void testUnknownConstant() throws IOException {
+		ClassFileBuilder original = createClass();
+		original.constant(42, 0, 1);
+		install(original.toByteArray(), SMAP);
+	}
+
+	protected void assertConstantCopied(int tag, int... info) throws IOException {
+		ClassFileBuilder original = createClass();
+		original.constant(tag, info);
+		ClassFileBuilder expected = createClass();
+		expected.constant(tag, info);
+		expected.attribute(expected.utf8(SDE), SMAP);
+		assertArrayEquals(expected.toByteArray(), install(original.toByteArray(), SMAP));
+	}
+
+	protected void addConstants(ClassFileBuilder builder) throws IOException {
+		int name = builder.utf8("run");
+		int descriptor = builder.utf8("()V");
+		int nameAndType = builder.constant(12, 0, name, 0, descriptor);
+		int methodHandle = builder.constant(15, 6, 0, 1);
+		builder.constant(10, 0, 2, 0, nameAndType); // Method
+		builder.constant(3, 0, 0, 0, 42); // Integer
+		builder.constant(6, 0, 0, 0, 0, 0, 0, 0, 1); // Double
+		builder.constant(8, 0, name); // String
+		builder.constant(16, 0, descriptor); // MethodType
+		builder.constant(17, 0, 0, 0, nameAndType); // Dynamic
+		builder.constant(18, 0, 0, 0, nameAndType); // InvokeDynamic
+		builder.constant(19, 0, name); // Module
+		builder.constant(20, 0, name); // Package
+		builder.constant(5, 0, 0, 0, 0, 0, 0, 0, 2); // Long
+		builder.constant(4, 0, 0, 0, 0); // Float
+		builder.utf8("\u00e4\u0000\ud83d\ude00");
+		builder.constant(15, 6, methodHandle >> 8, methodHandle & 0xFF);
+	}
+
+	protected ClassFileBuilder createClass() throws IOException {
+		ClassFileBuilder result = new ClassFileBuilder();
+		result.constant(7, 0, result.utf8("Foo")); // #2 Class
+		result.constant(7, 0, result.utf8("java/lang/Object")); // #4 Class
+		int code = result.utf8("Code");
+		result.member(result.utf8("run"), result.utf8("()V"), code, new byte[] { 0, 0, 0, 1, 0, 0, 0, 1, -79, 0, 0, 0, 0 });
+		result.member(result.utf8("hashCode"), result.utf8("()I"), result.utf8("Synthetic"), new byte[0]);
+		result.attribute(result.utf8("SourceFile"), new byte[] { 0, 1 });
+		return result;
+	}
+
+	protected byte[] install(byte[] classFile, byte[] smap) throws IOException {
+		return new SDEInstaller(classFile, smap).getUpdatedByteCode();
+	}
+
+	protected static class ClassFileBuilder {
+
+		private final ByteArrayOutputStream constantPool = new ByteArrayOutputStream();
+
+		private final DataOutputStream constantPoolOut = new DataOutputStream(constantPool);
+
+		private int constantPoolCount = 1;
+
+		private final ByteArrayOutputStream members = new ByteArrayOutputStream();
+
+		private final DataOutputStream membersOut = new DataOutputStream(members);
+
+		private int memberCount;
+
+		private final List<byte[]> attributes = new ArrayList<byte[]>();
+
+		public int utf8(String value) throws IOException {
+			constantPoolOut.writeByte(1);
+			constantPoolOut.writeUTF(value);
+			return constantPoolCount++;
+		}
+
+		/**
+		 * Adds a constant with the given tag and the given unsigned bytes. Long and Double constants take two slots.
+		 */
+		public int constant(int tag, int... info) throws IOException {
+			constantPoolOut.writeByte(tag);
+			for (int b : info) {
+				constantPoolOut.writeByte(b);
+			}
+			int result = constantPoolCount;
+			constantPoolCount += tag == 5 || tag == 6 ? 2 : 1;
+			return result;
+		}
+
+		/**
+		 * Adds a method with a single attribute.
+		 */
+		public void member(int name, int descriptor, int attributeName, byte[] attributeContent) throws IOException {
+			membersOut.writeShort(0x0001);
+			membersOut.writeShort(name);
+			membersOut.writeShort(descriptor);
+			membersOut.writeShort(1);
+			membersOut.write(encodeAttribute(attributeName, attributeContent));
+			memberCount++;
+		}
+
+		public void attribute(int name, byte[] content) throws IOException {
+			attributes.add(encodeAttribute(name, content));
+		}
+
+		private byte[] encodeAttribute(int name, byte[] content) throws IOException {
+			ByteArrayOutputStream result = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(result);
+			out.writeShort(name);
+			out.writeInt(content.length);
+			out.write(content);
+			return result.toByteArray();
+		}
+
+		public byte[] toByteArray() throws IOException {
+			ByteArrayOutputStream result = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(result);
+			out.writeInt(0xCAFEBABE);
+			out.writeShort(0); // minor version
+			out.writeShort(55); // major version
+			out.writeShort(constantPoolCount);
+			out.write(constantPool.toByteArray());
+			out.writeShort(0x0021); // public super
+			out.writeShort(2); // this
+			out.writeShort(4); // super
+			out.writeShort(1); // interfaces
+			out.writeShort(4);
+			out.writeShort(0); // fields
+			out.writeShort(memberCount); // methods
+			out.write(members.toByteArray());
+			out.writeShort(attributes.size());
+			for (byte[] attribute : attributes) {
+				out.write(attribute);
+			}
+			return result.toByteArray();
+		}
+
+	}
+
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.tests.smap;
+
+import org.eclipse.xtext.smap.SmapGenerator;
+import org.eclipse.xtext.smap.SmapStratum;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SmapGeneratorTest extends Assert {
+
+	@Test
+	public void testGetString() {
+		SmapGenerator generator = new SmapGenerator();
+		generator.setOutputFileName("foo.java");
+		SmapStratum stratum = new SmapStratum("JSP");
+		stratum.addFile("foo.jsp");
+		stratum.addFile("bar.jsp", "/foo/foo/bar.jsp");
+		stratum.addLineData(1, "foo.jsp", 1, 1, 1);
+		stratum.addLineData(2, "foo.jsp", 1, 6, 1);
+		stratum.addLineData(3, "foo.jsp", 2, 10, 5);
+		stratum.addLineData(20, "bar.jsp", 1, 30, 1);
+		generator.addStratum(stratum, true);
+		assertEquals(
+				"SMAP\n" +
+				"foo.java\n" +
+				"JSP\n" +
+				"*S JSP\n" +
+				"*F\n" +
+				"+ 0 foo.jsp\n" +
+				"foo.jsp\n" +
+				"+ 1 bar.jsp\n" +
+				"foo/foo/bar.jsp\n" +
+				"*L\n" +
+				"1:1\n" +
+				"2:6\n" +
+				"3,2:10,5\n" +
+				"20#1:30\n" +
+				"*E\n", generator.getString());
+	}
+
+	@Test
+	public void testEmbedded() {
+		SmapGenerator embedded = new SmapGenerator();
+		embedded.setOutputFileName("blargh.tier2");
+		SmapStratum stratum = new SmapStratum("Tier2");
+		stratum.addFile("1.tier2");
+		stratum.addLineData(1, "1.tier2", 1, 1, 1);
+		embedded.addStratum(stratum, true);
+
+		SmapGenerator generator = new SmapGenerator();
+		generator.setOutputFileName("foo.java");
+		generator.addSmap(embedded.getString(), "JSP");
+		assertEquals(
+				"SMAP\n" +
+				"foo.java\n" +
+				"Java\n" +
+				"*O JSP\n" +
+				"SMAP\n" +
+				"blargh.tier2\n" +
+				"Tier2\n" +
+				"*S Tier2\n" +
+				"*F\n" +
+				"+ 0 1.tier2\n" +
+				"1.tier2\n" +
+				"*L\n" +
+				"1:1\n" +
+				"*E\n" +
+				"*C JSP\n" +
+				"*E\n", generator.getString());
+	}
+
+	@Test
+	public void testStratumOverridesGetString() {
+		SmapGenerator generator = new SmapGenerator();
+		generator.setOutputFileName("foo.java");
+		generator.addStratum(new SmapStratum("Custom") {
+			@Override
+			public String getString() {
+				return "*S Custom\n";
+			}
+		}, true);
+		assertEquals("SMAP\nfoo.java\nCustom\n*S Custom\n*E\n", generator.getString());
+	}
+
+}
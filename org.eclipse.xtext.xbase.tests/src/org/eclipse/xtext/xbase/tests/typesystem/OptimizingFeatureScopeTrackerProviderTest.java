@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.tests.typesystem;
+
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsProvider;
+import org.eclipse.xtext.xbase.XExpression;
+import org.eclipse.xtext.xbase.tests.AbstractXbaseTestCase;
+import org.eclipse.xtext.xbase.typesystem.internal.FeatureScopeTracker;
+import org.eclipse.xtext.xbase.typesystem.internal.IFeatureScopeTracker;
+import org.eclipse.xtext.xbase.typesystem.internal.OptimizingFeatureScopeTrackerProvider;
+import org.junit.Test;
+
+public class OptimizingFeatureScopeTrackerProviderTest extends AbstractXbaseTestCase {
+
+	private final OptimizingFeatureScopeTrackerProvider provider = new OptimizingFeatureScopeTrackerProvider();
+
+	@Test public void testPrimaryResourceIsTracked() throws Exception {
+		XExpression expression = expression("1");
+		IFeatureScopeTracker tracker = provider.track(expression);
+		assertTrue(tracker instanceof FeatureScopeTracker);
+		assertEquals(0, ((FeatureScopeTracker) tracker).getRecordedScopeCount());
+	}
+
+	@Test public void testBatchCompilation() throws Exception {
+		XExpression expression = expression("1");
+		expression.eResource().getResourceSet().getLoadOptions().put(OptimizingFeatureScopeTrackerProvider.BATCH_COMPILATION, Boolean.TRUE);
+		assertSame(IFeatureScopeTracker.NULL, provider.track(expression));
+	}
+
+	@Test public void testBatchCompilationByPlainKey() throws Exception {
+		XExpression expression = expression("1");
+		// the key that batch compilers like the standalone builder set without depending on xbase
+		expression.eResource().getResourceSet().getLoadOptions().put("org.eclipse.xtext.BATCH_COMPILATION", Boolean.TRUE);
+		assertSame(IFeatureScopeTracker.NULL, provider.track(expression));
+	}
+
+	@Test public void testBatchCompilationWinsOverLiveScope() throws Exception {
+		XExpression expression = expression("1");
+		expression.eResource().getResourceSet().getLoadOptions().put(ResourceDescriptionsProvider.LIVE_SCOPE, Boolean.TRUE);
+		expression.eResource().getResourceSet().getLoadOptions().put(OptimizingFeatureScopeTrackerProvider.BATCH_COMPILATION, Boolean.TRUE);
+		assertSame(IFeatureScopeTracker.NULL, provider.track(expression));
+	}
+
+}
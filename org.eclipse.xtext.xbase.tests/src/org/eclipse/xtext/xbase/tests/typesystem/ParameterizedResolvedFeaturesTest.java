@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.tests.typesystem;
+
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.xtext.common.types.JvmFeature;
+import org.eclipse.xtext.common.types.JvmFormalParameter;
+import org.eclipse.xtext.common.types.JvmGenericType;
+import org.eclipse.xtext.common.types.JvmOperation;
+import org.eclipse.xtext.common.types.JvmTypeParameter;
+import org.eclipse.xtext.common.types.TypesFactory;
+import org.eclipse.xtext.common.types.util.TypeReferences;
+import org.eclipse.xtext.xbase.tests.AbstractXbaseTestCase;
+import org.eclipse.xtext.xbase.typesystem.override.IResolvedFeatures;
+import org.eclipse.xtext.xbase.typesystem.override.ParameterizedResolvedFeatures;
+import org.eclipse.xtext.xbase.typesystem.override.RawResolvedFeatures;
+import org.eclipse.xtext.xbase.typesystem.references.LightweightTypeReference;
+import org.eclipse.xtext.xbase.typesystem.references.ParameterizedTypeReference;
+import org.eclipse.xtext.xbase.typesystem.references.StandardTypeReferenceOwner;
+import org.eclipse.xtext.xbase.typesystem.references.UnboundTypeReference;
+import org.eclipse.xtext.xbase.typesystem.references.WildcardTypeReference;
+import org.eclipse.xtext.xbase.typesystem.util.CommonTypeComputationServices;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.inject.Inject;
+
+/**
+ * Tests the cache of the parameterized views of {@link RawResolvedFeatures}.
+ */
+public class ParameterizedResolvedFeaturesTest extends AbstractXbaseTestCase {
+
+	@Inject
+	private CommonTypeComputationServices services;
+
+	@Inject
+	private IResolvedFeatures.Provider resolvedFeaturesProvider;
+
+	@Inject
+	private TypeReferences typeReferences;
+
+	private StandardTypeReferenceOwner owner;
+
+	private JvmGenericType type;
+
+	private JvmTypeParameter typeParameter;
+
+	@Before
+	public void setUp() throws Exception {
+		ResourceSet resourceSet = expression("null").eResource().getResourceSet();
+		// unbound type references are never resolved in this owner
+		owner = new StandardTypeReferenceOwner(services, resourceSet) {
+			@Override
+			public boolean isResolved(Object handle) {
+				return false;
+			}
+		};
+		Resource resource = new ResourceImpl(URI.createURI("test/Foo.types"));
+		resourceSet.getResources().add(resource);
+		type = TypesFactory.eINSTANCE.createJvmGenericType();
+		type.setPackageName("test");
+		type.setSimpleName("Foo");
+		typeParameter = TypesFactory.eINSTANCE.createJvmTypeParameter();
+		typeParameter.setName("T");
+		type.getTypeParameters().add(typeParameter);
+		resource.getContents().add(type);
+		type.getMembers().add(createOperation("m", 1));
+		type.getMembers().add(createOperation("m", 2));
+	}
+
+	@Test
+	public void testSameParameterizationIsCached() {
+		IResolvedFeatures resolvedFeatures = resolvedFeaturesProvider.getResolvedFeatures(type);
+		List<JvmFeature> features = resolvedFeatures.getParameterizedView(typeOf(String.class)).getAllFeatures("m");
+		assertEquals(2, features.size());
+		assertSame(features, resolvedFeatures.getParameterizedView(typeOf(String.class)).getAllFeatures("m"));
+		IResolvedFeatures view = resolvedFeatures.getParameterizedView(typeOf(String.class));
+		assertSame(view.getAllFeatures(), view.getAllFeatures());
+	}
+
+	@Test
+	public void testParameterizationsDoNotShareEntries() {
+		IResolvedFeatures resolvedFeatures = resolvedFeaturesProvider.getResolvedFeatures(type);
+		List<JvmFeature> stringFeatures = resolvedFeatures.getParameterizedView(typeOf(String.class)).getAllFeatures("m");
+		List<JvmFeature> objectFeatures = resolvedFeatures.getParameterizedView(typeOf(Object.class)).getAllFeatures("m");
+		assertEquals(stringFeatures, objectFeatures);
+		assertNotSame(stringFeatures, objectFeatures);
+		assertNotSame(stringFeatures, resolvedFeatures.getAllFeatures("m"));
+		IResolvedFeatures view = resolvedFeatures.getParameterizedView(typeOf(String.class));
+		assertNotSame(view.getAllFeatures(), view.getAllFeatures("m"));
+	}
+
+	@Test
+	public void testTypeParameterIsNotCached() {
+		IResolvedFeatures resolvedFeatures = resolvedFeaturesProvider.getResolvedFeatures(type);
+		ParameterizedTypeReference reference = owner.newParameterizedTypeReference(type);
+		reference.addTypeArgument(owner.newParameterizedTypeReference(typeParameter));
+		IResolvedFeatures view = resolvedFeatures.getParameterizedView(reference);
+		assertEquals(2, view.getAllFeatures("m").size());
+		assertNotSame(view.getAllFeatures("m"), view.getAllFeatures("m"));
+	}
+
+	@Test
+	public void testIsCacheable() {
+		TestableParameterizedResolvedFeatures features = new TestableParameterizedResolvedFeatures(
+				owner.newParameterizedTypeReference(type),
+				(RawResolvedFeatures) resolvedFeaturesProvider.getResolvedFeatures(type));
+		assertTrue(features.isCacheable(typeOf(String.class)));
+		assertTrue(features.isCacheable(typeOf(owner.newArrayTypeReference(owner.newReferenceTo(String.class)))));
+		assertTrue(features.isCacheable(typeOf(wildcard(owner.newReferenceTo(String.class), null))));
+		assertTrue(features.isCacheable(typeOf(wildcard(owner.newReferenceToObject(), owner.newReferenceTo(String.class)))));
+
+		LightweightTypeReference typeParameterReference = owner.newParameterizedTypeReference(typeParameter);
+		assertFalse(features.isCacheable(typeOf(typeParameterReference)));
+		assertFalse(features.isCacheable(typeOf(owner.newArrayTypeReference(typeParameterReference))));
+		assertFalse(features.isCacheable(typeOf(wildcard(typeParameterReference, null))));
+		assertFalse(features.isCacheable(typeOf(wildcard(owner.newReferenceToObject(), typeParameterReference))));
+		assertFalse(features.isCacheable(typeOf(typeOf(typeParameterReference))));
+	}
+
+	@Test
+	public void testUnresolvedArgumentsAreNotCacheable() {
+		TestableParameterizedResolvedFeatures features = new TestableParameterizedResolvedFeatures(
+				owner.newParameterizedTypeReference(type),
+				(RawResolvedFeatures) resolvedFeaturesProvider.getResolvedFeatures(type));
+		assertFalse(features.isCacheable(typeOf(new UnboundTypeReference(owner, null, typeParameter) {})));
+		assertFalse(features.isCacheable(typeOf(owner.newUnknownTypeReference("Unknown"))));
+		JvmGenericType proxy = TypesFactory.eINSTANCE.createJvmGenericType();
+		((InternalEObject) proxy).eSetProxyURI(URI.createURI("java:/Objects/test.Missing#test.Missing"));
+		assertFalse(features.isCacheable(typeOf(owner.newParameterizedTypeReference(proxy))));
+	}
+
+	@Test
+	public void testCacheIsClearedOnChange() {
+		IResolvedFeatures resolvedFeatures = resolvedFeaturesProvider.getResolvedFeatures(type);
+		List<JvmFeature> features = resolvedFeatures.getParameterizedView(typeOf(String.class)).getAllFeatures("m");
+		assertEquals(2, features.size());
+		assertSame(resolvedFeatures, resolvedFeaturesProvider.getResolvedFeatures(type));
+
+		type.getMembers().add(createOperation("m", 3));
+
+		IResolvedFeatures newResolvedFeatures = resolvedFeaturesProvider.getResolvedFeatures(type);
+		assertNotSame(resolvedFeatures, newResolvedFeatures);
+		assertEquals(3, newResolvedFeatures.getParameterizedView(typeOf(String.class)).getAllFeatures("m").size());
+		assertEquals("The parameterized features were not cleared", 3,
+				resolvedFeatures.getParameterizedView(typeOf(String.class)).getAllFeatures("m").size());
+	}
+
+	protected ParameterizedTypeReference typeOf(Class<?> argument) {
+		return typeOf(owner.newReferenceTo(argument));
+	}
+
+	protected ParameterizedTypeReference typeOf(LightweightTypeReference argument) {
+		ParameterizedTypeReference result = owner.newParameterizedTypeReference(type);
+		result.addTypeArgument(argument);
+		return result;
+	}
+
+	protected WildcardTypeReference wildcard(LightweightTypeReference upperBound, LightweightTypeReference lowerBound) {
+		WildcardTypeReference result = owner.newWildcardTypeReference();
+		result.addUpperBound(upperBound);
+		if (lowerBound != null) {
+			result.setLowerBound(lowerBound);
+		}
+		return result;
+	}
+
+	protected JvmOperation createOperation(String name, int parameterCount) {
+		JvmOperation result = TypesFactory.eINSTANCE.createJvmOperation();
+		result.setSimpleName(name);
+		result.setReturnType(typeReferences.getTypeForName(Void.TYPE, type));
+		for (int i = 0; i < parameterCount; i++) {
+			JvmFormalParameter parameter = TypesFactory.eINSTANCE.createJvmFormalParameter();
+			parameter.setName("p" + i);
+			parameter.setParameterType(typeReferences.createTypeRef(typeParameter));
+			result.getParameters().add(parameter);
+		}
+		return result;
+	}
+
+	protected static class TestableParameterizedResolvedFeatures extends ParameterizedResolvedFeatures {
+
+		public TestableParameterizedResolvedFeatures(LightweightTypeReference type, RawResolvedFeatures parent) {
+			super(type, parent);
+		}
+
+		@Override
+		public boolean isCacheable(LightweightTypeReference reference) {
+			return super.isCacheable(reference);
+		}
+	}
+
+}
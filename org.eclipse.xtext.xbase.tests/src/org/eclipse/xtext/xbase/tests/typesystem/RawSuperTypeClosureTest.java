@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.tests.typesystem;
+
+import java.util.ArrayList;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.common.types.JvmDeclaredType;
+import org.eclipse.xtext.common.types.JvmGenericType;
+import org.eclipse.xtext.common.types.JvmType;
+import org.eclipse.xtext.common.types.TypesFactory;
+import org.eclipse.xtext.common.types.util.TypeReferences;
+import org.eclipse.xtext.xbase.tests.AbstractXbaseTestCase;
+import org.eclipse.xtext.xbase.typesystem.references.StandardTypeReferenceOwner;
+import org.eclipse.xtext.xbase.typesystem.util.CommonTypeComputationServices;
+import org.eclipse.xtext.xbase.typesystem.util.RawSuperTypeClosure;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.inject.Inject;
+
+public class RawSuperTypeClosureTest extends AbstractXbaseTestCase {
+
+	@Inject
+	private CommonTypeComputationServices services;
+
+	@Inject
+	private TypeReferences typeReferences;
+
+	private StandardTypeReferenceOwner owner;
+
+	private Resource resource;
+
+	@Before
+	public void setUp() throws Exception {
+		ResourceSet resourceSet = expression("null").eResource().getResourceSet();
+		owner = new StandardTypeReferenceOwner(services, resourceSet);
+		resource = new ResourceImpl(URI.createURI("test/Types.types"));
+		resourceSet.getResources().add(resource);
+	}
+
+	@Test
+	public void testDeepHierarchy() {
+		JvmGenericType root = createType("Root", true);
+		JvmGenericType unrelated = createType("Unrelated", false);
+		JvmGenericType type = createType("Type0", false);
+		type.getSuperTypes().add(typeReferences.createTypeRef(root));
+		JvmGenericType first = type;
+		for (int i = 1; i < 50; i++) {
+			JvmGenericType subType = createType("Type" + i, false);
+			subType.getSuperTypes().add(typeReferences.createTypeRef(type));
+			type = subType;
+		}
+		assertTrue(RawSuperTypeClosure.mayBeSuperType(type, first));
+		assertTrue(RawSuperTypeClosure.mayBeSuperType(type, root));
+		assertFalse(RawSuperTypeClosure.mayBeSuperType(type, unrelated));
+		assertFalse(RawSuperTypeClosure.mayBeSuperType(first, type));
+		assertNotNull(owner.newParameterizedTypeReference(type).getSuperType(root));
+		assertNull(owner.newParameterizedTypeReference(type).getSuperType(unrelated));
+
+		RawSuperTypeClosure closure = getClosure(type);
+		assertNotNull(closure);
+		assertTrue(closure.isComplete());
+		assertFalse(closure.isSealed());
+		RawSuperTypeClosure.mayBeSuperType(type, unrelated);
+		assertSame(closure, getClosure(type));
+	}
+
+	@Test
+	public void testUnresolvedSuperTypeIsResolvedLater() {
+		JvmGenericType type = createType("Type", false);
+		JvmGenericType proxy = TypesFactory.eINSTANCE.createJvmGenericType();
+		((InternalEObject) proxy).eSetProxyURI(resource.getURI().appendFragment("/1"));
+		type.getSuperTypes().add(typeReferences.createTypeRef(proxy));
+
+		JvmGenericType unrelated = TypesFactory.eINSTANCE.createJvmGenericType();
+		unrelated.setPackageName("test");
+		unrelated.setSimpleName("Unrelated");
+		assertTrue(RawSuperTypeClosure.mayBeSuperType(type, unrelated));
+		RawSuperTypeClosure closure = getClosure(type);
+		assertFalse(closure.isComplete());
+		assertTrue(RawSuperTypeClosure.mayBeSuperType(type, unrelated));
+		assertSame("The incomplete closure was computed again", closure, getClosure(type));
+
+		JvmGenericType superType = createType("SuperType", false);
+		assertNull("The incomplete closure was kept", getClosure(type));
+		assertTrue(RawSuperTypeClosure.mayBeSuperType(type, superType));
+		assertFalse(RawSuperTypeClosure.mayBeSuperType(type, unrelated));
+		assertTrue(getClosure(type).isComplete());
+		assertNotNull(owner.newParameterizedTypeReference(type).getSuperType(superType));
+	}
+
+	@Test
+	public void testSuperTypeChanges() {
+		JvmGenericType superType = createType("SuperType", false);
+		JvmGenericType addedType = createType("Added", true);
+		JvmGenericType type = createType("Type", false);
+		type.getSuperTypes().add(typeReferences.createTypeRef(superType));
+		assertFalse(RawSuperTypeClosure.mayBeSuperType(type, addedType));
+		assertNotNull(getClosure(type));
+
+		superType.getSuperTypes().add(typeReferences.createTypeRef(addedType));
+		assertNull("The closure was not dropped", getClosure(type));
+		assertTrue(RawSuperTypeClosure.mayBeSuperType(type, addedType));
+		assertNotNull(owner.newParameterizedTypeReference(type).getSuperType(addedType));
+	}
+
+	@Test
+	public void testSealedTypeIsMatchedByIdentifier() {
+		JvmDeclaredType arrayList = (JvmDeclaredType) owner.newReferenceTo(ArrayList.class).getType();
+		assertTrue(RawSuperTypeClosure.mayBeSuperType(arrayList, owner.newReferenceTo(Iterable.class).getType()));
+		assertFalse(RawSuperTypeClosure.mayBeSuperType(arrayList, owner.newReferenceTo(String.class).getType()));
+		assertTrue(getClosure(arrayList).isSealed());
+
+		// a type that was loaded again is still found
+		JvmGenericType list = TypesFactory.eINSTANCE.createJvmGenericType();
+		list.setPackageName("java.util");
+		list.setSimpleName("List");
+		assertTrue(RawSuperTypeClosure.mayBeSuperType(arrayList, list));
+	}
+
+	protected JvmGenericType createType(String name, boolean isInterface) {
+		JvmGenericType result = TypesFactory.eINSTANCE.createJvmGenericType();
+		result.setPackageName("test");
+		result.setSimpleName(name);
+		result.setInterface(isInterface);
+		resource.getContents().add(result);
+		return result;
+	}
+
+	protected RawSuperTypeClosure getClosure(JvmType type) {
+		return (RawSuperTypeClosure) EcoreUtil.getAdapter(type.eAdapters(), RawSuperTypeClosure.class);
+	}
+
+}
@@ -7,6 +7,7 @@
  */
 package org.eclipse.xtext.xbase.tests.resources;
 
+import com.google.common.collect.Iterables;
 import com.google.inject.Guice;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
@@ -14,9 +15,11 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import org.eclipse.emf.common.notify.Adapter;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
@@ -24,6 +27,10 @@ import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.resource.impl.ExtensibleURIConverterImpl;
 import org.eclipse.xtend2.lib.StringConcatenation;
+import org.eclipse.xtext.common.types.JvmGenericType;
+import org.eclipse.xtext.common.types.JvmMember;
+import org.eclipse.xtext.common.types.JvmOperation;
+import org.eclipse.xtext.common.types.TypesFactory;
 import org.eclipse.xtext.nodemodel.BidiTreeIterator;
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
@@ -36,8 +43,12 @@ import org.eclipse.xtext.testing.XtextRunner;
 import org.eclipse.xtext.util.StringInputStream;
 import org.eclipse.xtext.xbase.XBlockExpression;
 import org.eclipse.xtext.xbase.XExpression;
+import org.eclipse.xtext.xbase.jvmmodel.JvmModelAssociator;
+import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.lib.ObjectExtensions;
+import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 import org.eclipse.xtext.xbase.resource.BatchLinkableResourceStorageFacade;
 import org.eclipse.xtext.xbase.tests.AbstractXbaseTestCase;
 import org.eclipse.xtext.xbase.tests.XbaseInjectorProvider;
@@ -195,4 +206,66 @@ public class ResourceStorageTest extends AbstractXbaseTestCase {
       throw Exceptions.sneakyThrow(_e);
     }
   }
+  
+  @Test
+  public void testWriteAndLoadAssociations() {
+    try {
+      StringConcatenation _builder = new StringConcatenation();
+      _builder.append("{ val x = 1 x + 2 }");
+      XExpression _expression = this.expression(_builder);
+      final XBlockExpression block = ((XBlockExpression) _expression);
+      Resource _eResource = block.eResource();
+      final StorageAwareResource original = ((StorageAwareResource) _eResource);
+      JvmOperation _createJvmOperation = TypesFactory.eINSTANCE.createJvmOperation();
+      final Procedure1<JvmOperation> _function = (JvmOperation it) -> {
+        it.setSimpleName("op");
+      };
+      final JvmOperation operation = ObjectExtensions.<JvmOperation>operator_doubleArrow(_createJvmOperation, _function);
+      JvmGenericType _createJvmGenericType = TypesFactory.eINSTANCE.createJvmGenericType();
+      final Procedure1<JvmGenericType> _function_1 = (JvmGenericType it) -> {
+        it.setSimpleName("Inferred");
+        EList<JvmMember> _members = it.getMembers();
+        _members.add(operation);
+      };
+      final JvmGenericType type = ObjectExtensions.<JvmGenericType>operator_doubleArrow(_createJvmGenericType, _function_1);
+      EList<EObject> _contents = original.getContents();
+      _contents.add(type);
+      final JvmModelAssociator.Adapter adapter = new JvmModelAssociator.Adapter();
+      adapter.logicalContainerMap.put(block, operation);
+      adapter.sourceToTargetMap.put(block, CollectionLiterals.<EObject>newLinkedHashSet(type));
+      adapter.sourceToTargetMap.put(IterableExtensions.<XExpression>head(block.getExpressions()), CollectionLiterals.<EObject>newLinkedHashSet(operation));
+      adapter.targetToSourceMap.put(type, CollectionLiterals.<EObject>newLinkedHashSet(block));
+      adapter.targetToSourceMap.put(operation, CollectionLiterals.<EObject>newLinkedHashSet(IterableExtensions.<XExpression>last(block.getExpressions())));
+      EList<Adapter> _eAdapters = original.eAdapters();
+      _eAdapters.add(adapter);
+      final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+      ((ResourceStorageFacade) this.resourceStorageFacade).setStoreNodeModel(false);
+      this.resourceStorageFacade.createResourceStorageWritable(bout).writeResource(original);
+      byte[] _byteArray = bout.toByteArray();
+      ByteArrayInputStream _byteArrayInputStream = new ByteArrayInputStream(_byteArray);
+      final ResourceStorageLoadable in = this.resourceStorageFacade.createResourceStorageLoadable(_byteArrayInputStream);
+      Resource _createResource = original.getResourceSet().createResource(URI.createURI("synthetic:/Associations.___xbase"));
+      final StorageAwareResource resource = ((StorageAwareResource) _createResource);
+      resource.loadFromStorage(in);
+      Assert.assertTrue(resource.isLoadedFromStorage());
+      EObject _head = IterableExtensions.<EObject>head(resource.getContents());
+      final XBlockExpression loadedBlock = ((XBlockExpression) _head);
+      EObject _get = resource.getContents().get(1);
+      final JvmGenericType loadedType = ((JvmGenericType) _get);
+      final JvmMember loadedOperation = IterableExtensions.<JvmMember>head(loadedType.getMembers());
+      Assert.assertEquals("Inferred", loadedType.getSimpleName());
+      final JvmModelAssociator.Adapter loaded = IterableExtensions.<JvmModelAssociator.Adapter>head(Iterables.<JvmModelAssociator.Adapter>filter(resource.eAdapters(), JvmModelAssociator.Adapter.class));
+      Assert.assertNotNull(loaded);
+      Assert.assertEquals(1, loaded.logicalContainerMap.size());
+      Assert.assertSame(loadedOperation, loaded.logicalContainerMap.get(loadedBlock));
+      Assert.assertEquals(2, loaded.sourceToTargetMap.size());
+      Assert.assertEquals(Collections.<JvmGenericType>unmodifiableSet(CollectionLiterals.<JvmGenericType>newHashSet(loadedType)), loaded.sourceToTargetMap.get(loadedBlock));
+      Assert.assertEquals(Collections.<JvmMember>unmodifiableSet(CollectionLiterals.<JvmMember>newHashSet(loadedOperation)), loaded.sourceToTargetMap.get(IterableExtensions.<XExpression>head(loadedBlock.getExpressions())));
+      Assert.assertEquals(2, loaded.targetToSourceMap.size());
+      Assert.assertEquals(Collections.<XBlockExpression>unmodifiableSet(CollectionLiterals.<XBlockExpression>newHashSet(loadedBlock)), loaded.targetToSourceMap.get(loadedType));
+      Assert.assertEquals(Collections.<XExpression>unmodifiableSet(CollectionLiterals.<XExpression>newHashSet(IterableExtensions.<XExpression>last(loadedBlock.getExpressions()))), loaded.targetToSourceMap.get(loadedOperation));
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
 }
@@ -24,6 +24,9 @@ public class TraceAwarePostProcessor extends LineSeparatorHarmonizer {
 			return ((TreeAppendable) content).acceptVisitor(new TreeAppendable.Visitor() {
 				@Override
 				protected String visit(String string) {
+					if (!needsReplacement(string, lineSeparator)) {
+						return string;
+					}
 					return replaceLineSeparators(string, lineSeparator);
 				}
 			});
@@ -32,4 +35,21 @@ public class TraceAwarePostProcessor extends LineSeparatorHarmonizer {
 		}
 	}
 	
+	/**
+	 * Most strings of a tree appendable are single tokens without any line break. These do not have to
+	 * be processed, and neither do strings with plain <code>\n</code> if that is the requested separator.
+	 * 
+	 * @since 2.15
+	 */
+	protected boolean needsReplacement(String string, String lineSeparator) {
+		boolean unixSeparator = "\n".equals(lineSeparator);
+		for(int i = 0, length = string.length(); i < length; i++) {
+			char c = string.charAt(i);
+			if (c == '\r' || (c == '\n' && !unixSeparator)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
 }
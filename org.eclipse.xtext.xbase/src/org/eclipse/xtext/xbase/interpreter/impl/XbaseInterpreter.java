@@ -12,6 +12,7 @@ import static com.google.common.collect.Maps.*;
 import static com.google.common.collect.Sets.*;
 import static org.eclipse.xtext.util.Strings.*;
 
+import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
@@ -99,6 +100,8 @@ import org.eclipse.xtext.xbase.typesystem.util.CommonTypeComputationServices;
 import org.eclipse.xtext.xbase.util.XExpressionHelper;
 import org.eclipse.xtext.xbase.util.XSwitchExpressions;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
@@ -160,11 +163,74 @@ public class XbaseInterpreter implements IExpressionInterpreter {
 
 	private ClassLoader classLoader;
 	
+	/**
+	 * The accessible reflective members of the JVM members that have been invoked with the current class loader.
+	 * The JVM members are weakly referenced and compared by identity.
+	 */
+	private Cache<JvmIdentifiableElement, AccessibleObject> reflectiveMembers = newReflectiveMemberCache();
+	
 	@Inject
 	public void setClassLoader(ClassLoader classLoader) {
 		this.classFinder = new ClassFinder(classLoader);
 		this.classLoader = classLoader;
 		this.javaReflectAccess.setClassLoader(classLoader);
+		this.reflectiveMembers = newReflectiveMemberCache();
+	}
+	
+	private Cache<JvmIdentifiableElement, AccessibleObject> newReflectiveMemberCache() {
+		return CacheBuilder.newBuilder().weakKeys().build();
+	}
+	
+	/**
+	 * @return the {@link Method} of the given operation or <code>null</code> if it cannot be found. The result is cached.
+	 * @since 2.15
+	 */
+	protected Method getReflectiveMethod(JvmOperation operation) {
+		Method result = (Method) reflectiveMembers.getIfPresent(operation);
+		if (result == null) {
+			result = cacheReflectiveMember(operation, javaReflectAccess.getMethod(operation));
+		}
+		return result;
+	}
+	
+	/**
+	 * @return the {@link Constructor} of the given constructor or <code>null</code> if it cannot be found. The result is cached.
+	 * @since 2.15
+	 */
+	protected Constructor<?> getReflectiveConstructor(JvmConstructor constructor) {
+		Constructor<?> result = (Constructor<?>) reflectiveMembers.getIfPresent(constructor);
+		if (result == null) {
+			result = cacheReflectiveMember(constructor, javaReflectAccess.getConstructor(constructor));
+		}
+		return result;
+	}
+	
+	/**
+	 * @return the {@link Field} of the given field or <code>null</code> if it cannot be found. The result is cached.
+	 * @since 2.15
+	 */
+	protected Field getReflectiveField(JvmField field) {
+		Field result = (Field) reflectiveMembers.getIfPresent(field);
+		if (result == null) {
+			result = cacheReflectiveMember(field, javaReflectAccess.getField(field));
+		}
+		return result;
+	}
+	
+	/**
+	 * Makes the given member accessible and caches it. Members that cannot be made accessible are not cached, thus
+	 * the failure is reported when they are used.
+	 */
+	private <T extends AccessibleObject> T cacheReflectiveMember(JvmIdentifiableElement element, T member) {
+		if (member != null) {
+			try {
+				member.setAccessible(true);
+				reflectiveMembers.put(element, member);
+			} catch (RuntimeException e) {
+				// ignore
+			}
+		}
+		return member;
 	}
 	
 	protected Class<?> getClass(Class<?> class1) {
@@ -744,11 +810,12 @@ public class XbaseInterpreter implements IExpressionInterpreter {
 	protected Object _doEvaluate(XConstructorCall constructorCall, IEvaluationContext context, CancelIndicator indicator) {
 		JvmConstructor jvmConstructor = constructorCall.getConstructor();
 		List<Object> arguments = evaluateArgumentExpressions(jvmConstructor, constructorCall.getArguments(), context, indicator);
-		Constructor<?> constructor = javaReflectAccess.getConstructor(jvmConstructor);
+		Constructor<?> constructor = getReflectiveConstructor(jvmConstructor);
 		try {
 			if (constructor == null)
 				throw new NoSuchMethodException("Could not find constructor " + jvmConstructor.getIdentifier());
-			constructor.setAccessible(true);
+			if (!constructor.isAccessible())
+				constructor.setAccessible(true);
 			Object result = constructor.newInstance(arguments.toArray(new Object[arguments.size()]));
 			return result;
 		} catch (InvocationTargetException targetException) {
@@ -1020,7 +1087,7 @@ public class XbaseInterpreter implements IExpressionInterpreter {
 	}
 
 	protected Object featureCallField(JvmField jvmField, Object receiver) {
-		Field field = javaReflectAccess.getField(jvmField);
+		Field field = getReflectiveField(jvmField);
 		try {
 			if (field == null) {
 				throw new NoSuchFieldException("Could not find field " + jvmField.getIdentifier());
@@ -1028,7 +1095,8 @@ public class XbaseInterpreter implements IExpressionInterpreter {
 			if(!Modifier.isStatic(field.getModifiers()) && receiver == null) {
 				throw new EvaluationException(new NullPointerException("cannot access field " + field + " on null"));
 			}
-			field.setAccessible(true);
+			if (!field.isAccessible())
+				field.setAccessible(true);
 			Object result = field.get(receiver);
 			return result;
 		} catch(EvaluationException ee) {
@@ -1062,7 +1130,7 @@ public class XbaseInterpreter implements IExpressionInterpreter {
 	}
 	
 	protected Object invokeOperation(JvmOperation operation, Object receiver, List<Object> argumentValues) {
-		Method method = javaReflectAccess.getMethod(operation);
+		Method method = getReflectiveMethod(operation);
 		try {
 			if (method == null) {
 				throw new NoSuchMethodException("Could not find method " + operation.getIdentifier());
@@ -1082,7 +1150,8 @@ public class XbaseInterpreter implements IExpressionInterpreter {
 					throw new InvocationTargetException(throwable);
 				}
 			} else {
-				method.setAccessible(true);
+				if (!method.isAccessible())
+					method.setAccessible(true);
 				Object result = method.invoke(receiver, argumentValues.toArray(new Object[argumentValues.size()]));
 				return result;
 			}
@@ -1121,10 +1190,10 @@ public class XbaseInterpreter implements IExpressionInterpreter {
 		if (executable.isVarArgs()) {
 			Class<?> componentType = null;
 			if (executable instanceof JvmOperation) {
-				Method method = javaReflectAccess.getMethod((JvmOperation) executable);
+				Method method = getReflectiveMethod((JvmOperation) executable);
 				componentType = method.getParameterTypes()[paramCount].getComponentType();
 			} else {
-				Constructor<?> constructor = javaReflectAccess.getConstructor((JvmConstructor) executable);
+				Constructor<?> constructor = getReflectiveConstructor((JvmConstructor) executable);
 				componentType = constructor.getParameterTypes()[paramCount].getComponentType();
 			}
 			if (expressions.size() == executable.getParameters().size()) {
@@ -1245,7 +1314,7 @@ public class XbaseInterpreter implements IExpressionInterpreter {
 	protected Object _assignValueTo(JvmField jvmField, XAbstractFeatureCall assignment, Object value,
 			IEvaluationContext context, CancelIndicator indicator) {
 		Object receiver = getReceiver(assignment, context, indicator);
-		Field field = javaReflectAccess.getField(jvmField);
+		Field field = getReflectiveField(jvmField);
 		try {
 			if (field == null) {
 				throw new NoSuchFieldException("Could not find field " + jvmField.getIdentifier());
@@ -1255,7 +1324,8 @@ public class XbaseInterpreter implements IExpressionInterpreter {
 						+ jvmField.getIdentifier() + " on null instance"));
 			JvmTypeReference type = jvmField.getType();
 			Object coerced = coerceArgumentType(value, type);
-			field.setAccessible(true);
+			if (!field.isAccessible())
+				field.setAccessible(true);
 			field.set(receiver, coerced);
 			return value;
 		} catch (Exception e) {
@@ -7,8 +7,11 @@
  *******************************************************************************/
 package org.eclipse.xtext.xbase.resource;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.log4j.Logger;
@@ -61,9 +64,21 @@ public class BatchLinkableResource extends DerivedStateAwareResource implements
 	
 	private boolean isInitializingJvmMembers = false;
 	
+	/**
+	 * Set when the derived state of this resource was installed while holding the lock. 
+	 * Reset whenever the contents are discarded.
+	 */
+	private volatile boolean contentsInitialized = false;
+	
 	/**
 	 * Returns the lock of the owning {@link ResourceSet}, if it exposes such a lock.
 	 * Otherwise this resource itself is used as the lock context.
+	 * 
+	 * <p>All resources of a resource set share the same lock on purpose. Linking and type 
+	 * resolution of one resource resolve proxies into other resources and install their
+	 * derived state. Two threads that hold the locks of different resources could therefore
+	 * wait for each other. Locks per resource are thus not supported, see
+	 * {@link #isLockFreeContentsAccess()} for a way to shorten the time that readers block.</p>
 	 */
 	/* @NonNull */
 	@Override
@@ -141,6 +156,9 @@ public class BatchLinkableResource extends DerivedStateAwareResource implements
 	@SuppressWarnings("sync-override")
 	@Override
 	public EList<EObject> getContents() {
+		if (contentsInitialized && isLockFreeContentsAccess()) {
+			return doGetContents();
+		}
 		synchronized (getLock()) {
 			if (isLoaded && !isLoading && !isInitializing && !isUpdating && !fullyInitialized && !isLoadedFromStorage()) {
 				try {
@@ -150,10 +168,47 @@ public class BatchLinkableResource extends DerivedStateAwareResource implements
 					eSetDeliver(true);
 				}
 			}
+			if (isLoaded && !isLoading && !isInitializing && !isUpdating && (fullyInitialized || isLoadedFromStorage())) {
+				contentsInitialized = true;
+			}
 			return doGetContents();
 		}
 	}
 	
+	/**
+	 * Whether {@link #getContents()} may skip the {@link #getLock() shared lock} once the derived
+	 * state of this resource is installed. Concurrent readers of initialized resources, e.g. the 
+	 * requests of a language server, do not queue up behind each other in that case. Disabled by default.
+	 * 
+	 * <p>The lock guards only the installation of the derived state; the returned list was never 
+	 * protected by it. Clients that modify or unload a resource while others read it still have to
+	 * coordinate, e.g. by means of {@link #execute(IUnitOfWork)}. Lazy linking in 
+	 * {@link #getEObject(String)} always acquires the lock.</p>
+	 * 
+	 * @since 2.15
+	 */
+	protected boolean isLockFreeContentsAccess() {
+		return false;
+	}
+	
+	@Override
+	protected void doLoad(InputStream inputStream, Map<?, ?> options) throws IOException {
+		contentsInitialized = false;
+		super.doLoad(inputStream, options);
+	}
+	
+	@Override
+	protected void updateInternal(int offset, int replacedTextLength, String newText) {
+		contentsInitialized = false;
+		super.updateInternal(offset, replacedTextLength, newText);
+	}
+	
+	@Override
+	protected void doUnload() {
+		contentsInitialized = false;
+		super.doUnload();
+	}
+	
 	/**
 	 * Delegates to the BatchLinkingService to resolve all references. The linking service
 	 * is responsible to lock the resource or resource set. 
@@ -250,6 +305,7 @@ public class BatchLinkableResource extends DerivedStateAwareResource implements
 	
 	@Override
 	protected void doDiscardDerivedState() {
+		this.contentsInitialized = false;
 		this.jvmMemberInitializers = null;
 		this.hasJvmMemberInitializers = false;
 		super.doDiscardDerivedState();
@@ -58,7 +58,13 @@ import org.eclipse.xtext.xbase.jvmmodel.JvmModelAssociator
 			]) 
 		
 		stream.nextEntry
-		val objIn = new ObjectInputStream(new BufferedInputStream(stream))
+		val in = new BufferedInputStream(stream)
+		if (JvmModelAssociationsStorage.isCompactFormat(in)) {
+			new JvmModelAssociationsStorage().read(resource, adapter, in)
+			return
+		}
+		// storage that was written before 2.15
+		val objIn = new ObjectInputStream(in)
 		val logicalMap = objIn.readObject as Map<String,String>
 		logicalMap.entrySet.forEach [
 			adapter.logicalContainerMap.put(resource.getEObject(key), resource.getEObject(value) as JvmIdentifiableElement)
@@ -7,13 +7,10 @@
  *******************************************************************************/
 package org.eclipse.xtext.xbase.resource
 
-import com.google.common.collect.Sets
 import java.io.BufferedOutputStream
-import java.io.ObjectOutputStream
 import java.io.OutputStream
 import java.util.zip.ZipEntry
 import java.util.zip.ZipOutputStream
-import org.apache.log4j.Logger
 import org.eclipse.emf.ecore.EObject
 import org.eclipse.emf.ecore.InternalEObject
 import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl
@@ -29,12 +26,20 @@ import org.eclipse.xtext.common.types.JvmType
 import java.io.IOException
 
 /**
+ * Writes the JVM model, the documentation and the {@link JvmModelAssociator associations} of a
+ * {@link BatchLinkableResource} next to its contents.
+ * 
+ * The resolved types of the expressions are not part of the storage. The linked features
+ * are already stored as plain cross references and the types of the inferred JVM model are 
+ * computed before it is written. Lightweight type references, linking candidates and their 
+ * diagnostics are bound to the resource set and to the state of the resolver that produced them.
+ * A resource that is loaded from storage and asked for its expression types therefore still 
+ * resolves them with the {@link org.eclipse.xtext.xbase.typesystem.IBatchTypeResolver type resolver}.
+ * 
  * @author Sven Efftinge 
  */
 @FinalFieldsConstructor class BatchLinkableResourceStorageWritable extends ResourceStorageWritable {
 	
-	final static Logger LOG = Logger.getLogger(BatchLinkableResourceStorageWritable)
-	
 	override protected writeEntries(StorageAwareResource resource, ZipOutputStream zipOut) throws IOException {
 		super.writeEntries(resource, zipOut)
 		if (resource instanceof BatchLinkableResource) {
@@ -95,45 +100,14 @@ import java.io.IOException
 			}
 			adapter = new JvmModelAssociator.Adapter()
 		}
-		val objOut = new ObjectOutputStream(zipOut);
-		try {
-			// logicalMap
-			val logicalMap = newLinkedHashMap()
-			for (entry : adapter.logicalContainerMap.entrySet) {
-				if (entry.key.eResource != resource) {
-					LOG.info("entry "+entry+" not from resource "+resource.URI + " but from "+entry.key.eResource?.URI)
-				} else {
-					logicalMap.put(entry.key.fragment, entry.value.fragment)
-				}
-			}
-			objOut.writeObject(logicalMap)
-			
-			// sourceToTarget
-			val sourceToTarget = newLinkedHashMap()
-			for (entry : adapter.sourceToTargetMap.entrySet) {
-				if (entry.key.eResource != resource) {
-					LOG.info("entry not from resource "+resource.URI + " but from "+entry.key.eResource?.URI)
-				} else {
-					sourceToTarget.put(entry.key.fragment, Sets.newLinkedHashSet(entry.value.map[fragment]))
-				}
-			}
-			objOut.writeObject(sourceToTarget)
-			
-			// targetToSource
-			val targetToSource = newLinkedHashMap()
-			for (entry : adapter.targetToSourceMap.entrySet) {
-				if (entry.key.eResource != resource) {
-					LOG.info("entry not from resource "+resource.URI + " but from "+entry.key.eResource?.URI)
-				} else {
-					targetToSource.put(entry.key.fragment, Sets.newLinkedHashSet(entry.value.map[fragment]))
-				}
-			}
-			objOut.writeObject(targetToSource)
-		} finally {
-			objOut.flush
-		}
+		new JvmModelAssociationsStorage().write(resource, adapter, zipOut)
 	}
 
+	/**
+	 * @deprecated The associations are written by the {@link JvmModelAssociationsStorage}, which does not use
+	 *             URI fragments for the objects of the resource.
+	 */
+	@Deprecated
 	protected def String getFragment(EObject obj) {
 		if (obj===null || obj.eIsProxy || obj.eResource === null) {
 			return "none"
@@ -0,0 +1,311 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.resource;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.xtext.common.types.JvmIdentifiableElement;
+import org.eclipse.xtext.xbase.jvmmodel.JvmModelAssociator;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * Writes and reads the maps of a {@link JvmModelAssociator.Adapter} in a compact binary format.
+ *
+ * Objects of the resource are encoded by their index in containment order of the stored contents, i.e. transient
+ * containments are skipped. Objects that cannot be indexed are written as URI fragments, each fragment only once.
+ * All numbers are written as variable length integers. Reading the indexes back does not require to resolve any
+ * fragment.
+ *
+ * The format starts with a {@link #isCompactFormat(InputStream) marker} that distinguishes it from the former
+ * Java-serialized maps.
+ *
+ * @since 2.15
+ */
+public class JvmModelAssociationsStorage {
+
+	private static final Logger LOG = Logger.getLogger(JvmModelAssociationsStorage.class);
+
+	/**
+	 * The bytes <code>XAS1</code>. Java serialization streams start with <code>0xACED</code>.
+	 */
+	private static final int MAGIC = 0x58415331;
+
+	private static final int NULL_REFERENCE = 0;
+
+	private static final int NEW_FRAGMENT = 1;
+
+	/**
+	 * Returns <code>true</code> if the given stream starts with the compact format. The stream is reset to its
+	 * current position.
+	 */
+	public static boolean isCompactFormat(InputStream in) throws IOException {
+		if (!in.markSupported()) {
+			throw new IllegalArgumentException("Stream has to support mark and reset");
+		}
+		in.mark(4);
+		try {
+			int result = 0;
+			for(int i = 0; i < 4; i++) {
+				int next = in.read();
+				if (next == -1) {
+					return false;
+				}
+				result = (result << 8) | next;
+			}
+			return result == MAGIC;
+		} finally {
+			in.reset();
+		}
+	}
+
+	/**
+	 * Writes the associations of the given adapter. The output is buffered and flushed, but the stream is not closed.
+	 */
+	public void write(Resource resource, JvmModelAssociator.Adapter adapter, OutputStream out) throws IOException {
+		List<EObject> contents = getStoredContents(resource);
+		Writer writer = new Writer(resource, contents, new DataOutputStream(new BufferedOutputStream(out)));
+		writer.data.writeInt(MAGIC);
+		writeInt(contents.size(), writer.data);
+
+		Map<EObject, JvmIdentifiableElement> logicalMap = adapter.logicalContainerMap;
+		writeInt(countLocalKeys(resource, logicalMap), writer.data);
+		for (Map.Entry<EObject, JvmIdentifiableElement> entry : logicalMap.entrySet()) {
+			if (isLocal(resource, entry)) {
+				writer.writeReference(entry.getKey());
+				writer.writeReference(entry.getValue());
+			}
+		}
+		writeSetMap(resource, adapter.sourceToTargetMap, writer);
+		writeSetMap(resource, adapter.targetToSourceMap, writer);
+		writer.data.flush();
+	}
+
+	/**
+	 * Reads the associations into the given adapter. The stored indexes refer to the contents of the resource, so it
+	 * has to be loaded from the same storage.
+	 * 
+	 * @throws IOException
+	 *             if the stream is not in the compact format or if it does not match the contents of the resource,
+	 *             e.g. the number of stored objects differs. The adapter may be partially filled in that case. The
+	 *             associations are not recomputed here. A
+	 *             {@link org.eclipse.xtext.resource.persistence.StorageAwareResource StorageAwareResource} that fails
+	 *             to load from storage discards the loaded state and is loaded from its source instead, which infers
+	 *             the JVM model and its associations again.
+	 */
+	public void read(Resource resource, JvmModelAssociator.Adapter adapter, InputStream in) throws IOException {
+		Reader reader = new Reader(resource, getStoredContents(resource), new DataInputStream(in));
+		if (reader.data.readInt() != MAGIC) {
+			throw new IOException("Unexpected format of the JVM model associations: " + resource.getURI());
+		}
+		int storedSize = readInt(reader.data);
+		if (storedSize != reader.contents.size()) {
+			throw new IOException("The JVM model associations do not match the stored contents: " + resource.getURI());
+		}
+		int logicalMapSize = readInt(reader.data);
+		for(int i = 0; i < logicalMapSize; i++) {
+			EObject key = reader.readReference();
+			adapter.logicalContainerMap.put(key, (JvmIdentifiableElement) reader.readReference());
+		}
+		readSetMap(adapter.sourceToTargetMap, reader);
+		readSetMap(adapter.targetToSourceMap, reader);
+	}
+
+	/**
+	 * Returns the objects of the given resource that are part of the storage in containment order.
+	 */
+	protected List<EObject> getStoredContents(Resource resource) {
+		List<EObject> result = new ArrayList<EObject>();
+		for (EObject root : resource.getContents()) {
+			collectStoredContents(root, result);
+		}
+		return result;
+	}
+
+	private void collectStoredContents(EObject object, List<EObject> result) {
+		result.add(object);
+		for (EReference reference : object.eClass().getEAllContainments()) {
+			if (!reference.isTransient() && object.eIsSet(reference)) {
+				Object value = object.eGet(reference, false);
+				if (reference.isMany()) {
+					@SuppressWarnings("unchecked")
+					List<EObject> children = (List<EObject>) value;
+					for(int i = 0, size = children.size(); i < size; i++) {
+						collectStoredContents(children.get(i), result);
+					}
+				} else if (value != null) {
+					collectStoredContents((EObject) value, result);
+				}
+			}
+		}
+	}
+
+	private void writeSetMap(Resource resource, Map<EObject, Set<EObject>> map, Writer writer) throws IOException {
+		writeInt(countLocalKeys(resource, map), writer.data);
+		for (Map.Entry<EObject, Set<EObject>> entry : map.entrySet()) {
+			if (isLocal(resource, entry)) {
+				writer.writeReference(entry.getKey());
+				Set<EObject> values = entry.getValue();
+				writeInt(values.size(), writer.data);
+				for (EObject value : values) {
+					writer.writeReference(value);
+				}
+			}
+		}
+	}
+
+	private void readSetMap(Map<EObject, Set<EObject>> map, Reader reader) throws IOException {
+		int size = readInt(reader.data);
+		for(int i = 0; i < size; i++) {
+			EObject key = reader.readReference();
+			int valueCount = readInt(reader.data);
+			Set<EObject> values = Sets.newLinkedHashSetWithExpectedSize(valueCount);
+			for(int j = 0; j < valueCount; j++) {
+				values.add(reader.readReference());
+			}
+			map.put(key, values);
+		}
+	}
+
+	private int countLocalKeys(Resource resource, Map<EObject, ?> map) {
+		int result = 0;
+		for (EObject key : map.keySet()) {
+			if (key.eResource() == resource) {
+				result++;
+			}
+		}
+		return result;
+	}
+
+	private boolean isLocal(Resource resource, Map.Entry<EObject, ?> entry) {
+		Resource keyResource = entry.getKey().eResource();
+		if (keyResource != resource) {
+			LOG.info("entry " + entry + " not from resource " + resource.getURI() + " but from " + (keyResource != null ? keyResource.getURI() : null));
+			return false;
+		}
+		return true;
+	}
+
+	private static void writeInt(int value, DataOutputStream out) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	private static int readInt(DataInputStream in) throws IOException {
+		int result = 0;
+		for(int shift = 0; shift < 32; shift += 7) {
+			int next = in.readUnsignedByte();
+			result |= (next & 0x7F) << shift;
+			if ((next & 0x80) == 0) {
+				return result;
+			}
+		}
+		throw new IOException("Malformed variable length integer");
+	}
+
+	/**
+	 * References are written as <code>0</code> for <code>null</code>, as an even number for the index of an object,
+	 * as <code>1</code> followed by a new fragment or as an odd number for a fragment that was written before.
+	 */
+	private static class Writer {
+		private final Resource resource;
+		private final Map<EObject, Integer> indexes;
+		private final Map<String, Integer> fragments = new HashMap<String, Integer>();
+		private final DataOutputStream data;
+
+		Writer(Resource resource, List<EObject> contents, DataOutputStream data) {
+			this.resource = resource;
+			this.data = data;
+			this.indexes = Maps.newHashMapWithExpectedSize(contents.size());
+			for(int i = 0, size = contents.size(); i < size; i++) {
+				indexes.put(contents.get(i), i);
+			}
+		}
+
+		void writeReference(EObject object) throws IOException {
+			if (object == null || object.eIsProxy() || object.eResource() == null) {
+				writeInt(NULL_REFERENCE, data);
+				return;
+			}
+			if (object.eResource() == resource) {
+				Integer index = indexes.get(object);
+				if (index != null) {
+					writeInt((index + 1) << 1, data);
+					return;
+				}
+			}
+			String fragment = object.eResource().getURIFragment(object);
+			Integer known = fragments.get(fragment);
+			if (known != null) {
+				writeInt(((known + 1) << 1) | 1, data);
+			} else {
+				fragments.put(fragment, fragments.size());
+				writeInt(NEW_FRAGMENT, data);
+				data.writeUTF(fragment);
+			}
+		}
+	}
+
+	private static class Reader {
+		private final Resource resource;
+		private final List<EObject> contents;
+		private final List<String> fragments = new ArrayList<String>();
+		private final DataInputStream data;
+
+		Reader(Resource resource, List<EObject> contents, DataInputStream data) {
+			this.resource = resource;
+			this.contents = contents;
+			this.data = data;
+		}
+
+		EObject readReference() throws IOException {
+			int value = readInt(data);
+			if (value == NULL_REFERENCE) {
+				return null;
+			}
+			if ((value & 1) == 0) {
+				int index = (value >>> 1) - 1;
+				if (index >= contents.size()) {
+					throw new IOException("Invalid object index " + index + " in " + resource.getURI());
+				}
+				return contents.get(index);
+			}
+			String fragment;
+			if (value == NEW_FRAGMENT) {
+				fragment = data.readUTF();
+				fragments.add(fragment);
+			} else {
+				int index = (value >>> 1) - 1;
+				if (index >= fragments.size()) {
+					throw new IOException("Invalid fragment index " + index + " in " + resource.getURI());
+				}
+				fragment = fragments.get(index);
+			}
+			return resource.getEObject(fragment);
+		}
+	}
+
+}
@@ -20,6 +20,7 @@ import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.scoping.IScope;
 import org.eclipse.xtext.xbase.XAbstractFeatureCall;
+import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.scoping.featurecalls.OperatorMapping;
 
 import com.google.common.collect.Lists;
@@ -113,9 +114,7 @@ public abstract class AbstractStaticImportsScope extends AbstractSessionBasedExe
 							}
 						}
 					} else {
-						for (JvmType type : bucket.getTypes()) {
-							processType(type, simpleName, order, bucket);
-						}
+						processFeatures(getStaticFeatures(bucket, simpleName), order, bucket);
 					}
 				}
 			}
@@ -123,22 +122,71 @@ public abstract class AbstractStaticImportsScope extends AbstractSessionBasedExe
 			protected void processType(JvmType type, String simpleName, int order, TypeBucket bucket) {
 				if (type instanceof JvmDeclaredType) {
 					List<JvmFeature> features = findAllFeaturesByName(type, simpleName, bucket.getResolvedFeaturesProvider());
-					for(int i = 0, size = features.size(); i < size; i++) {
-						JvmFeature feature = features.get(i);
-						if (feature.isStatic() && (order == 1 || feature instanceof JvmOperation)) {
-							IIdentifiableElementDescription description = createDescription(name, feature, bucket);
-							if (description != null)
-								addToList(description, result);
-						}
+					processFeatures(features, order, bucket);
+				}
+			}
+
+			protected void processFeatures(List<JvmFeature> features, int order, TypeBucket bucket) {
+				for(int i = 0, size = features.size(); i < size; i++) {
+					JvmFeature feature = features.get(i);
+					if (feature.isStatic() && (order == 1 || feature instanceof JvmOperation)) {
+						IIdentifiableElementDescription description = createDescription(name, feature, bucket);
+						if (description != null)
+							addToList(description, result);
 					}
 				}
 			}
 		});
-
-		// TODO cache the result in the session explicitly for the static types
-		// especially interesting for cache misses
 		return result;
 	}
 
+	/**
+	 * Returns the static features with the given simple name of all types in the given bucket. The result is
+	 * computed once per bucket and name and stored in the {@link TypeBucket#getStaticFeatures(String, Function1)
+	 * bucket}, so it is shared by all scopes of the session. Names that are not declared by any of the types are
+	 * remembered, too. Subclasses that override {@link #findAllFeaturesByName(JvmType, String,
+	 * org.eclipse.xtext.xbase.typesystem.override.IResolvedFeatures.Provider) findAllFeaturesByName} with a result
+	 * that is specific to the scope have to override this method, too.
+	 * 
+	 * @since 2.15
+	 */
+	protected List<JvmFeature> getStaticFeatures(final TypeBucket bucket, String simpleName) {
+		return bucket.getStaticFeatures(simpleName, new Function1<String, List<JvmFeature>>() {
+			@Override
+			public List<JvmFeature> apply(String name) {
+				return computeStaticFeatures(bucket, name);
+			}
+		});
+	}
+
+	/**
+	 * Collects the static features with the given simple name of all types in the given bucket by means of
+	 * {@link #findAllFeaturesByName(JvmType, String, org.eclipse.xtext.xbase.typesystem.override.IResolvedFeatures.Provider)
+	 * findAllFeaturesByName}.
+	 * 
+	 * @since 2.15
+	 */
+	protected List<JvmFeature> computeStaticFeatures(TypeBucket bucket, String simpleName) {
+		List<JvmFeature> result = null;
+		for (JvmType type : bucket.getTypes()) {
+			if (type instanceof JvmDeclaredType) {
+				List<JvmFeature> features = findAllFeaturesByName(type, simpleName, bucket.getResolvedFeaturesProvider());
+				for(int i = 0, size = features.size(); i < size; i++) {
+					JvmFeature feature = features.get(i);
+					if (feature.isStatic()) {
+						if (result == null) {
+							result = Lists.newArrayListWithCapacity(2);
+						}
+						result.add(feature);
+					}
+				}
+			}
+		}
+		if (result == null) {
+			return Collections.emptyList();
+		}
+		return Collections.unmodifiableList(result);
+	}
+
 	protected abstract BucketedEObjectDescription createDescription(QualifiedName name, JvmFeature feature, TypeBucket bucket);
 }
@@ -9,6 +9,8 @@ package org.eclipse.xtext.xbase.scoping.batch
 
 import java.util.List
 import java.util.Map
+import java.util.concurrent.ConcurrentHashMap
+import org.eclipse.xtext.common.types.JvmFeature
 import org.eclipse.xtext.common.types.JvmType
 import org.eclipse.xtext.common.types.JvmTypeReference
 import org.eclipse.xtext.xbase.XExpression
@@ -32,6 +34,7 @@ class TypeBucket {
 	int id
 	List<? extends JvmType> types
 	IResolvedFeatures.Provider resolvedFeaturesProvider
+	transient val Map<String, List<JvmFeature>> staticFeatures = new ConcurrentHashMap
 	def getFlags() {
 		return ConformanceFlags.CHECKED_SUCCESS
 	}
@@ -41,6 +44,20 @@ class TypeBucket {
 	def boolean isRestrictingNames() {
 		return false;
 	}
+	/**
+	 * Returns the static features of the types in this bucket with the given simple name. They are computed once
+	 * per name by means of the given computation, which is only used if the name was not requested before.
+	 * 
+	 * @since 2.15
+	 */
+	def List<JvmFeature> getStaticFeatures(String simpleName, (String)=>List<JvmFeature> computation) {
+		var result = staticFeatures.get(simpleName)
+		if (result === null) {
+			result = computation.apply(simpleName)
+			staticFeatures.putIfAbsent(simpleName, result)
+		}
+		return result
+	}
 }
 
 /**
@@ -23,6 +23,11 @@ import com.google.inject.Provider;
  * A batch type resolver that uses the resource scope cache to 
  * return a cached result of the computed types.
  * 
+ * The cached result is dropped as a whole when the resource is modified. It is not possible
+ * to keep the resolved types of unmodified members: a modification discards the derived state
+ * of the resource, thus the inferred JVM members that the resolved types refer to are replaced
+ * by new instances.
+ * 
  * @author Sebastian Zarnekow - Initial contribution and API
  */
 public class CachingBatchTypeResolver extends AbstractBatchTypeResolver {
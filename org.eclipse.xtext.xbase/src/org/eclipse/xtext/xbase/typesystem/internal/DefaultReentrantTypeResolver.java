@@ -9,6 +9,7 @@ package org.eclipse.xtext.xbase.typesystem.internal;
 
 import java.util.Set;
 
+import org.apache.log4j.Logger;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.ecore.resource.Resource;
@@ -46,6 +47,8 @@ import com.google.inject.Inject;
  */
 public class DefaultReentrantTypeResolver extends AbstractRootedReentrantTypeResolver {
 
+	private static final Logger LOG = Logger.getLogger(DefaultReentrantTypeResolver.class);
+	
 	@Inject
 	private CommonTypeComputationServices services;
 	
@@ -166,8 +169,25 @@ public class DefaultReentrantTypeResolver extends AbstractRootedReentrantTypeRes
 		result.resolveProxies();
 		result.addDiagnostics(root.eResource());
 		result.processDeferredLogic();
+		if (LOG.isDebugEnabled()) {
+			logRecordedScopes(result);
+		}
 		return result;
 	}
+	
+	/**
+	 * Logs the number of expression scopes that the feature scope tracker of the resolved types recorded for content
+	 * assist. It is a plain scope count, not a measure of the retained memory.
+	 * 
+	 * @since 2.15
+	 */
+	protected void logRecordedScopes(RootResolvedTypes resolvedTypes) {
+		IFeatureScopeTracker tracker = resolvedTypes.getFeatureScopeTracker();
+		if (tracker instanceof FeatureScopeTracker) {
+			int count = ((FeatureScopeTracker) tracker).getRecordedScopeCount();
+			LOG.debug("Recorded " + count + " expression scopes for " + root.eResource().getURI());
+		}
+	}
 
 	private boolean isInvalidRoot() {
 		return root == null || root.eResource() == null || root.eResource().getResourceSet() == null;
@@ -7,6 +7,7 @@
  *******************************************************************************/
 package org.eclipse.xtext.xbase.typesystem.internal;
 
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.Map;
 
@@ -26,10 +27,22 @@ import com.google.common.collect.Maps;
  */
 public class FeatureScopeTracker implements IFeatureScopeTracker {
 
-	private final Map<EObject, EnumMap<IExpressionScope.Anchor, ExpressionScope>> featureScopeSessions;
+	private Map<EObject, EnumMap<IExpressionScope.Anchor, ExpressionScope>> featureScopeSessions;
+	
+	private int recordedScopeCount;
 	
 	public FeatureScopeTracker() {
-		featureScopeSessions = Maps.newHashMapWithExpectedSize(256);
+		featureScopeSessions = Collections.emptyMap();
+	}
+	
+	/**
+	 * Returns the number of expression scopes that were recorded by this tracker. Each of them
+	 * keeps a snapshot of the resolved types and the feature scope sessions alive.
+	 * 
+	 * @since 2.15
+	 */
+	public int getRecordedScopeCount() {
+		return recordedScopeCount;
 	}
 	
 	@Override
@@ -58,6 +71,10 @@ public class FeatureScopeTracker implements IFeatureScopeTracker {
 	public void addExpressionScope(ResolvedTypes current, EObject context, IFeatureScopeSession session, Anchor anchor) {
 		EnumMap<Anchor, ExpressionScope> recordedScopes = featureScopeSessions.get(context);
 		if (recordedScopes == null) {
+			if (featureScopeSessions.isEmpty()) {
+				// allocated on demand, since many resources do not record any scope
+				featureScopeSessions = Maps.newHashMapWithExpectedSize(256);
+			}
 			recordedScopes = Maps.newEnumMap(Anchor.class);
 			featureScopeSessions.put(context, recordedScopes);
 		}
@@ -65,6 +82,7 @@ public class FeatureScopeTracker implements IFeatureScopeTracker {
 		if (scope == null) {
 			scope = new ExpressionScope(current.getResolver().getFeatureScopes(), context, anchor, current.getReferenceOwner());
 			recordedScopes.put(anchor, scope);
+			recordedScopeCount++;
 		}
 		scope.addData(session, current.withFlattenedReassignedTypes());
 	}
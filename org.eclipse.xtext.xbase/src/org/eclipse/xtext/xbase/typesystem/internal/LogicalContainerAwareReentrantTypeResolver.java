@@ -893,6 +893,8 @@ public class LogicalContainerAwareReentrantTypeResolver extends DefaultReentrant
 			JvmDeclaredType type) {
 		IFeatureScopeSession childSession = addExtensionsToMemberSession(resolvedTypes, featureScopeSession, type);
 		List<JvmMember> members = type.getMembers();
+		// the members have to be processed sequentially: the computation links the feature calls, resolves proxies
+		// in the resource set and may add local types to the members of the type, which are processed in this loop, too
 		for(int i = 0; i < members.size(); i++) {
 			computeTypes(preparedResolvedTypes, resolvedTypes, childSession, members.get(i));
 		}
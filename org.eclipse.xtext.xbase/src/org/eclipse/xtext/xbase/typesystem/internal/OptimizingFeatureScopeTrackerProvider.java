@@ -20,10 +20,22 @@ import org.eclipse.xtext.resource.impl.ResourceDescriptionsProvider;
  * 
  * For the editor it only installs them for the primary resource.
  * 
+ * A resource set that is used by a batch compiler should be marked with the load option
+ * {@link #BATCH_COMPILATION}. Feature scopes are never tracked for its resources, regardless
+ * of any other load options.
+ * 
  * @author Sebastian Zarnekow - Initial contribution and API
  */
 public class OptimizingFeatureScopeTrackerProvider implements IFeatureScopeTracker.Provider {
 
+	/**
+	 * The load option that marks a resource set as being used by a batch compiler, e.g. in a headless build.
+	 * Its value is a plain string, so batch compilers can set it without depending on this class.
+	 * 
+	 * @since 2.15
+	 */
+	public static final String BATCH_COMPILATION = "org.eclipse.xtext.BATCH_COMPILATION";
+	
 	@Override
 	public IFeatureScopeTracker track(EObject root) {
 		Resource resource = root.eResource();
@@ -31,7 +43,7 @@ public class OptimizingFeatureScopeTrackerProvider implements IFeatureScopeTrack
 			ResourceSet resourceSet = resource.getResourceSet();
 			if (resourceSet != null) {
 				Map<Object, Object> loadOptions = resourceSet.getLoadOptions();
-				if (isBuilderScope(loadOptions)) {
+				if (isBatchCompilation(loadOptions) || isBuilderScope(loadOptions)) {
 					return IFeatureScopeTracker.NULL;
 				}
 				if (!isLiveScope(loadOptions) && !isPrimaryResource(resourceSet, resource)) {
@@ -42,6 +54,13 @@ public class OptimizingFeatureScopeTrackerProvider implements IFeatureScopeTrack
 		return new FeatureScopeTracker();
 	}
 
+	/**
+	 * @since 2.15
+	 */
+	protected boolean isBatchCompilation(Map<Object, Object> loadOptions) {
+		return Boolean.TRUE.equals(loadOptions.get(BATCH_COMPILATION));
+	}
+	
 	protected boolean isLiveScope(Map<Object, Object> loadOptions) {
 		boolean liveScope = loadOptions.containsKey(ResourceDescriptionsProvider.LIVE_SCOPE);
 		return liveScope;
@@ -91,6 +91,14 @@ public abstract class ResolvedTypes implements IResolvedTypes {
 			this.sharedKeys = sharedKeys;
 		}
 		
+		/**
+		 * @since 2.15
+		 */
+		public SharedKeysAwareMap(Set<K> sharedKeys, int initialCapacity) {
+			super(initialCapacity);
+			this.sharedKeys = sharedKeys;
+		}
+		
 		@Override
 		public V put(K key, V value) {
 			sharedKeys.add(key);
@@ -222,6 +230,15 @@ public abstract class ResolvedTypes implements IResolvedTypes {
 		refinedTypes = null;
 	}
 	
+	/**
+	 * The initial capacity of the maps that are lazily created to record the types and linking candidates.
+	 * 
+	 * @since 2.15
+	 */
+	protected int getInitialMapCapacity() {
+		return 16;
+	}
+	
 	protected IssueSeverities getSeverities() {
 		return shared.issueSeverities;
 	}
@@ -850,7 +867,7 @@ public abstract class ResolvedTypes implements IResolvedTypes {
 	
 	private Map<JvmIdentifiableElement, LightweightTypeReference> ensureTypesMapExists() {
 		if (types == null) {
-			types = new SharedKeysAwareMap<JvmIdentifiableElement, LightweightTypeReference>(shared.allTypes);
+			types = new SharedKeysAwareMap<JvmIdentifiableElement, LightweightTypeReference>(shared.allTypes, getInitialMapCapacity());
 		}
 		return types;
 	}
@@ -861,7 +878,7 @@ public abstract class ResolvedTypes implements IResolvedTypes {
 
 	private Map<JvmIdentifiableElement, LightweightTypeReference> ensureReassignedTypesMapExists() {
 		if (reassignedTypes == null) {
-			reassignedTypes = new SharedKeysAwareMap<JvmIdentifiableElement, LightweightTypeReference>(shared.allReassignedTypes);
+			reassignedTypes = new SharedKeysAwareMap<JvmIdentifiableElement, LightweightTypeReference>(shared.allReassignedTypes, getInitialMapCapacity());
 		}
 		return reassignedTypes;
 	}
@@ -872,7 +889,7 @@ public abstract class ResolvedTypes implements IResolvedTypes {
 	
 	private Map<XExpression, List<TypeData>> ensureExpressionTypesMapExists() {
 		if (expressionTypes == null) {
-			expressionTypes = new SharedKeysAwareMap<XExpression, List<TypeData>>(shared.allExpressionTypes); 
+			expressionTypes = new SharedKeysAwareMap<XExpression, List<TypeData>>(shared.allExpressionTypes, getInitialMapCapacity());
 		}
 		return expressionTypes;
 	}
@@ -901,7 +918,7 @@ public abstract class ResolvedTypes implements IResolvedTypes {
 
 	private Map<XExpression, IApplicableCandidate> ensureLinkingMapExists() {
 		if (linkingMap == null) {
-			linkingMap = new SharedKeysAwareMap<XExpression, IApplicableCandidate>(shared.allLinking); 
+			linkingMap = new SharedKeysAwareMap<XExpression, IApplicableCandidate>(shared.allLinking, getInitialMapCapacity());
 		}
 		return linkingMap;
 	}
@@ -56,6 +56,16 @@ public class StackedResolvedTypes extends ResolvedTypes {
 		super.clear();
 	}
 	
+	/**
+	 * Stacked types usually record only a few expressions, thus the maps start small.
+	 * 
+	 * @since 2.15
+	 */
+	@Override
+	protected int getInitialMapCapacity() {
+		return 4;
+	}
+	
 	protected ResolvedTypes getParent() {
 		return parent;
 	}
@@ -12,6 +12,8 @@ import java.util.List;
 
 import org.eclipse.xtext.common.types.JvmFeature;
 import org.eclipse.xtext.common.types.JvmOperation;
+import org.eclipse.xtext.common.types.JvmType;
+import org.eclipse.xtext.common.types.JvmTypeParameter;
 import org.eclipse.xtext.xbase.typesystem.references.LightweightTypeReference;
 
 import com.google.common.collect.HashMultimap;
@@ -37,7 +39,7 @@ public class ParameterizedResolvedFeatures implements IResolvedFeatures {
 		if (result.size() <= 1 || !type.hasTypeArguments()) {
 			return result;
 		}
-		return computeAllFeatures(result);
+		return getAllFeatures(simpleName, result);
 	}
 	
 	@Override
@@ -46,7 +48,56 @@ public class ParameterizedResolvedFeatures implements IResolvedFeatures {
 		if (result.size() <= 1 || !type.hasTypeArguments()) {
 			return result;
 		}
-		return computeAllFeatures(result);
+		return getAllFeatures(null, result);
+	}
+	
+	/**
+	 * Returns the cached features for the given simple name if the type arguments are known,
+	 * or computes them otherwise.
+	 */
+	private List<JvmFeature> getAllFeatures(/* @Nullable */ String simpleName, List<JvmFeature> unfiltered) {
+		if (!isCacheable(type)) {
+			return computeAllFeatures(unfiltered);
+		}
+		String key = type.getUniqueIdentifier() + "#" + (simpleName != null ? simpleName : "*");
+		List<JvmFeature> result = parent.getParameterizedFeatures(key);
+		if (result == null) {
+			result = computeAllFeatures(unfiltered);
+			parent.putParameterizedFeatures(key, result);
+		}
+		return result;
+	}
+	
+	/**
+	 * The computed features may be cached if they only depend on types that are referenced by name, i.e. if the
+	 * type arguments are neither unresolved, unknown or proxies nor type parameters whose bounds may change.
+	 * 
+	 * @since 2.15
+	 */
+	protected boolean isCacheable(LightweightTypeReference reference) {
+		if (!reference.isResolved() || reference.isUnknown()) {
+			return false;
+		}
+		JvmType type = reference.getType();
+		if (type instanceof JvmTypeParameter || type != null && type.eIsProxy()) {
+			return false;
+		}
+		if (reference.isArray()) {
+			return isCacheable(reference.getComponentType());
+		}
+		for(LightweightTypeReference argument: reference.getTypeArguments()) {
+			if (argument.isWildcard()) {
+				LightweightTypeReference lowerBound = argument.getLowerBoundSubstitute();
+				if (!lowerBound.isAny() && !isCacheable(lowerBound)) {
+					return false;
+				}
+				argument = argument.getUpperBoundSubstitute();
+			}
+			if (!isCacheable(argument)) {
+				return false;
+			}
+		}
+		return true;
 	}
 	
 	@Override
@@ -11,6 +11,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.eclipse.emf.common.notify.Adapter;
 import org.eclipse.emf.common.notify.Notification;
@@ -35,7 +37,6 @@ import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
@@ -48,8 +49,10 @@ import com.google.common.collect.Sets;
  * Concrete instances of {@link RawResolvedFeatures} are obtained via 
  * {@link #getResolvedFeatures(JvmDeclaredType, CommonTypeComputationServices)}
  * and are cached per {@link JvmType}. They will invalidate themselves on change.
+ * The features of the {@link ParameterizedResolvedFeatures parameterized views} are
+ * cached, too, if the type arguments of the view are fully resolved.
  * 
- * Instances of this class are not expected to be used concurrently. 
+ * Instances of this class may be used concurrently. 
  * 
  * @author Sebastian Zarnekow - Initial contribution and API
  */
@@ -62,20 +65,24 @@ public class RawResolvedFeatures extends AbstractResolvedFeatures implements Ada
 	 */
 	static RawResolvedFeatures getResolvedFeatures(JvmDeclaredType type, CommonTypeComputationServices services) {
 		final List<Adapter> adapterList = type.eAdapters();
-		RawResolvedFeatures adapter = (RawResolvedFeatures) EcoreUtil.getAdapter(adapterList, RawResolvedFeatures.class);
-		if (adapter != null) {
-			return adapter;
-		}
-		final RawResolvedFeatures newAdapter = new RawResolvedFeatures(type, services);
-		requestNotificationOnChange(type, new Runnable() {
-			@Override
-			public void run() {
-				newAdapter.clear();
-				adapterList.remove(newAdapter);
+		synchronized (adapterList) {
+			RawResolvedFeatures adapter = (RawResolvedFeatures) EcoreUtil.getAdapter(adapterList, RawResolvedFeatures.class);
+			if (adapter != null) {
+				return adapter;
 			}
-		});
-		adapterList.add(newAdapter);
-		return newAdapter;
+			final RawResolvedFeatures newAdapter = new RawResolvedFeatures(type, services);
+			requestNotificationOnChange(type, new Runnable() {
+				@Override
+				public void run() {
+					newAdapter.clear();
+					synchronized (adapterList) {
+						adapterList.remove(newAdapter);
+					}
+				}
+			});
+			adapterList.add(newAdapter);
+			return newAdapter;
+		}
 	}
 	
 	/**
@@ -119,7 +126,14 @@ public class RawResolvedFeatures extends AbstractResolvedFeatures implements Ada
 	 */
 	private final Map<String, List<JvmFeature>> featureIndex;
 	
-	private boolean allFeaturesComputed = false;
+	/**
+	 * The features of the parameterized views, indexed by the unique identifier of the
+	 * parameterized type and the simple name of the features.
+	 * The contained lists are unmodifiable.
+	 */
+	private final ConcurrentMap<String, List<JvmFeature>> parameterizedFeatureIndex;
+	
+	private volatile boolean allFeaturesComputed = false;
 	
 	protected RawResolvedFeatures(JvmDeclaredType type, CommonTypeComputationServices services) {
 		this(createTypeReference(type, services), new OverrideTester());
@@ -127,7 +141,8 @@ public class RawResolvedFeatures extends AbstractResolvedFeatures implements Ada
 	
 	protected RawResolvedFeatures(LightweightTypeReference type, OverrideTester overrideTester) {
 		super(type, overrideTester);
-		this.featureIndex = Maps.newHashMapWithExpectedSize(4);
+		this.featureIndex = new ConcurrentHashMap<String, List<JvmFeature>>(4);
+		this.parameterizedFeatureIndex = new ConcurrentHashMap<String, List<JvmFeature>>(4);
 	}
 	
 	@Override
@@ -144,6 +159,17 @@ public class RawResolvedFeatures extends AbstractResolvedFeatures implements Ada
 		return result;
 	}
 	
+	/**
+	 * @return the cached features of a parameterized view or <code>null</code>.
+	 */
+	List<JvmFeature> getParameterizedFeatures(String key) {
+		return parameterizedFeatureIndex.get(key);
+	}
+	
+	void putParameterizedFeatures(String key, List<JvmFeature> features) {
+		parameterizedFeatureIndex.put(key, features);
+	}
+	
 	@Override
 	public List<JvmFeature> getAllFeatures() {
 		if (!allFeaturesComputed) {
@@ -257,6 +283,7 @@ public class RawResolvedFeatures extends AbstractResolvedFeatures implements Ada
 
 	private void clear() {
 		featureIndex.clear();
+		parameterizedFeatureIndex.clear();
 		allFeaturesComputed = false;
 	}
 
@@ -32,6 +32,7 @@ import org.eclipse.xtext.common.types.access.impl.URIHelperConstants;
 import org.eclipse.xtext.common.types.util.Primitives.Primitive;
 import org.eclipse.xtext.xbase.typesystem.internal.util.WrapperTypeLookup;
 import org.eclipse.xtext.xbase.typesystem.util.IVisibilityHelper;
+import org.eclipse.xtext.xbase.typesystem.util.RawSuperTypeClosure;
 import org.eclipse.xtext.xbase.typesystem.util.RecursionGuard;
 import org.eclipse.xtext.xbase.typesystem.util.TypeParameterSubstitutor;
 
@@ -695,6 +696,9 @@ public class ParameterizedTypeReference extends LightweightTypeReference {
 				return null;
 			}
 		}
+		if (type instanceof JvmDeclaredType && !RawSuperTypeClosure.mayBeSuperType((JvmDeclaredType) type, rawType)) {
+			return null;
+		}
 		JvmTypeReference superType = getSuperType(rawType, interfaceType, type, new RecursionGuard<JvmType>());
 		return superType;
 	}
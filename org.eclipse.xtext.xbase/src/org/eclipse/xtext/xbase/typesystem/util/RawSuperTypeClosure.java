@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.xbase.typesystem.util;
+
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.common.types.JvmDeclaredType;
+import org.eclipse.xtext.common.types.JvmType;
+import org.eclipse.xtext.common.types.JvmTypeReference;
+import org.eclipse.xtext.common.types.access.IMirror;
+import org.eclipse.xtext.common.types.access.IMirrorExtension;
+import org.eclipse.xtext.common.types.access.JvmTypeChangeDispatcher;
+import org.eclipse.xtext.common.types.access.TypeResource;
+
+import com.google.common.collect.Sets;
+
+/**
+ * The raw types of all direct and indirect super types of a {@link JvmDeclaredType}.
+ *
+ * The closure is computed once and cached on the type. It allows to reject types that are not a super type
+ * without walking the type hierarchy. The super types are recorded by their identifier, so types that are
+ * loaded again, e.g. after their resource was unloaded, are still found.
+ *
+ * The closure is dropped if a type in the resource set changes, unless the type and all its super types are
+ * sealed, e.g. they are read from class files. A closure that contains an unresolved proxy is cached, too, but it
+ * does not reject any type. It is always dropped on changes in the resource set, since the proxy may be
+ * resolvable afterwards.
+ *
+ * @since 2.15
+ */
+public class RawSuperTypeClosure extends AdapterImpl {
+
+	/**
+	 * Returns <code>false</code> if the given raw type is definitely not a super type of the given type.
+	 */
+	public static boolean mayBeSuperType(JvmDeclaredType type, JvmType rawType) {
+		return getClosure(type).mayBeSuperType(rawType);
+	}
+
+	/**
+	 * Returns an existing closure of the given type or creates a new one that will be cached on the type.
+	 */
+	protected static RawSuperTypeClosure getClosure(JvmDeclaredType type) {
+		final List<Adapter> adapterList = type.eAdapters();
+		synchronized (adapterList) {
+			RawSuperTypeClosure result = (RawSuperTypeClosure) EcoreUtil.getAdapter(adapterList, RawSuperTypeClosure.class);
+			if (result != null) {
+				return result;
+			}
+		}
+		// the closure is computed without holding the lock, since proxies may be resolved
+		final RawSuperTypeClosure newClosure = new RawSuperTypeClosure(type);
+		synchronized (adapterList) {
+			RawSuperTypeClosure result = (RawSuperTypeClosure) EcoreUtil.getAdapter(adapterList, RawSuperTypeClosure.class);
+			if (result != null) {
+				return result;
+			}
+			if (!newClosure.isSealed()) {
+				requestNotificationOnChange(type, new Runnable() {
+					@Override
+					public void run() {
+						synchronized (adapterList) {
+							adapterList.remove(newClosure);
+						}
+					}
+				});
+			}
+			adapterList.add(newClosure);
+			return newClosure;
+		}
+	}
+
+	private static boolean isSealed(JvmType type) {
+		Resource resource = type.eResource();
+		if (resource instanceof TypeResource) {
+			IMirror mirror = ((TypeResource) resource).getMirror();
+			if (mirror instanceof IMirrorExtension) {
+				return ((IMirrorExtension) mirror).isSealed();
+			}
+		}
+		return false;
+	}
+
+	private static void requestNotificationOnChange(JvmType type, Runnable listener) {
+		Resource resource = type.eResource();
+		Notifier notifier = type;
+		if (resource != null) {
+			if (resource.getResourceSet() != null)
+				notifier = resource.getResourceSet();
+			else
+				notifier = resource;
+		}
+		JvmTypeChangeDispatcher dispatcher = JvmTypeChangeDispatcher.findResourceChangeDispatcher(notifier);
+		dispatcher.requestNotificationOnChange(type, listener);
+	}
+
+	/**
+	 * The identifiers of the raw super types.
+	 */
+	private final Set<String> superTypes = Sets.newHashSet();
+
+	private boolean complete = true;
+
+	private boolean sealed;
+
+	protected RawSuperTypeClosure(JvmDeclaredType type) {
+		sealed = isSealed(type);
+		collectSuperTypes(type, Sets.<JvmType>newIdentityHashSet());
+	}
+
+	/**
+	 * @return <code>false</code> if a super type is an unresolved proxy.
+	 */
+	private boolean collectSuperTypes(JvmDeclaredType type, Set<JvmType> visited) {
+		List<JvmTypeReference> superTypeReferences = type.getSuperTypes();
+		for(int i = 0, size = superTypeReferences.size(); i < size; i++) {
+			JvmType rawSuperType = superTypeReferences.get(i).getType();
+			if (rawSuperType != null) {
+				if (rawSuperType.eIsProxy()) {
+					complete = false;
+					return false;
+				}
+				if (visited.add(rawSuperType)) {
+					superTypes.add(rawSuperType.getIdentifier());
+					sealed = sealed && isSealed(rawSuperType);
+					if (rawSuperType instanceof JvmDeclaredType && !collectSuperTypes((JvmDeclaredType) rawSuperType, visited)) {
+						return false;
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns <code>false</code> if the given raw type is definitely not a super type.
+	 */
+	public boolean mayBeSuperType(JvmType rawType) {
+		return !complete || superTypes.contains(rawType.getIdentifier());
+	}
+
+	/**
+	 * @return <code>false</code> if a super type could not be resolved.
+	 */
+	public boolean isComplete() {
+		return complete;
+	}
+
+	/**
+	 * @return <code>true</code> if the closure is complete and the type and all its super types are sealed.
+	 */
+	public boolean isSealed() {
+		return complete && sealed;
+	}
+
+	@Override
+	public boolean isAdapterForType(Object type) {
+		return RawSuperTypeClosure.class.equals(type);
+	}
+
+}
@@ -35,6 +35,7 @@ import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.lib.ObjectExtensions;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 import org.eclipse.xtext.xbase.resource.BatchLinkableResource;
+import org.eclipse.xtext.xbase.resource.JvmModelAssociationsStorage;
 
 @FinalFieldsConstructor
 @SuppressWarnings("all")
@@ -100,8 +101,13 @@ public class BatchLinkableResourceStorageLoadable extends ResourceStorageLoadabl
       }
       final JvmModelAssociator.Adapter adapter = _elvis;
       stream.getNextEntry();
-      BufferedInputStream _bufferedInputStream = new BufferedInputStream(stream);
-      final ObjectInputStream objIn = new ObjectInputStream(_bufferedInputStream);
+      final BufferedInputStream in = new BufferedInputStream(stream);
+      boolean _isCompactFormat = JvmModelAssociationsStorage.isCompactFormat(in);
+      if (_isCompactFormat) {
+        new JvmModelAssociationsStorage().read(resource, adapter, in);
+        return;
+      }
+      final ObjectInputStream objIn = new ObjectInputStream(in);
       Object _readObject = objIn.readObject();
       final Map<String, String> logicalMap = ((Map<String, String>) _readObject);
       final Consumer<Map.Entry<String, String>> _function_1 = (Map.Entry<String, String> it) -> {
@@ -7,49 +7,47 @@
  */
 package org.eclipse.xtext.xbase.resource;
 
-import com.google.common.base.Objects;
 import com.google.common.collect.Iterables;
-import com.google.common.collect.Sets;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
 import java.io.OutputStream;
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
-import java.util.Map;
-import java.util.Set;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
-import org.apache.log4j.Logger;
 import org.eclipse.emf.common.notify.Adapter;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.InternalEObject;
-import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
 import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor;
-import org.eclipse.xtext.common.types.JvmIdentifiableElement;
 import org.eclipse.xtext.common.types.JvmType;
 import org.eclipse.xtext.resource.persistence.ResourceStorageWritable;
 import org.eclipse.xtext.resource.persistence.StorageAwareResource;
 import org.eclipse.xtext.xbase.compiler.DocumentationAdapter;
 import org.eclipse.xtext.xbase.jvmmodel.JvmIdentifiableMetaData;
 import org.eclipse.xtext.xbase.jvmmodel.JvmModelAssociator;
-import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.resource.BatchLinkableResource;
+import org.eclipse.xtext.xbase.resource.JvmModelAssociationsStorage;
 import org.eclipse.xtext.xtype.XComputedTypeReference;
 
 /**
+ * Writes the JVM model, the documentation and the {@link JvmModelAssociator associations} of a
+ * {@link BatchLinkableResource} next to its contents.
+ * 
+ * The resolved types of the expressions are not part of the storage. The linked features
+ * are already stored as plain cross references and the types of the inferred JVM model are 
+ * computed before it is written. Lightweight type references, linking candidates and their 
+ * diagnostics are bound to the resource set and to the state of the resolver that produced them.
+ * A resource that is loaded from storage and asked for its expression types therefore still 
+ * resolves them with the {@link org.eclipse.xtext.xbase.typesystem.IBatchTypeResolver type resolver}.
+ * 
  * @author Sven Efftinge
  */
 @FinalFieldsConstructor
 @SuppressWarnings("all")
 public class BatchLinkableResourceStorageWritable extends ResourceStorageWritable {
-  private final static Logger LOG = Logger.getLogger(BatchLinkableResourceStorageWritable.class);
-  
   @Override
   protected void writeEntries(final StorageAwareResource resource, final ZipOutputStream zipOut) throws IOException {
     super.writeEntries(resource, zipOut);
@@ -125,82 +123,14 @@ public class BatchLinkableResourceStorageWritable extends ResourceStorageWritabl
       JvmModelAssociator.Adapter _adapter = new JvmModelAssociator.Adapter();
       adapter = _adapter;
     }
-    final ObjectOutputStream objOut = new ObjectOutputStream(zipOut);
-    try {
-      final LinkedHashMap<String, String> logicalMap = CollectionLiterals.<String, String>newLinkedHashMap();
-      Set<Map.Entry<EObject, JvmIdentifiableElement>> _entrySet = adapter.logicalContainerMap.entrySet();
-      for (final Map.Entry<EObject, JvmIdentifiableElement> entry : _entrySet) {
-        Resource _eResource = entry.getKey().eResource();
-        boolean _notEquals = (!Objects.equal(_eResource, resource));
-        if (_notEquals) {
-          URI _uRI_1 = resource.getURI();
-          String _plus_1 = ((("entry " + entry) + " not from resource ") + _uRI_1);
-          String _plus_2 = (_plus_1 + " but from ");
-          Resource _eResource_1 = entry.getKey().eResource();
-          URI _uRI_2 = null;
-          if (_eResource_1!=null) {
-            _uRI_2=_eResource_1.getURI();
-          }
-          String _plus_3 = (_plus_2 + _uRI_2);
-          BatchLinkableResourceStorageWritable.LOG.info(_plus_3);
-        } else {
-          logicalMap.put(this.getFragment(entry.getKey()), this.getFragment(entry.getValue()));
-        }
-      }
-      objOut.writeObject(logicalMap);
-      final LinkedHashMap<String, LinkedHashSet<String>> sourceToTarget = CollectionLiterals.<String, LinkedHashSet<String>>newLinkedHashMap();
-      Set<Map.Entry<EObject, Set<EObject>>> _entrySet_1 = adapter.sourceToTargetMap.entrySet();
-      for (final Map.Entry<EObject, Set<EObject>> entry_1 : _entrySet_1) {
-        Resource _eResource_2 = entry_1.getKey().eResource();
-        boolean _notEquals_1 = (!Objects.equal(_eResource_2, resource));
-        if (_notEquals_1) {
-          URI _uRI_3 = resource.getURI();
-          String _plus_4 = ("entry not from resource " + _uRI_3);
-          String _plus_5 = (_plus_4 + " but from ");
-          Resource _eResource_3 = entry_1.getKey().eResource();
-          URI _uRI_4 = null;
-          if (_eResource_3!=null) {
-            _uRI_4=_eResource_3.getURI();
-          }
-          String _plus_6 = (_plus_5 + _uRI_4);
-          BatchLinkableResourceStorageWritable.LOG.info(_plus_6);
-        } else {
-          final Function1<EObject, String> _function_1 = (EObject it) -> {
-            return this.getFragment(it);
-          };
-          sourceToTarget.put(this.getFragment(entry_1.getKey()), Sets.<String>newLinkedHashSet(IterableExtensions.<EObject, String>map(entry_1.getValue(), _function_1)));
-        }
-      }
-      objOut.writeObject(sourceToTarget);
-      final LinkedHashMap<String, LinkedHashSet<String>> targetToSource = CollectionLiterals.<String, LinkedHashSet<String>>newLinkedHashMap();
-      Set<Map.Entry<EObject, Set<EObject>>> _entrySet_2 = adapter.targetToSourceMap.entrySet();
-      for (final Map.Entry<EObject, Set<EObject>> entry_2 : _entrySet_2) {
-        Resource _eResource_4 = entry_2.getKey().eResource();
-        boolean _notEquals_2 = (!Objects.equal(_eResource_4, resource));
-        if (_notEquals_2) {
-          URI _uRI_5 = resource.getURI();
-          String _plus_7 = ("entry not from resource " + _uRI_5);
-          String _plus_8 = (_plus_7 + " but from ");
-          Resource _eResource_5 = entry_2.getKey().eResource();
-          URI _uRI_6 = null;
-          if (_eResource_5!=null) {
-            _uRI_6=_eResource_5.getURI();
-          }
-          String _plus_9 = (_plus_8 + _uRI_6);
-          BatchLinkableResourceStorageWritable.LOG.info(_plus_9);
-        } else {
-          final Function1<EObject, String> _function_2 = (EObject it) -> {
-            return this.getFragment(it);
-          };
-          targetToSource.put(this.getFragment(entry_2.getKey()), Sets.<String>newLinkedHashSet(IterableExtensions.<EObject, String>map(entry_2.getValue(), _function_2)));
-        }
-      }
-      objOut.writeObject(targetToSource);
-    } finally {
-      objOut.flush();
-    }
+    new JvmModelAssociationsStorage().write(resource, adapter, zipOut);
   }
   
+  /**
+   * @deprecated The associations are written by the {@link JvmModelAssociationsStorage}, which does not use
+   *             URI fragments for the objects of the resource.
+   */
+  @Deprecated
   protected String getFragment(final EObject obj) {
     String _xblockexpression = null;
     {
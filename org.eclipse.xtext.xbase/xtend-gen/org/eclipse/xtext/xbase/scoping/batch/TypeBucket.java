@@ -10,9 +10,12 @@ package org.eclipse.xtext.xbase.scoping.batch;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.xtend.lib.annotations.Data;
+import org.eclipse.xtext.common.types.JvmFeature;
 import org.eclipse.xtext.common.types.JvmType;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.Pure;
 import org.eclipse.xtext.xbase.lib.util.ToStringBuilder;
 import org.eclipse.xtext.xbase.typesystem.conformance.ConformanceFlags;
@@ -35,6 +38,8 @@ public class TypeBucket {
   
   private final IResolvedFeatures.Provider resolvedFeaturesProvider;
   
+  private final transient Map<String, List<JvmFeature>> staticFeatures = new ConcurrentHashMap<String, List<JvmFeature>>();
+  
   public int getFlags() {
     return ConformanceFlags.CHECKED_SUCCESS;
   }
@@ -47,6 +52,21 @@ public class TypeBucket {
     return false;
   }
   
+  /**
+   * Returns the static features of the types in this bucket with the given simple name. They are computed once
+   * per name by means of the given computation, which is only used if the name was not requested before.
+   * 
+   * @since 2.15
+   */
+  public List<JvmFeature> getStaticFeatures(final String simpleName, final Function1<? super String, ? extends List<JvmFeature>> computation) {
+    List<JvmFeature> result = this.staticFeatures.get(simpleName);
+    if ((result == null)) {
+      result = computation.apply(simpleName);
+      this.staticFeatures.putIfAbsent(simpleName, result);
+    }
+    return result;
+  }
+  
   public TypeBucket(final int id, final List<? extends JvmType> types, final IResolvedFeatures.Provider resolvedFeaturesProvider) {
     super();
     this.id = id;